@@ -0,0 +1,77 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SequenceMatcher#analyze(TokenizationStrategy, int)} for different corpus sizes and
+ * minimum match lengths.
+ *
+ * @author ugsrv
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzeBenchmark {
+
+    @Param({"WORD", "SMART"})
+    private TokenizationStrategy strategy;
+
+    @Param({"SYNTHETIC", "REALISTIC"})
+    private CorpusType corpus;
+
+    @Param({"4", "16", "64"})
+    private int texts;
+
+    @Param({"2000"})
+    private int textLength;
+
+    @Param({"1", "4", "16"})
+    private int minMatchLength;
+
+    private SequenceMatcher matcher;
+
+    /**
+     * Loads the corpus into a new {@link SequenceMatcher}.
+     */
+    @Setup
+    public void setUp() {
+        this.matcher = load(this.corpus.create(this.texts, this.textLength));
+    }
+
+    /**
+     * Analyzes all loaded texts.
+     *
+     * @return the result of the analysis
+     */
+    @Benchmark
+    public Result analyze() {
+        return this.matcher.analyze(this.strategy, this.minMatchLength);
+    }
+
+    static SequenceMatcher load(List<String> corpus) {
+        SequenceMatcher matcher = new SequenceMatcher();
+        for (int i = 0; i < corpus.size(); i++) {
+            matcher.input(CorpusGenerator.IDENTIFIER_FORMAT.formatted(i), corpus.get(i));
+        }
+        return matcher;
+    }
+}
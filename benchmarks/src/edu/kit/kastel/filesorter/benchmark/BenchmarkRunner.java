@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line options and always enables the
+ * GC profiler, so every result reports the allocation rate next to the throughput.
+ *
+ * @author ugsrv
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // utility class
+    }
+
+    /**
+     * Runs the benchmarks selected by the provided JMH command line options.
+     *
+     * @param args the JMH command line options
+     * @throws CommandLineOptionException if the options cannot be parsed
+     * @throws IOException if the benchmark list cannot be read
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
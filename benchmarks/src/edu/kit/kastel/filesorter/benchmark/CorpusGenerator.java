@@ -0,0 +1,218 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic synthetic corpora according to a {@link CorpusSpec}. Texts consist of lower-case
+ * words separated by whitespace. Words are drawn from a Zipf distributed vocabulary and passages from a
+ * shared pool are planted at random positions, which is recorded as ground truth. Because the texts contain
+ * no punctuation, token indices are identical for the {@code WORD} and {@code SMART} strategies.
+ *
+ * @author ugsrv
+ */
+final class CorpusGenerator {
+
+    /**
+     * Format of the identifiers of generated texts, both as file names and as input identifiers.
+     */
+    static final String IDENTIFIER_FORMAT = "text-%04d.txt";
+
+    private static final String GROUND_TRUTH_HEADER = "first,firstIndex,second,secondIndex,length,passage";
+    private static final String GROUND_TRUTH_FORMAT = "%s,%d,%s,%d,%d,%d";
+    private static final int WORDS_PER_LINE = 12;
+    private static final int ALPHABET_SIZE = 26;
+
+    private final CorpusSpec spec;
+    private final SplittableRandom random;
+    private final double[] cumulativeFrequencies;
+    private final List<List<String>> passages;
+
+    /**
+     * Creates a generator for the provided specification.
+     *
+     * @param spec the properties of the corpus
+     */
+    CorpusGenerator(CorpusSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.cumulativeFrequencies = new double[spec.vocabulary()];
+        double sum = 0;
+        for (int rank = 0; rank < spec.vocabulary(); rank++) {
+            sum += 1.0 / (rank + 1);
+            this.cumulativeFrequencies[rank] = sum;
+        }
+        this.passages = new ArrayList<>(spec.passages());
+        for (int i = 0; i < spec.passages(); i++) {
+            int length = this.random.nextInt(spec.minimumPlantLength(), spec.maximumPlantLength() + 1);
+            List<String> passage = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                passage.add(nextWord());
+            }
+            this.passages.add(passage);
+        }
+    }
+
+    /**
+     * Generates all texts and hands each one to the sink before the next one is generated.
+     *
+     * @param sink receives the texts in order
+     * @return the planted passages of all texts
+     * @throws IOException if the sink fails
+     */
+    List<Planting> generate(Sink sink) throws IOException {
+        List<Planting> plantings = new ArrayList<>();
+        for (int text = 0; text < this.spec.texts(); text++) {
+            String identifier = IDENTIFIER_FORMAT.formatted(text);
+            StringBuilder builder = new StringBuilder();
+            int tokens = 0;
+            for (int word = 0; word < this.spec.words(); word++) {
+                tokens = append(builder, nextWord(), tokens);
+                if (this.random.nextDouble() < this.spec.plantRate()) {
+                    int passage = this.random.nextInt(this.passages.size());
+                    plantings.add(new Planting(passage, text, tokens, this.passages.get(passage).size()));
+                    for (String plantedWord : this.passages.get(passage)) {
+                        tokens = append(builder, plantedWord, tokens);
+                    }
+                }
+            }
+            sink.accept(identifier, builder.toString());
+        }
+        return plantings;
+    }
+
+    /**
+     * Generates a corpus and returns its texts.
+     *
+     * @param spec the properties of the corpus
+     * @return the texts in order
+     */
+    static List<String> texts(CorpusSpec spec) {
+        List<String> texts = new ArrayList<>(spec.texts());
+        try {
+            new CorpusGenerator(spec).generate((identifier, content) -> texts.add(content));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return texts;
+    }
+
+    /**
+     * Generates a corpus and inputs its texts directly into the provided matcher.
+     *
+     * @param spec the properties of the corpus
+     * @param matcher the matcher to input the texts into
+     * @return the planted passages of all texts
+     */
+    static List<Planting> feed(CorpusSpec spec, SequenceMatcher matcher) {
+        try {
+            return new CorpusGenerator(spec).generate(matcher::input);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes every pair of plantings of the same passage into different texts as an expected match. The
+     * columns are those of {@code export matches} plus the planted passage. The analysis reports a match
+     * containing each expected one; it can be longer if the neighbouring words happen to agree.
+     *
+     * @param plantings the plantings returned by {@link #generate(Sink)}
+     * @param path the file to write to
+     * @return the number of expected matches
+     * @throws IOException if the file cannot be written
+     */
+    static long writeGroundTruth(List<Planting> plantings, Path path) throws IOException {
+        List<Planting> sorted = new ArrayList<>(plantings);
+        sorted.sort(Comparator.comparingInt(Planting::passage).thenComparingInt(Planting::text)
+                .thenComparingInt(Planting::index));
+        long matches = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(GROUND_TRUTH_HEADER);
+            writer.newLine();
+            int start = 0;
+            while (start < sorted.size()) {
+                int end = start;
+                while (end < sorted.size() && sorted.get(end).passage() == sorted.get(start).passage()) {
+                    end++;
+                }
+                for (int first = start; first < end; first++) {
+                    for (int second = first + 1; second < end; second++) {
+                        Planting a = sorted.get(first);
+                        Planting b = sorted.get(second);
+                        if (a.text() != b.text()) {
+                            writer.write(GROUND_TRUTH_FORMAT.formatted(IDENTIFIER_FORMAT.formatted(a.text()),
+                                    a.index(), IDENTIFIER_FORMAT.formatted(b.text()), b.index(), a.length(),
+                                    a.passage()));
+                            writer.newLine();
+                            matches++;
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+        return matches;
+    }
+
+    private String nextWord() {
+        double target = this.random.nextDouble() * this.cumulativeFrequencies[this.cumulativeFrequencies.length - 1];
+        int rank = Arrays.binarySearch(this.cumulativeFrequencies, target);
+        int index = rank >= 0 ? rank : -rank - 1;
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + index % ALPHABET_SIZE));
+            index /= ALPHABET_SIZE;
+        } while (index > 0);
+        return word.toString();
+    }
+
+    private static int append(StringBuilder builder, String word, int tokens) {
+        if (tokens > 0) {
+            builder.append(tokens % WORDS_PER_LINE == 0 ? '\n' : ' ');
+        }
+        builder.append(word);
+        return tokens + 1;
+    }
+
+    /**
+     * Receives generated texts.
+     *
+     * @author ugsrv
+     */
+    @FunctionalInterface
+    interface Sink {
+
+        /**
+         * Accepts a generated text.
+         *
+         * @param identifier the identifier of the text
+         * @param content the content of the text
+         * @throws IOException if the text cannot be stored
+         */
+        void accept(String identifier, String content) throws IOException;
+    }
+
+    /**
+     * A passage planted into a text.
+     *
+     * @param passage the index of the passage in the shared pool
+     * @param text the index of the text
+     * @param index the index of the first token of the passage within the text
+     * @param length the number of tokens of the passage
+     *
+     * @author ugsrv
+     */
+    record Planting(int passage, int text, int index, int length) {
+    }
+}
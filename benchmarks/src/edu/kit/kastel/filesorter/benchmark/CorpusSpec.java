@@ -0,0 +1,112 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Describes the properties of a synthetic corpus. Two corpora generated from equal specifications are
+ * identical.
+ *
+ * @param seed the seed of the random generator
+ * @param texts the number of texts
+ * @param words the number of words of each text, excluding planted passages
+ * @param vocabulary the number of distinct words, drawn with a Zipf distribution
+ * @param passages the number of distinct passages that can be planted
+ * @param plantRate the probability of planting a passage after each word
+ * @param minimumPlantLength the minimum number of words of a passage
+ * @param maximumPlantLength the maximum number of words of a passage
+ *
+ * @author ugsrv
+ */
+record CorpusSpec(long seed, int texts, int words, int vocabulary, int passages, double plantRate,
+                  int minimumPlantLength, int maximumPlantLength) {
+
+    /**
+     * The specification used if no property is overridden.
+     */
+    static final CorpusSpec DEFAULT = new CorpusSpec(42, 16, 400, 5000, 16, 0.01, 8, 64);
+
+    private static final String ERROR_INVALID = "Invalid corpus specification: %s.";
+    private static final String ERROR_UNKNOWN_PROPERTY = "Unknown corpus property '%s'.";
+    private static final String PROPERTY_SEPARATOR = "=";
+
+    /**
+     * Validates the specification.
+     *
+     * @throws IllegalArgumentException if a property is out of range
+     */
+    CorpusSpec {
+        if (texts < 0 || words < 0 || vocabulary < 1 || passages < 1 || plantRate < 0 || plantRate > 1
+                || minimumPlantLength < 1 || maximumPlantLength < minimumPlantLength) {
+            throw new IllegalArgumentException(ERROR_INVALID.formatted(describe(seed, texts, words, vocabulary,
+                    passages, plantRate, minimumPlantLength, maximumPlantLength)));
+        }
+    }
+
+    /**
+     * Returns a copy of this specification with the provided number of texts.
+     *
+     * @param value the number of texts
+     * @return the changed specification
+     */
+    CorpusSpec withTexts(int value) {
+        return new CorpusSpec(this.seed, value, this.words, this.vocabulary, this.passages, this.plantRate,
+                this.minimumPlantLength, this.maximumPlantLength);
+    }
+
+    /**
+     * Returns a copy of this specification with the provided number of words per text.
+     *
+     * @param value the number of words per text
+     * @return the changed specification
+     */
+    CorpusSpec withWords(int value) {
+        return new CorpusSpec(this.seed, this.texts, value, this.vocabulary, this.passages, this.plantRate,
+                this.minimumPlantLength, this.maximumPlantLength);
+    }
+
+    /**
+     * Returns a copy of this specification with a property given as {@code key=value} overridden. The keys
+     * are the names of the record components.
+     *
+     * @param property the property to override
+     * @return the changed specification
+     * @throws IllegalArgumentException if the property is unknown or its value is invalid
+     */
+    CorpusSpec with(String property) {
+        String[] keyValue = property.split(PROPERTY_SEPARATOR, 2);
+        if (keyValue.length < 2) {
+            throw new IllegalArgumentException(ERROR_UNKNOWN_PROPERTY.formatted(property));
+        }
+        String value = keyValue[1];
+        return switch (keyValue[0]) {
+            case "seed" -> new CorpusSpec(Long.parseLong(value), this.texts, this.words, this.vocabulary,
+                    this.passages, this.plantRate, this.minimumPlantLength, this.maximumPlantLength);
+            case "texts" -> withTexts(Integer.parseInt(value));
+            case "words" -> withWords(Integer.parseInt(value));
+            case "vocabulary" -> new CorpusSpec(this.seed, this.texts, this.words, Integer.parseInt(value),
+                    this.passages, this.plantRate, this.minimumPlantLength, this.maximumPlantLength);
+            case "passages" -> new CorpusSpec(this.seed, this.texts, this.words, this.vocabulary,
+                    Integer.parseInt(value), this.plantRate, this.minimumPlantLength, this.maximumPlantLength);
+            case "plantRate" -> new CorpusSpec(this.seed, this.texts, this.words, this.vocabulary, this.passages,
+                    Double.parseDouble(value), this.minimumPlantLength, this.maximumPlantLength);
+            case "minimumPlantLength" -> new CorpusSpec(this.seed, this.texts, this.words, this.vocabulary,
+                    this.passages, this.plantRate, Integer.parseInt(value), this.maximumPlantLength);
+            case "maximumPlantLength" -> new CorpusSpec(this.seed, this.texts, this.words, this.vocabulary,
+                    this.passages, this.plantRate, this.minimumPlantLength, Integer.parseInt(value));
+            default -> throw new IllegalArgumentException(ERROR_UNKNOWN_PROPERTY.formatted(keyValue[0]));
+        };
+    }
+
+    @Override
+    public String toString() {
+        return describe(this.seed, this.texts, this.words, this.vocabulary, this.passages, this.plantRate,
+                this.minimumPlantLength, this.maximumPlantLength);
+    }
+
+    private static String describe(long seed, int texts, int words, int vocabulary, int passages,
+                                   double plantRate, int minimumPlantLength, int maximumPlantLength) {
+        return String.format(Locale.ROOT, "seed=%d texts=%d words=%d vocabulary=%d passages=%d plantRate=%s "
+                        + "minimumPlantLength=%d maximumPlantLength=%d", seed, texts, words, vocabulary, passages,
+                plantRate, minimumPlantLength, maximumPlantLength);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import java.util.List;
+
+/**
+ * Kinds of input corpora the benchmarks are parameterized over.
+ *
+ * @author ugsrv
+ */
+public enum CorpusType {
+    /**
+     * Texts of the default {@link CorpusSpec}, with the number of words derived from the text length.
+     */
+    SYNTHETIC {
+        @Override
+        List<String> create(int texts, int textLength) {
+            return CorpusGenerator.texts(CorpusSpec.DEFAULT.withTexts(texts)
+                    .withWords(textLength / AVERAGE_WORD_LENGTH));
+        }
+    },
+
+    /**
+     * Consecutive slices of the application's own Java sources, which are bundled into the benchmark jar.
+     */
+    REALISTIC {
+        @Override
+        List<String> create(int texts, int textLength) {
+            return RealisticCorpus.slice(texts, textLength);
+        }
+    };
+
+    private static final int AVERAGE_WORD_LENGTH = 4;
+
+    /**
+     * Creates the texts of a corpus. The result only depends on the arguments, so repeated runs measure
+     * identical inputs.
+     *
+     * @param texts the number of texts
+     * @param textLength the approximate length of each text in characters
+     * @return the texts of the corpus
+     */
+    abstract List<String> create(int texts, int textLength);
+}
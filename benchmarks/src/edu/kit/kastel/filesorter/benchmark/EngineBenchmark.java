@@ -0,0 +1,79 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
+import edu.kit.kastel.filesorter.model.EngineMode;
+import edu.kit.kastel.filesorter.model.EngineSelection;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the exact engines, which find identical matches, on the same corpus: the nested reference loop,
+ * the scalar diagonal walk, the diagonal walk using the Vector API and the bit-parallel comparison, which
+ * falls back to the scalar walk for the large alphabet of {@code WORD}. The forked JVM resolves the module
+ * of the Vector API, so {@code VECTOR} does not fall back to the scalar kernel if the project has been
+ * installed with the profile {@code vector}.
+ *
+ * @author ugsrv
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class EngineBenchmark {
+
+    @Param({"EXACT", "VECTOR", "BITPARALLEL", "NESTED"})
+    private EngineMode engine;
+
+    @Param({"WORD", "CHAR"})
+    private TokenizationStrategy strategy;
+
+    @Param({"SYNTHETIC", "REALISTIC"})
+    private CorpusType corpus;
+
+    @Param({"16"})
+    private int texts;
+
+    @Param({"2000"})
+    private int textLength;
+
+    @Param({"8"})
+    private int minMatchLength;
+
+    private SequenceMatcher matcher;
+    private AnalysisOptions options;
+
+    /**
+     * Loads the corpus into a new {@link SequenceMatcher}.
+     */
+    @Setup
+    public void setUp() {
+        this.matcher = AnalyzeBenchmark.load(this.corpus.create(this.texts, this.textLength));
+        this.options = AnalysisOptions.DEFAULT.withEngine(new EngineSelection(this.engine, 0));
+    }
+
+    /**
+     * Analyzes all loaded texts with the selected engine.
+     *
+     * @return the result of the analysis
+     */
+    @Benchmark
+    public Result analyze() {
+        return this.matcher.analyze(this.strategy, this.minMatchLength, this.options);
+    }
+}
@@ -0,0 +1,96 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
+import edu.kit.kastel.filesorter.model.AutoEngine;
+import edu.kit.kastel.filesorter.model.CorpusShape;
+import edu.kit.kastel.filesorter.model.EngineSelection;
+import edu.kit.kastel.filesorter.model.MatchEngine;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line tool that calibrates the costs of {@link AutoEngine} for the current machine. The exact
+ * engine is timed on a corpus to derive the time per cell. The indexed engine is timed on a corpus with a
+ * large vocabulary, where it hardly finds seeds, to derive the time per token, and on a corpus with a tiny
+ * vocabulary to derive the time per seed from the remainder.
+ *
+ * <p>Usage: {@code EngineCalibration [property=value ...]} where the properties are the components of
+ * {@link CorpusSpec} and {@code minMatchLength}, applied to all three corpora. The printed option can be
+ * passed to {@code analyze} as is.</p>
+ *
+ * @author ugsrv
+ */
+public final class EngineCalibration {
+
+    private static final String PROPERTY_SEPARATOR = "=";
+    private static final String FORMAT_MEASUREMENT = "%-8s %-7s %10d tokens %14.0f cells %14.0f seeds %9.2f ms";
+    private static final String FORMAT_OPTION = "engine=auto:%.3f:%.3f:%.3f";
+    private static final int LARGE_VOCABULARY = 1 << 20;
+    private static final int SMALL_VOCABULARY = 4;
+    private static final int REPETITIONS = 5;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private int minMatchLength = 8;
+    private CorpusSpec spec = CorpusSpec.DEFAULT.withTexts(32).withWords(1000);
+
+    private EngineCalibration() {
+    }
+
+    /**
+     * Runs the calibration and prints the measurements and the calibrated engine option.
+     *
+     * @param args the overridden properties
+     */
+    public static void main(String[] args) {
+        EngineCalibration calibration = new EngineCalibration();
+        for (String argument : args) {
+            String[] keyValue = argument.split(PROPERTY_SEPARATOR, 2);
+            if (keyValue[0].equals("minMatchLength")) {
+                calibration.minMatchLength = Integer.parseInt(keyValue[1]);
+            } else {
+                calibration.spec = calibration.spec.with(argument);
+            }
+        }
+        calibration.run(System.out);
+    }
+
+    private void run(PrintStream out) {
+        Measurement exact = measure(out, "exact", this.spec, EngineSelection.EXACT);
+        Measurement sparse = measure(out, "sparse", withVocabulary(LARGE_VOCABULARY), EngineSelection.winnowing(1));
+        Measurement dense = measure(out, "dense", withVocabulary(SMALL_VOCABULARY), EngineSelection.winnowing(1));
+
+        double cellNanos = exact.nanos() / exact.shape().cells();
+        double tokenNanos = sparse.nanos() / sparse.shape().tokens();
+        double seedNanos = (dense.nanos() - dense.shape().tokens() * tokenNanos) / dense.shape().expectedSeeds();
+        out.println(String.format(Locale.ROOT, FORMAT_OPTION, cellNanos, tokenNanos, Math.max(seedNanos, 0.001)));
+    }
+
+    private CorpusSpec withVocabulary(int vocabulary) {
+        return this.spec.with("vocabulary" + PROPERTY_SEPARATOR + vocabulary);
+    }
+
+    private Measurement measure(PrintStream out, String label, CorpusSpec corpus, MatchEngine engine) {
+        SequenceMatcher matcher = new SequenceMatcher();
+        CorpusGenerator.feed(corpus, matcher);
+        AnalysisOptions options = AnalysisOptions.DEFAULT.withEngine(engine);
+        long best = Long.MAX_VALUE;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+            long start = System.nanoTime();
+            matcher.analyze(TokenizationStrategy.WORD, this.minMatchLength, options);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        CorpusShape shape = CorpusShape.of(new ArrayList<>(matcher.getLastAnalysisResult().tokenizedTexts().values()),
+                this.minMatchLength);
+        out.println(String.format(Locale.ROOT, FORMAT_MEASUREMENT, label, engine == EngineSelection.EXACT ? "exact"
+                : "indexed", shape.tokens(), shape.cells(), shape.expectedSeeds(), best / NANOS_PER_MILLI));
+        return new Measurement(shape, best);
+    }
+
+    private record Measurement(CorpusShape shape, double nanos) {
+    }
+}
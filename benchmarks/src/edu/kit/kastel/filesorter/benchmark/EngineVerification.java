@@ -0,0 +1,148 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.AnalysisMatch;
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.AutoEngine;
+import edu.kit.kastel.filesorter.model.EngineMode;
+import edu.kit.kastel.filesorter.model.EngineSelection;
+import edu.kit.kastel.filesorter.model.MatchEngine;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Differential verification of a {@link MatchEngine} against the reference engine. Every round generates
+ * a small random corpus, analyzes it with both engines and compares the results, which must be identical
+ * in their token sequences and matches. The corpora are kept small but vary the number and length of the
+ * texts, use tiny vocabularies to provoke repetitions, plant shared passages and include identical texts.
+ *
+ * <p>Usage: {@code EngineVerification <auto|exact|nested|vector|bitparallel|tiling|winnowing[:<window>]> [rounds] [seed]}.
+ * The exit code is the number of differing rounds, capped at 100.</p>
+ *
+ * @author ugsrv
+ */
+public final class EngineVerification {
+
+    private static final String USAGE = "Usage: EngineVerification <auto|exact|nested|vector|bitparallel|tiling|winnowing[:<window>]> "
+            + "[rounds] [seed]";
+    private static final String FORMAT_DIFFERENCE = "Round %d differs (%s, %s, minimum match length %d): %s";
+    private static final String FORMAT_SUMMARY = "%d of %d rounds differ from the reference engine";
+    private static final String PART_SEPARATOR = ":";
+    private static final String AUTO_ENGINE = "auto";
+    private static final int DEFAULT_ROUNDS = 500;
+    private static final long DEFAULT_SEED = 42;
+    private static final int MAXIMUM_EXIT_CODE = 100;
+    private static final int MAXIMUM_TEXTS = 8;
+    private static final int MAXIMUM_WORDS = 120;
+    private static final int MAXIMUM_CHARACTER_WORDS = 24;
+    private static final int MAXIMUM_VOCABULARY = 40;
+    private static final int MAXIMUM_PASSAGE_LENGTH = 30;
+    private static final int MAXIMUM_MIN_MATCH_LENGTH = 8;
+    private static final double MAXIMUM_PLANT_RATE = 0.2;
+
+    private EngineVerification() {
+        // utility class
+    }
+
+    /**
+     * Verifies the engine selected by the command line arguments.
+     *
+     * @param args the engine, optionally followed by the number of rounds and the seed
+     */
+    public static void main(String[] args) {
+        MatchEngine engine = args.length == 0 ? null : parseEngine(args[0]);
+        if (engine == null) {
+            System.err.println(USAGE);
+            return;
+        }
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        int differences = verify(engine, rounds, seed, System.out);
+        System.out.println(FORMAT_SUMMARY.formatted(differences, rounds));
+        System.exit(Math.min(differences, MAXIMUM_EXIT_CODE));
+    }
+
+    /**
+     * Analyzes random corpora with the provided engine and the reference engine and reports every round
+     * whose results differ.
+     *
+     * @param engine the engine to verify
+     * @param rounds the number of corpora to analyze
+     * @param seed the seed of the random corpora
+     * @param out the stream to report differences to
+     * @return the number of rounds whose results differ
+     */
+    public static int verify(MatchEngine engine, int rounds, long seed, PrintStream out) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int differences = 0;
+        for (int round = 0; round < rounds; round++) {
+            TokenizationStrategy strategy = TokenizationStrategy.values()[random.nextInt(TokenizationStrategy.values().length)];
+            int maximumWords = strategy == TokenizationStrategy.CHAR ? MAXIMUM_CHARACTER_WORDS : MAXIMUM_WORDS;
+            int minimumPlantLength = random.nextInt(1, MAXIMUM_PASSAGE_LENGTH + 1);
+            CorpusSpec spec = new CorpusSpec(random.nextLong(), random.nextInt(2, MAXIMUM_TEXTS + 1),
+                    random.nextInt(maximumWords + 1), random.nextInt(1, MAXIMUM_VOCABULARY + 1),
+                    random.nextInt(1, MAXIMUM_TEXTS + 1), random.nextDouble(MAXIMUM_PLANT_RATE), minimumPlantLength,
+                    random.nextInt(minimumPlantLength, MAXIMUM_PASSAGE_LENGTH + 1));
+            int minMatchLength = random.nextInt(1, MAXIMUM_MIN_MATCH_LENGTH + 1);
+            boolean duplicate = random.nextBoolean();
+            AnalysisResult expected = analyze(spec, duplicate, strategy, minMatchLength, EngineSelection.NESTED);
+            AnalysisResult actual = analyze(spec, duplicate, strategy, minMatchLength, engine);
+            String difference = compare(expected, actual);
+            if (difference != null) {
+                differences++;
+                out.println(FORMAT_DIFFERENCE.formatted(round, spec, strategy, minMatchLength, difference));
+            }
+        }
+        return differences;
+    }
+
+    private static AnalysisResult analyze(CorpusSpec spec, boolean duplicate, TokenizationStrategy strategy,
+            int minMatchLength, MatchEngine engine) {
+        SequenceMatcher matcher = new SequenceMatcher();
+        List<String> texts = CorpusGenerator.texts(spec);
+        for (int text = 0; text < texts.size(); text++) {
+            matcher.input(CorpusGenerator.IDENTIFIER_FORMAT.formatted(text), texts.get(text));
+        }
+        if (duplicate) {
+            matcher.input(CorpusGenerator.IDENTIFIER_FORMAT.formatted(texts.size()), texts.get(0));
+        }
+        matcher.analyze(strategy, minMatchLength, AnalysisOptions.DEFAULT.withEngine(engine));
+        return matcher.getLastAnalysisResult();
+    }
+
+    private static String compare(AnalysisResult expected, AnalysisResult actual) {
+        if (!expected.tokenizedTexts().equals(actual.tokenizedTexts())) {
+            return "token sequences differ";
+        }
+        List<AnalysisMatch> expectedMatches = expected.matches();
+        List<AnalysisMatch> actualMatches = actual.matches();
+        for (int index = 0; index < Math.min(expectedMatches.size(), actualMatches.size()); index++) {
+            if (!Objects.equals(expectedMatches.get(index), actualMatches.get(index))) {
+                return "match %d is %s instead of %s".formatted(index, actualMatches.get(index),
+                        expectedMatches.get(index));
+            }
+        }
+        if (expectedMatches.size() != actualMatches.size()) {
+            return "%d matches instead of %d".formatted(actualMatches.size(), expectedMatches.size());
+        }
+        return null;
+    }
+
+    private static MatchEngine parseEngine(String value) {
+        if (AUTO_ENGINE.equals(value)) {
+            return AutoEngine.DEFAULT;
+        }
+        String[] modeAndWindow = value.split(PART_SEPARATOR, 2);
+        EngineMode mode = EngineMode.findByName(modeAndWindow[0]);
+        if (mode == EngineMode.WINNOWING) {
+            return EngineSelection.winnowing(modeAndWindow.length == 2 ? Integer.parseInt(modeAndWindow[1])
+                    : EngineSelection.DEFAULT_WINDOW);
+        }
+        return mode == null ? null : new EngineSelection(mode, 0);
+    }
+}
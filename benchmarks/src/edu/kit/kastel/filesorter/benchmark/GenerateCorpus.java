@@ -0,0 +1,50 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line tool that writes a synthetic corpus and its ground truth to a directory.
+ *
+ * <p>Usage: {@code GenerateCorpus <directory> [property=value ...]} where the properties are the components
+ * of {@link CorpusSpec}. Each text is written to its own file, the expected matches to
+ * {@value #GROUND_TRUTH_FILE}.</p>
+ *
+ * @author ugsrv
+ */
+public final class GenerateCorpus {
+
+    private static final String GROUND_TRUTH_FILE = "ground-truth.csv";
+    private static final String USAGE = "Usage: GenerateCorpus <directory> [property=value ...]";
+    private static final String MESSAGE_GENERATED = "Generated %d texts with %d planted passages and %d expected "
+            + "matches in %s (%s)";
+
+    private GenerateCorpus() {
+        // utility class
+    }
+
+    /**
+     * Generates the corpus.
+     *
+     * @param args the target directory followed by overridden corpus properties
+     * @throws IOException if the corpus cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return;
+        }
+        CorpusSpec spec = CorpusSpec.DEFAULT;
+        for (int i = 1; i < args.length; i++) {
+            spec = spec.with(args[i]);
+        }
+        Path directory = Files.createDirectories(Path.of(args[0]));
+        List<CorpusGenerator.Planting> plantings = new CorpusGenerator(spec).generate((identifier, content) ->
+                Files.writeString(directory.resolve(identifier), content, StandardCharsets.UTF_8));
+        long matches = CorpusGenerator.writeGroundTruth(plantings, directory.resolve(GROUND_TRUTH_FILE));
+        System.out.println(MESSAGE_GENERATED.formatted(spec.texts(), plantings.size(), matches, directory, spec));
+    }
+}
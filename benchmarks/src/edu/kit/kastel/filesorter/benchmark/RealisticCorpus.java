@@ -0,0 +1,107 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Provides texts cut from the application's Java sources, which the build bundles into the benchmark
+ * jar below {@value #CORPUS_DIRECTORY}.
+ *
+ * @author ugsrv
+ */
+final class RealisticCorpus {
+
+    private static final String CORPUS_DIRECTORY = "corpus";
+    private static final String SOURCE_SUFFIX = ".java";
+    private static final String ERROR_NO_SOURCES = "No corpus sources found in %s.";
+
+    private static String sources;
+
+    private RealisticCorpus() {
+        // utility class
+    }
+
+    /**
+     * Cuts the requested number of texts out of the concatenated sources. The texts start at evenly
+     * spaced offsets and wrap around at the end, so they overlap if the corpus is too small.
+     *
+     * @param texts the number of texts
+     * @param textLength the length of each text in characters
+     * @return the texts
+     */
+    static List<String> slice(int texts, int textLength) {
+        String content = sources();
+        int stride = Math.max(1, content.length() / texts);
+        List<String> corpus = new ArrayList<>(texts);
+        for (int i = 0; i < texts; i++) {
+            StringBuilder builder = new StringBuilder(textLength);
+            int offset = (int) ((long) i * stride % content.length());
+            while (builder.length() < textLength) {
+                int end = Math.min(content.length(), offset + textLength - builder.length());
+                builder.append(content, offset, end);
+                offset = end % content.length();
+            }
+            corpus.add(builder.toString());
+        }
+        return corpus;
+    }
+
+    private static synchronized String sources() {
+        if (sources == null) {
+            sources = String.join("\n", readSources().values());
+        }
+        return sources;
+    }
+
+    private static TreeMap<String, String> readSources() {
+        TreeMap<String, String> files = new TreeMap<>();
+        try {
+            Path location = Path.of(RealisticCorpus.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                readDirectory(location.resolve(CORPUS_DIRECTORY), files);
+            } else {
+                readJar(location, files);
+            }
+            if (files.isEmpty()) {
+                throw new IllegalStateException(ERROR_NO_SOURCES.formatted(location));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        return files;
+    }
+
+    private static void readDirectory(Path directory, TreeMap<String, String> files) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.filter(path -> path.toString().endsWith(SOURCE_SUFFIX)).toList()) {
+                files.put(directory.relativize(path).toString(), Files.readString(path));
+            }
+        }
+    }
+
+    private static void readJar(Path jar, TreeMap<String, String> files) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith(CORPUS_DIRECTORY + "/") && entry.getName().endsWith(SOURCE_SUFFIX)) {
+                    files.put(entry.getName(), new String(jarFile.getInputStream(entry).readAllBytes(),
+                            StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Result;
+import edu.kit.kastel.filesorter.view.command.Histogram;
+import edu.kit.kastel.filesorter.view.command.ListMetric;
+import edu.kit.kastel.filesorter.view.command.SortOrder;
+import edu.kit.kastel.filesorter.view.command.Top;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the commands that aggregate or format the result of a previous analysis: {@code matches},
+ * {@code list}, {@code top} and {@code histogram}.
+ *
+ * @author ugsrv
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultQueryBenchmark {
+
+    private static final int MIN_MATCH_LENGTH = 3;
+    private static final int TOP_LIMIT = 10;
+
+    @Param({"SYNTHETIC", "REALISTIC"})
+    private CorpusType corpus;
+
+    @Param({"16", "64"})
+    private int texts;
+
+    @Param({"2000"})
+    private int textLength;
+
+    @Param({"AVG", "MAX", "LEN"})
+    private ListMetric metric;
+
+    private SequenceMatcher matcher;
+
+    /**
+     * Loads and analyzes the corpus once for all invocations.
+     */
+    @Setup
+    public void setUp() {
+        this.matcher = AnalyzeBenchmark.load(this.corpus.create(this.texts, this.textLength));
+        this.matcher.analyze(TokenizationStrategy.WORD, MIN_MATCH_LENGTH);
+    }
+
+    /**
+     * Formats the matches of the first two texts.
+     *
+     * @return the formatted matches
+     */
+    @Benchmark
+    public Result matches() {
+        return this.matcher.matches(CorpusGenerator.IDENTIFIER_FORMAT.formatted(0),
+                CorpusGenerator.IDENTIFIER_FORMAT.formatted(1));
+    }
+
+    /**
+     * Lists all program pairs.
+     *
+     * @return the formatted list
+     */
+    @Benchmark
+    public Result list() {
+        return new edu.kit.kastel.filesorter.view.command.List(this.metric, SortOrder.DESCENDING)
+                .execute(this.matcher);
+    }
+
+    /**
+     * Lists the highest ranked program pairs.
+     *
+     * @return the formatted list
+     */
+    @Benchmark
+    public Result top() {
+        return new Top(TOP_LIMIT, this.metric, SortOrder.DESCENDING).execute(this.matcher);
+    }
+
+    /**
+     * Computes the histogram of all program pairs.
+     *
+     * @return the formatted histogram
+     */
+    @Benchmark
+    public Result histogram() {
+        return new Histogram(this.metric).execute(this.matcher);
+    }
+}
@@ -0,0 +1,156 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Result;
+import edu.kit.kastel.filesorter.view.ResultType;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+/**
+ * Command line tool that measures {@code analyze} on synthetic corpora of doubling size and reports the
+ * time, the peak heap during the analysis and the heap retained afterwards. The last two measurements are
+ * extrapolated with a power law to estimate how many texts fit into the maximum heap of this JVM.
+ *
+ * <p>Usage: {@code ScalingReport [property=value ...]} where the properties are the components of
+ * {@link CorpusSpec}, {@code maxTexts}, {@code minMatchLength} and {@code output}, a CSV file to write
+ * the measurements to. The {@code texts} property is the smallest corpus size.</p>
+ *
+ * @author ugsrv
+ */
+public final class ScalingReport {
+
+    private static final String PROPERTY_SEPARATOR = "=";
+    private static final String CSV_HEADER = "texts,tokens,millis,peakHeapBytes,retainedHeapBytes";
+    private static final String CSV_FORMAT = "%d,%d,%d,%d,%d";
+    private static final String ERROR_ANALYSIS_FAILED = "Analysis failed: %s";
+    private static final int PLOT_WIDTH = 50;
+    private static final String PLOT_ROW_FORMAT = "%8d | %-" + PLOT_WIDTH + "s %s";
+    private static final String PREDICTION_FORMAT = "Peak heap grows with exponent %.2f, time with exponent %.2f;"
+            + " about %d texts fit into the maximum heap of %d MiB, taking about %d s.";
+    private static final char BAR = '#';
+    private static final int BYTES_PER_KIB = 1 << 10;
+    private static final int BYTES_PER_MIB = 1 << 20;
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    private int maxTexts = 256;
+    private int minMatchLength = 8;
+    private Path output;
+    private CorpusSpec spec = CorpusSpec.DEFAULT.withTexts(2);
+
+    private ScalingReport() {
+    }
+
+    /**
+     * Runs the measurements and prints the report.
+     *
+     * @param args the overridden properties
+     * @throws IOException if the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        ScalingReport report = new ScalingReport();
+        for (String argument : args) {
+            report.configure(argument);
+        }
+        report.run(System.out);
+    }
+
+    private void configure(String argument) {
+        String[] keyValue = argument.split(PROPERTY_SEPARATOR, 2);
+        switch (keyValue[0]) {
+            case "maxTexts" -> this.maxTexts = Integer.parseInt(keyValue[1]);
+            case "minMatchLength" -> this.minMatchLength = Integer.parseInt(keyValue[1]);
+            case "output" -> this.output = Path.of(keyValue[1]);
+            default -> this.spec = this.spec.with(argument);
+        }
+    }
+
+    private void run(PrintStream out) throws IOException {
+        out.println(this.spec);
+        out.println(CSV_HEADER);
+        List<Measurement> measurements = new ArrayList<>();
+        for (int texts = Math.max(2, this.spec.texts()); texts <= this.maxTexts; texts *= 2) {
+            Measurement measurement = measure(this.spec.withTexts(texts));
+            measurements.add(measurement);
+            out.println(CSV_FORMAT.formatted(measurement.texts(), measurement.tokens(), measurement.millis(),
+                    measurement.peakHeap(), measurement.retainedHeap()));
+        }
+        if (this.output != null) {
+            List<String> lines = new ArrayList<>();
+            lines.add(CSV_HEADER);
+            for (Measurement measurement : measurements) {
+                lines.add(CSV_FORMAT.formatted(measurement.texts(), measurement.tokens(), measurement.millis(),
+                        measurement.peakHeap(), measurement.retainedHeap()));
+            }
+            Files.write(this.output, lines);
+        }
+        out.println();
+        out.println("analyze time [ms]");
+        plot(out, measurements, Measurement::millis);
+        out.println();
+        out.println("peak heap [KiB]");
+        plot(out, measurements, measurement -> measurement.peakHeap() / BYTES_PER_KIB);
+        if (measurements.size() >= 2) {
+            out.println();
+            out.println(predict(measurements.get(measurements.size() - 2), measurements.get(measurements.size() - 1)));
+        }
+    }
+
+    private Measurement measure(CorpusSpec corpus) {
+        SequenceMatcher matcher = new SequenceMatcher();
+        CorpusGenerator.feed(corpus, matcher);
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        Result result = matcher.analyze(TokenizationStrategy.WORD, this.minMatchLength);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (result.getType() == ResultType.FAILURE) {
+            throw new IllegalStateException(ERROR_ANALYSIS_FAILED.formatted(result.getMessage()));
+        }
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.gc();
+        long retainedHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long tokens = matcher.getLastAnalysisResult().tokenizedTexts().values().stream().mapToLong(List::size).sum();
+        return new Measurement(corpus.texts(), tokens, millis, peakHeap, retainedHeap);
+    }
+
+    private static void plot(PrintStream out, List<Measurement> measurements,
+                             ToLongFunction<Measurement> value) {
+        long maximum = Math.max(1, measurements.stream().mapToLong(value).max().orElse(1));
+        for (Measurement measurement : measurements) {
+            long current = value.applyAsLong(measurement);
+            String bar = String.valueOf(BAR).repeat((int) (PLOT_WIDTH * current / maximum));
+            out.println(PLOT_ROW_FORMAT.formatted(measurement.texts(), bar, current));
+        }
+    }
+
+    private static String predict(Measurement previous, Measurement last) {
+        double sizeRatio = Math.log((double) last.texts() / previous.texts());
+        double heapExponent = Math.log((double) last.peakHeap() / previous.peakHeap()) / sizeRatio;
+        double timeExponent = Math.log((double) Math.max(1, last.millis()) / Math.max(1, previous.millis()))
+                / sizeRatio;
+        long maximumHeap = Runtime.getRuntime().maxMemory();
+        double scale = Math.pow((double) maximumHeap / last.peakHeap(), 1 / heapExponent);
+        long texts = Math.round(last.texts() * scale);
+        long seconds = Math.round(last.millis() * Math.pow(scale, timeExponent) / MILLIS_PER_SECOND);
+        return String.format(Locale.ROOT, PREDICTION_FORMAT, heapExponent, timeExponent, texts,
+                maximumHeap / BYTES_PER_MIB, seconds);
+    }
+
+    private record Measurement(int texts, long tokens, long millis, long peakHeap, long retainedHeap) {
+    }
+}
@@ -0,0 +1,60 @@
+package edu.kit.kastel.filesorter.benchmark;
+
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link TokenizationStrategy} on a single text.
+ *
+ * @author ugsrv
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizationBenchmark {
+
+    @Param({"CHAR", "WORD", "SMART"})
+    private TokenizationStrategy strategy;
+
+    @Param({"SYNTHETIC", "REALISTIC"})
+    private CorpusType corpus;
+
+    @Param({"1000", "100000"})
+    private int textLength;
+
+    private String text;
+
+    /**
+     * Creates the text to tokenize.
+     */
+    @Setup
+    public void setUp() {
+        this.text = this.corpus.create(1, this.textLength).get(0);
+    }
+
+    /**
+     * Tokenizes the text.
+     *
+     * @return the tokens
+     */
+    @Benchmark
+    public List<String> tokenize() {
+        return this.strategy.tokenize(this.text);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Describes which share of the text pairs an analysis has compared. An analysis with a time budget may
+ * stop before all pairs are compared; pairs that were not compared have no matches in its result.
+ *
+ * @param comparedPairs the number of text pairs that have been compared
+ * @param totalPairs the number of text pairs of the analyzed texts
+ * @param workFraction the share of the estimated token comparisons of all pairs that has been performed,
+ *                     between 0 and 1
+ *
+ * @author ugsrv
+ */
+public record AnalysisCoverage(long comparedPairs, long totalPairs, double workFraction) {
+
+    /**
+     * Returns the coverage of an analysis that compared all pairs of the provided number of texts.
+     *
+     * @param texts the number of analyzed texts
+     * @return the complete coverage
+     */
+    public static AnalysisCoverage complete(int texts) {
+        long pairs = (long) texts * (texts - 1) / 2;
+        return new AnalysisCoverage(pairs, pairs, 1);
+    }
+
+    /**
+     * Returns whether all pairs have been compared.
+     *
+     * @return {@code true} if the analysis is complete
+     */
+    public boolean isComplete() {
+        return this.comparedPairs == this.totalPairs;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formats the matches of an {@link AnalysisResult} between two texts.
+ *
+ * @author ugsrv
+ */
+final class AnalysisMatchFormatter {
+
+    private static final String FORMAT_MATCH = "Match of length %d: %d-%d";
+    private static final String ERROR_INVALID_IDENTIFIER_MESSAGE = "Match does not involve provided identifiers.";
+
+    private AnalysisMatchFormatter() {
+    }
+
+    /**
+     * Formats all matches between the two texts, ordered by descending length and then by their start
+     * indices in the second and the first text.
+     *
+     * @param matches the matches to select from
+     * @param firstIdentifier the identifier of the first text
+     * @param secondIdentifier the identifier of the second text
+     * @return one line per match or an empty string if the texts do not share any match
+     */
+    static String format(List<AnalysisMatch> matches, String firstIdentifier, String secondIdentifier) {
+        List<AnalysisMatch> relevantMatches = new ArrayList<>();
+        for (AnalysisMatch match : matches) {
+            if (matchInvolvesIdentifiers(match, firstIdentifier, secondIdentifier)) {
+                relevantMatches.add(match);
+            }
+        }
+
+        relevantMatches.sort(Comparator.comparingInt(AnalysisMatch::length).reversed()
+                .thenComparingInt(match -> searchIndexFor(match, firstIdentifier, secondIdentifier))
+                .thenComparingInt(match -> patternIndexFor(match, firstIdentifier, secondIdentifier)));
+
+        List<String> lines = new ArrayList<>(relevantMatches.size());
+        for (AnalysisMatch match : relevantMatches) {
+            int searchIndex = searchIndexFor(match, firstIdentifier, secondIdentifier);
+            int patternIndex = patternIndexFor(match, firstIdentifier, secondIdentifier);
+            lines.add(FORMAT_MATCH.formatted(match.length(), searchIndex, patternIndex));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private static boolean matchInvolvesIdentifiers(AnalysisMatch match, String firstIdentifier,
+            String secondIdentifier) {
+        return (match.firstIdentifier().equals(firstIdentifier) && match.secondIdentifier().equals(secondIdentifier))
+                || (match.firstIdentifier().equals(secondIdentifier)
+                        && match.secondIdentifier().equals(firstIdentifier));
+    }
+
+    /**
+     * Determines the index of the match within the search text.
+     *
+     * @param match the match to inspect
+     * @param patternIdentifier the identifier of the pattern text
+     * @param searchIdentifier the identifier of the search text
+     * @return the index of the match within the search text
+     */
+    private static int searchIndexFor(AnalysisMatch match, String patternIdentifier, String searchIdentifier) {
+        if (match.firstIdentifier().equals(patternIdentifier) && match.secondIdentifier().equals(searchIdentifier)) {
+            return match.secondIndex();
+        }
+        if (match.firstIdentifier().equals(searchIdentifier) && match.secondIdentifier().equals(patternIdentifier)) {
+            return match.firstIndex();
+        }
+        throw new IllegalArgumentException(ERROR_INVALID_IDENTIFIER_MESSAGE);
+    }
+
+    /**
+     * Determines the index of the match within the pattern text.
+     *
+     * @param match the match to inspect
+     * @param patternIdentifier the identifier of the pattern text
+     * @param searchIdentifier the identifier of the search text
+     * @return the index of the match within the pattern text
+     */
+    private static int patternIndexFor(AnalysisMatch match, String patternIdentifier, String searchIdentifier) {
+        if (match.firstIdentifier().equals(patternIdentifier) && match.secondIdentifier().equals(searchIdentifier)) {
+            return match.firstIndex();
+        }
+        if (match.firstIdentifier().equals(searchIdentifier) && match.secondIdentifier().equals(patternIdentifier)) {
+            return match.secondIndex();
+        }
+        throw new IllegalArgumentException(ERROR_INVALID_IDENTIFIER_MESSAGE);
+    }
+}
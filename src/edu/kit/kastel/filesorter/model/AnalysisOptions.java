@@ -0,0 +1,145 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Options controlling how an analysis is executed. Instances are immutable; every {@code with} method
+ * returns a modified copy.
+ *
+ * @param memoryBudget the number of heap bytes the matches of the analysis may occupy before they are
+ *                     spilled to disk, or {@code 0} if the matches are always kept in memory
+ * @param progressInterval the time between two progress notifications, or zero to disable them
+ * @param timeBudget the time after which the analysis stops comparing further pairs and publishes a
+ *                   partial result, or zero to compare all pairs
+ * @param similarityFloor the similarity below which pairs are of no interest and need not be compared
+ *                        if their upper bound proves it, or {@code null} to compare all pairs
+ * @param pairScope the pairs of texts to compare, selected by the groups of the texts
+ * @param engine the engine finding the matches of a pair of texts
+ *
+ * @author ugsrv
+ */
+public record AnalysisOptions(long memoryBudget, Duration progressInterval, Duration timeBudget,
+        SimilarityFloor similarityFloor, PairScope pairScope, MatchEngine engine) {
+
+    /**
+     * The options used if no option is specified explicitly.
+     */
+    public static final AnalysisOptions DEFAULT = new AnalysisOptions(0, Duration.ZERO, Duration.ZERO, null,
+            PairScope.ALL, EngineSelection.EXACT);
+
+    private static final String ERROR_NEGATIVE_MEMORY_BUDGET = "memoryBudget must not be negative.";
+    private static final String ERROR_NEGATIVE_PROGRESS_INTERVAL = "progressInterval must not be negative.";
+    private static final String ERROR_NEGATIVE_TIME_BUDGET = "timeBudget must not be negative.";
+
+    /**
+     * Constructs a new set of analysis options.
+     *
+     * @param memoryBudget the number of heap bytes the matches of the analysis may occupy before they
+     *                     are spilled to disk, or {@code 0} if the matches are always kept in memory
+     * @param progressInterval the time between two progress notifications, or zero to disable them
+     * @param timeBudget the time after which the analysis stops comparing further pairs and publishes a
+     *                   partial result, or zero to compare all pairs
+     * @param similarityFloor the similarity below which pairs are of no interest and need not be compared
+     *                        if their upper bound proves it, or {@code null} to compare all pairs
+     * @param pairScope the pairs of texts to compare, selected by the groups of the texts
+     * @param engine the engine finding the matches of a pair of texts
+     * @throws IllegalArgumentException if {@code memoryBudget}, {@code progressInterval} or
+     *                                  {@code timeBudget} is negative
+     */
+    public AnalysisOptions {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException(ERROR_NEGATIVE_MEMORY_BUDGET);
+        }
+        if (Objects.requireNonNull(progressInterval).isNegative()) {
+            throw new IllegalArgumentException(ERROR_NEGATIVE_PROGRESS_INTERVAL);
+        }
+        if (Objects.requireNonNull(timeBudget).isNegative()) {
+            throw new IllegalArgumentException(ERROR_NEGATIVE_TIME_BUDGET);
+        }
+        Objects.requireNonNull(pairScope);
+        Objects.requireNonNull(engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided memory budget.
+     *
+     * @param bytes the number of heap bytes the matches may occupy, or {@code 0} for no limit
+     * @return the modified options
+     */
+    public AnalysisOptions withMemoryBudget(long bytes) {
+        return new AnalysisOptions(bytes, this.progressInterval, this.timeBudget, this.similarityFloor,
+                this.pairScope, this.engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided progress interval.
+     *
+     * @param interval the time between two progress notifications, or zero to disable them
+     * @return the modified options
+     */
+    public AnalysisOptions withProgressInterval(Duration interval) {
+        return new AnalysisOptions(this.memoryBudget, interval, this.timeBudget, this.similarityFloor,
+                this.pairScope, this.engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided time budget. Pairs are then compared in the
+     * order of their estimated similarity, so the most similar pairs are compared first.
+     *
+     * @param budget the time after which no further pairs are compared, or zero to compare all pairs
+     * @return the modified options
+     */
+    public AnalysisOptions withTimeBudget(Duration budget) {
+        return new AnalysisOptions(this.memoryBudget, this.progressInterval, budget, this.similarityFloor,
+                this.pairScope, this.engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided similarity floor.
+     *
+     * @param floor the similarity below which pairs are of no interest, or {@code null} to compare all pairs
+     * @return the modified options
+     */
+    public AnalysisOptions withSimilarityFloor(SimilarityFloor floor) {
+        return new AnalysisOptions(this.memoryBudget, this.progressInterval, this.timeBudget, floor,
+                this.pairScope, this.engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided pair scope.
+     *
+     * @param scope the pairs of texts to compare
+     * @return the modified options
+     */
+    public AnalysisOptions withPairScope(PairScope scope) {
+        return new AnalysisOptions(this.memoryBudget, this.progressInterval, this.timeBudget, this.similarityFloor,
+                scope, this.engine);
+    }
+
+    /**
+     * Returns a copy of these options using the provided engine.
+     *
+     * @param selection the engine finding the matches of a pair of texts, e.g. an {@link EngineSelection}
+     * @return the modified options
+     */
+    public AnalysisOptions withEngine(MatchEngine selection) {
+        return new AnalysisOptions(this.memoryBudget, this.progressInterval, this.timeBudget, this.similarityFloor,
+                this.pairScope, selection);
+    }
+
+    /**
+     * Converts the provided duration to nanoseconds, saturating at {@link Long#MAX_VALUE} for durations too
+     * long to be represented, so a huge budget or interval behaves as an unlimited one.
+     *
+     * @param duration the non-negative duration to convert
+     * @return the duration in nanoseconds
+     */
+    static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
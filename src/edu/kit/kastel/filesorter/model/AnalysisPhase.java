@@ -0,0 +1,29 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Enumeration of the phases of an analysis that are measured separately.
+ *
+ * @author ugsrv
+ */
+public enum AnalysisPhase {
+    /**
+     * Splitting all loaded texts into tokens.
+     */
+    TOKENIZATION,
+
+    /**
+     * Comparing the token sequences of the text pairs to find the maximal runs of equal tokens.
+     */
+    COMPARISON,
+
+    /**
+     * Creating the matches from the runs found, including spilling and merging them if a memory budget is
+     * set.
+     */
+    MATCH_CONSTRUCTION,
+
+    /**
+     * Copying or compressing the token sequences into the analysis result.
+     */
+    RESULT_COPY
+}
@@ -0,0 +1,66 @@
+package edu.kit.kastel.filesorter.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning one {@link AnalysisPhase} of an analysis. The comparison and match
+ * construction phases alternate per pair, so their events span the whole pairwise loop while
+ * {@code activeTime} holds the time actually spent in the phase.
+ *
+ * @author ugsrv
+ */
+@Name("edu.kit.kastel.filesorter.AnalysisPhase")
+@Label("Analysis Phase")
+@Category("Sequence Matcher")
+@Description("A phase of the analysis of all loaded texts")
+final class AnalysisPhaseEvent extends Event {
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Active Time")
+    @Timespan
+    private long activeTime;
+
+    @Label("Allocated")
+    @DataAmount
+    private long allocated;
+
+    @Label("Texts")
+    private int texts;
+
+    @Label("Tokens")
+    private long tokens;
+
+    @Label("Compared Pairs")
+    private long comparedPairs;
+
+    @Label("Matches")
+    private long matches;
+
+    /**
+     * Ends and commits the event with the values recorded so far.
+     *
+     * @param analysisPhase the phase of the event
+     * @param statistics the statistics of the analysis
+     */
+    void complete(AnalysisPhase analysisPhase, AnalysisStatistics statistics) {
+        end();
+        if (shouldCommit()) {
+            this.phase = analysisPhase.name();
+            this.activeTime = statistics.nanos(analysisPhase);
+            this.allocated = statistics.allocatedBytes(analysisPhase);
+            this.texts = statistics.texts();
+            this.tokens = statistics.tokens();
+            this.comparedPairs = statistics.comparedPairs();
+            this.matches = statistics.matches();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.time.Duration;
+
+/**
+ * The progress of the pair comparisons of a running analysis.
+ *
+ * <p>Every pair is weighted by the number of token comparisons it requires, i.e. the product of the
+ * lengths of both token sequences divided by the number of pairs sharing the result due to identical
+ * texts. The completed fraction and the estimated remaining time are therefore accurate even if the
+ * texts differ considerably in length.</p>
+ *
+ * @author ugsrv
+ */
+public final class AnalysisProgress {
+
+    private final long intervalNanos;
+    private final ProgressListener listener;
+    private long startNanos = System.nanoTime();
+    private long totalPairs;
+    private long completedPairs;
+    private double totalCost;
+    private double completedCost;
+    private long lastReportNanos;
+    private boolean reported;
+
+    /**
+     * Creates the progress of an analysis that has just been started.
+     *
+     * @param interval the time between two notifications of the listener, or zero to never notify it
+     * @param listener the listener to notify or {@code null} if there is none
+     */
+    AnalysisProgress(Duration interval, ProgressListener listener) {
+        this.intervalNanos = AnalysisOptions.saturatedNanos(interval);
+        this.listener = interval.isZero() ? null : listener;
+    }
+
+    void start(long pairs, double cost) {
+        this.totalPairs = pairs;
+        this.totalCost = cost;
+        this.startNanos = System.nanoTime();
+        this.lastReportNanos = this.startNanos;
+    }
+
+    void complete(double cost) {
+        this.completedPairs++;
+        this.completedCost += cost;
+        if (this.listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - this.lastReportNanos >= this.intervalNanos) {
+            this.lastReportNanos = now;
+            this.reported = true;
+            this.listener.progressed(this);
+        }
+    }
+
+    void finish() {
+        if (this.reported) {
+            this.listener.progressed(this);
+        }
+    }
+
+    /**
+     * Returns the number of text pairs to compare.
+     *
+     * @return the total number of pairs
+     */
+    public long totalPairs() {
+        return this.totalPairs;
+    }
+
+    /**
+     * Returns the number of text pairs compared so far.
+     *
+     * @return the number of completed pairs
+     */
+    public long completedPairs() {
+        return this.completedPairs;
+    }
+
+    /**
+     * Returns the completed fraction of the work, weighted by the cost of the pairs.
+     *
+     * @return the completed fraction between 0 and 1
+     */
+    public double fraction() {
+        if (this.totalCost > 0) {
+            return Math.min(1, this.completedCost / this.totalCost);
+        }
+        return this.totalPairs == 0 ? 1 : (double) this.completedPairs / this.totalPairs;
+    }
+
+    /**
+     * Returns the time elapsed since the comparison of the pairs started.
+     *
+     * @return the elapsed time
+     */
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - this.startNanos);
+    }
+
+    /**
+     * Estimates the time remaining until all pairs are compared, assuming the remaining pairs are processed
+     * at the same rate per token comparison as the completed ones.
+     *
+     * @return the estimated remaining time or {@code null} if no work has been completed yet
+     */
+    public Duration estimatedRemaining() {
+        double fraction = fraction();
+        if (fraction <= 0) {
+            return null;
+        }
+        return Duration.ofNanos((long) (elapsed().toNanos() * (1 - fraction) / fraction));
+    }
+}
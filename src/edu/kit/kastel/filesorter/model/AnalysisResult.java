@@ -10,7 +10,8 @@ import java.util.Objects;
  * Represents the result of a text analysis.
  *
  * <p>The result stores the configuration that has been used for the analysis as well as the
- * produced matches and tokenization. Instances of this class are immutable.</p>
+ * produced matches and tokenization. Instances of this class are immutable; the index of the
+ * {@link #neighbours(String) neighbours} of the texts is built on first use.</p>
  *
  * @author ugsrv
  */
@@ -22,6 +23,11 @@ public final class AnalysisResult {
     private final int minMatchLength;
     private final Map<String, List<String>> tokenizedTexts;
     private final List<AnalysisMatch> matches;
+    private final AnalysisStatistics statistics;
+    private final AnalysisCoverage coverage;
+    private final PairSelection selection;
+    private NeighbourIndex neighbours;
+    private PairFilter pairFilter;
 
     /**
      * Constructs an immutable object representing the result of a text analysis.
@@ -51,6 +57,58 @@ public final class AnalysisResult {
         this.minMatchLength = minMatchLength;
         this.tokenizedTexts = Collections.unmodifiableMap(tokenCopy);
         this.matches = List.copyOf(matches);
+        this.statistics = null;
+        this.coverage = AnalysisCoverage.complete(tokenCopy.size());
+        this.selection = PairSelection.ALL;
+    }
+
+    private AnalysisResult(Map<String, List<String>> tokenizedTexts, List<AnalysisMatch> matches,
+            TokenizationStrategy strategy, int minMatchLength, AnalysisStatistics statistics,
+            AnalysisCoverage coverage, PairSelection selection) {
+        this.strategy = strategy;
+        this.minMatchLength = minMatchLength;
+        this.tokenizedTexts = Collections.unmodifiableMap(tokenizedTexts);
+        this.matches = matches;
+        this.statistics = statistics;
+        this.coverage = coverage;
+        this.selection = selection;
+    }
+
+    /**
+     * Creates a result that uses the provided token sequences and matches without copying them. This is
+     * intended for lazily decoded views, e.g. of a memory-mapped workspace image, which would otherwise
+     * be materialized completely. The provided lists must not be modifiable.
+     *
+     * @param strategy the tokenization strategy used for splitting texts into tokens
+     * @param minMatchLength the minimum number of tokens a match must contain to be included in the result
+     * @param tokenizedTexts the unmodifiable token sequences of the analyzed texts
+     * @param matches the unmodifiable list of matches found during text analysis
+     * @param statistics the statistics recorded during the analysis or {@code null} if none were recorded
+     * @param coverage the share of the text pairs that has been compared
+     * @param selection the text pairs that were selected for the analysis
+     * @return the result wrapping the provided data
+     * @throws IllegalArgumentException if {@code minMatchLength} is less than 1
+     */
+    static AnalysisResult wrap(TokenizationStrategy strategy, int minMatchLength,
+            Map<String, List<String>> tokenizedTexts, List<AnalysisMatch> matches, AnalysisStatistics statistics,
+            AnalysisCoverage coverage, PairSelection selection) {
+        if (minMatchLength < 1) {
+            throw new IllegalArgumentException(ERROR_INVALID_MIN_MATCH_LENGTH);
+        }
+        return new AnalysisResult(new LinkedHashMap<>(tokenizedTexts), Objects.requireNonNull(matches),
+                Objects.requireNonNull(strategy), minMatchLength, statistics, Objects.requireNonNull(coverage),
+                Objects.requireNonNull(selection));
+    }
+
+    /**
+     * Creates a copy of this result using the provided token sequences without copying them.
+     *
+     * @param replacement the unmodifiable token sequences of the analyzed texts in another representation
+     * @return the result using the provided token sequences
+     */
+    AnalysisResult withTokenizedTexts(Map<String, List<String>> replacement) {
+        return new AnalysisResult(new LinkedHashMap<>(replacement), this.matches, this.strategy, this.minMatchLength,
+                this.statistics, this.coverage, this.selection);
     }
 
     /**
@@ -88,4 +146,95 @@ public final class AnalysisResult {
     public List<AnalysisMatch> matches() {
         return this.matches;
     }
+
+    /**
+     * Returns the timings and counters recorded during the analysis.
+     *
+     * @return the statistics or {@code null} if the result was not produced by an analysis in this session
+     */
+    public AnalysisStatistics statistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Returns the share of the text pairs that has been compared by the analysis.
+     *
+     * @return the coverage of the analysis
+     */
+    public AnalysisCoverage coverage() {
+        return this.coverage;
+    }
+
+    /**
+     * Returns the texts sharing at least one match with the provided text. The neighbours of all texts are
+     * indexed on the first call in a single pass over the matches.
+     *
+     * @param identifier the identifier of the text
+     * @return the neighbours of the text in no particular order, empty if it shares no match or was not
+     *         analyzed
+     */
+    public List<Neighbour> neighbours(String identifier) {
+        if (this.neighbours == null) {
+            this.neighbours = new NeighbourIndex(this.matches);
+        }
+        return this.neighbours.of(identifier);
+    }
+
+    /**
+     * Estimates the heap retained by the index of the {@link #neighbours(String) neighbours}.
+     *
+     * @return the estimated footprint in bytes, or {@code 0} if the index has not been built
+     */
+    long neighbourFootprint() {
+        return this.neighbours == null ? 0 : this.neighbours.footprint();
+    }
+
+    /**
+     * Returns the text pairs the analysis was restricted to.
+     *
+     * @return the pair scope of the analysis
+     */
+    public PairScope pairScope() {
+        return this.selection.scope();
+    }
+
+    /**
+     * Returns whether the analysis compared the pair of texts with the provided identifiers, or would have
+     * compared it without a time budget or similarity floor. Pairs outside the {@link #pairScope() pair
+     * scope} have no matches and are not listed.
+     *
+     * @param firstIdentifier the identifier of the first text
+     * @param secondIdentifier the identifier of the second text
+     * @return {@code true} if the pair is part of the pair scope
+     */
+    public boolean isAnalyzedPair(String firstIdentifier, String secondIdentifier) {
+        return this.selection.includes(firstIdentifier, secondIdentifier);
+    }
+
+    /**
+     * Returns the next text after the provided one whose pair with the provided first text was analyzed, in
+     * the sense of {@link #isAnalyzedPair(String, String)}. Texts are referred to by their position in the
+     * iteration order of the {@link #tokenizedTexts() tokenized texts}. Starting with {@code previous = first},
+     * the calls enumerate the analyzed pairs of the first text without visiting the pairs outside the
+     * {@link #pairScope() pair scope}.
+     *
+     * @param first the position of the first text
+     * @param previous the position of the previous second text, at least {@code first}
+     * @return the position of the next second text, or the number of texts if there is none
+     */
+    public int nextAnalyzedPartner(int first, int previous) {
+        if (this.pairFilter == null) {
+            this.pairFilter = new PairFilter(List.copyOf(this.tokenizedTexts.keySet()), this.selection);
+        }
+        return this.pairFilter.nextPartner(first, previous);
+    }
+
+    /**
+     * Returns the pair scope of the analysis together with the groups of the analyzed texts.
+     *
+     * @return the pair selection of the analysis
+     */
+    PairSelection selection() {
+        return this.selection;
+    }
 }
@@ -27,7 +27,7 @@ final class AnalysisResultListFormatter {
             return "";
         }
 
-        Map<PairKey, PairStatistics> statistics = initializeStatistics(tokenizedTexts, identifiers);
+        Map<PairKey, PairStatistics> statistics = initializeStatistics(analysisResult, identifiers);
         applyMatches(analysisResult.matches(), statistics, tokenizedTexts);
 
         List<PairStatistics> orderedStatistics = getPairStatistics(metric, order, statistics);
@@ -53,10 +53,13 @@ final class AnalysisResultListFormatter {
     }
 
     private static Map<PairKey, PairStatistics> initializeStatistics(
-            Map<String, List<String>> tokenizedTexts, List<String> identifiers) {
+            AnalysisResult analysisResult, List<String> identifiers) {
+        Map<String, List<String>> tokenizedTexts = analysisResult.tokenizedTexts();
         Map<PairKey, PairStatistics> statistics = new LinkedHashMap<>();
         for (int firstIndex = 0; firstIndex < identifiers.size(); firstIndex++) {
-            for (int secondIndex = firstIndex + 1; secondIndex < identifiers.size(); secondIndex++) {
+            for (int secondIndex = analysisResult.nextAnalyzedPartner(firstIndex, firstIndex);
+                    secondIndex < identifiers.size();
+                    secondIndex = analysisResult.nextAnalyzedPartner(firstIndex, secondIndex)) {
                 String firstIdentifier = identifiers.get(firstIndex);
                 String secondIdentifier = identifiers.get(secondIndex);
                 statistics.put(new PairKey(firstIdentifier, secondIdentifier),
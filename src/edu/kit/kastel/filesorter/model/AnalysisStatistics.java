@@ -0,0 +1,243 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Timings and counters recorded while an analysis is executed. The values are complete once the analysis
+ * has finished and are not modified afterwards.
+ *
+ * <p>Allocated bytes are measured per thread through the platform's thread management bean if the JVM
+ * supports it; otherwise they are reported as {@code -1}.</p>
+ *
+ * @author ugsrv
+ */
+public final class AnalysisStatistics {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCountingThreads();
+
+    private final long[] nanos = new long[AnalysisPhase.values().length];
+    private final long[] allocatedBytes = new long[AnalysisPhase.values().length];
+    private final long[] startNanos = new long[AnalysisPhase.values().length];
+    private final long[] startAllocatedBytes = new long[AnalysisPhase.values().length];
+    private final AnalysisPhaseEvent[] events = new AnalysisPhaseEvent[AnalysisPhase.values().length];
+    private int texts;
+    private long tokens;
+    private int minimumTokens;
+    private int maximumTokens;
+    private long comparedPairs;
+    private long prunedPairs;
+    private long tokenComparisons;
+    private long matches;
+    private long cacheHits;
+    private long cacheMisses;
+    private long matchFootprint;
+
+    void begin(AnalysisPhase phase) {
+        if (this.events[phase.ordinal()] == null) {
+            this.events[phase.ordinal()] = new AnalysisPhaseEvent();
+            this.events[phase.ordinal()].begin();
+        }
+        this.startAllocatedBytes[phase.ordinal()] = allocatedBytes();
+        this.startNanos[phase.ordinal()] = System.nanoTime();
+    }
+
+    void end(AnalysisPhase phase) {
+        this.nanos[phase.ordinal()] += System.nanoTime() - this.startNanos[phase.ordinal()];
+        this.allocatedBytes[phase.ordinal()] += allocatedBytes() - this.startAllocatedBytes[phase.ordinal()];
+    }
+
+    /**
+     * Commits the flight recorder event of the provided phase, which spans from the first start of the
+     * phase until now. Must be called once after the last time the phase ended.
+     *
+     * @param phase the phase whose event to commit
+     */
+    void commit(AnalysisPhase phase) {
+        AnalysisPhaseEvent event = this.events[phase.ordinal()];
+        if (event != null) {
+            event.complete(phase, this);
+            this.events[phase.ordinal()] = null;
+        }
+    }
+
+    void recordText(int tokenCount) {
+        this.minimumTokens = this.texts == 0 ? tokenCount : Math.min(this.minimumTokens, tokenCount);
+        this.maximumTokens = Math.max(this.maximumTokens, tokenCount);
+        this.tokens += tokenCount;
+        this.texts++;
+    }
+
+    void recordComparison(long performedTokenComparisons) {
+        this.comparedPairs++;
+        this.tokenComparisons += performedTokenComparisons;
+    }
+
+    void recordPrunedPair() {
+        this.prunedPairs++;
+    }
+
+    void recordMatches(long count) {
+        this.matches += count;
+    }
+
+    void recordMatchFootprint(long bytes) {
+        this.matchFootprint = bytes;
+    }
+
+    void recordCacheAccess(boolean hit) {
+        if (hit) {
+            this.cacheHits++;
+        } else {
+            this.cacheMisses++;
+        }
+    }
+
+    /**
+     * Returns the wall-clock time spent in the provided phase.
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds
+     */
+    public long nanos(AnalysisPhase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of bytes allocated by the analyzing thread in the provided phase.
+     *
+     * @param phase the phase
+     * @return the allocated bytes or {@code -1} if the JVM cannot measure allocations
+     */
+    public long allocatedBytes(AnalysisPhase phase) {
+        return THREADS == null ? -1 : this.allocatedBytes[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of analyzed texts.
+     *
+     * @return the number of texts
+     */
+    public int texts() {
+        return this.texts;
+    }
+
+    /**
+     * Returns the total number of tokens of all analyzed texts.
+     *
+     * @return the number of tokens
+     */
+    public long tokens() {
+        return this.tokens;
+    }
+
+    /**
+     * Returns the number of tokens of the shortest analyzed text.
+     *
+     * @return the minimum number of tokens per text or {@code 0} if no text was analyzed
+     */
+    public int minimumTokens() {
+        return this.minimumTokens;
+    }
+
+    /**
+     * Returns the number of tokens of the longest analyzed text.
+     *
+     * @return the maximum number of tokens per text
+     */
+    public int maximumTokens() {
+        return this.maximumTokens;
+    }
+
+    /**
+     * Returns the number of text pairs the result covers.
+     *
+     * @return the number of text pairs
+     */
+    public long pairs() {
+        return (long) this.texts * (this.texts - 1) / 2;
+    }
+
+    /**
+     * Returns the number of pairs whose token sequences were actually compared. Pairs of texts with
+     * identical token sequences share a single comparison.
+     *
+     * @return the number of compared pairs
+     */
+    public long comparedPairs() {
+        return this.comparedPairs;
+    }
+
+    /**
+     * Returns the number of pairs that were not compared because their similarity provably stays below
+     * the similarity floor of the analysis.
+     *
+     * @return the number of pruned pairs
+     */
+    public long prunedPairs() {
+        return this.prunedPairs;
+    }
+
+    /**
+     * Returns the number of pairwise token equality checks performed while comparing.
+     *
+     * @return the number of token comparisons
+     */
+    public long tokenComparisons() {
+        return this.tokenComparisons;
+    }
+
+    /**
+     * Returns the number of matches emitted by the analysis.
+     *
+     * @return the number of matches
+     */
+    public long matches() {
+        return this.matches;
+    }
+
+    /**
+     * Returns the number of pairs whose runs were taken from the cache of previously compared pairs of
+     * texts with identical token sequences.
+     *
+     * @return the number of cache hits
+     */
+    public long cacheHits() {
+        return this.cacheHits;
+    }
+
+    /**
+     * Returns the number of pairs whose runs had to be computed before they could be cached.
+     *
+     * @return the number of cache misses
+     */
+    public long cacheMisses() {
+        return this.cacheMisses;
+    }
+
+    /**
+     * Returns the estimated heap retained by the list of matches, which is zero if the matches are
+     * served from a memory-mapped file.
+     *
+     * @return the estimated footprint of the matches in bytes
+     */
+    public long matchFootprint() {
+        return this.matchFootprint;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCountingThreads() {
+        if (!ManagementFactory.getPlatformManagementInterfaces().contains(com.sun.management.ThreadMXBean.class)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = ManagementFactory.getPlatformMXBean(
+                com.sun.management.ThreadMXBean.class);
+        if (threads == null || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
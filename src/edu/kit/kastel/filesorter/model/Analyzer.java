@@ -0,0 +1,145 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Executes the phases of a single analysis up to the construction of the matches and records their
+ * {@link AnalysisStatistics}. If the options define a time budget, it starts when the analyzer is
+ * created.
+ *
+ * @author ugsrv
+ */
+final class Analyzer {
+
+    private final TokenizationStrategy strategy;
+    private final int minMatchLength;
+    private final AnalysisOptions options;
+    private final AnalysisStatistics statistics = new AnalysisStatistics();
+    private final AnalysisProgress progress;
+    private final long startNanos = System.nanoTime();
+    private PairSelection selection = PairSelection.ALL;
+    private String engineDecision;
+
+    /**
+     * Creates a new analyzer.
+     *
+     * @param strategy the strategy to use for tokenizing the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param options the options controlling the execution of the analysis
+     * @param listener the listener to notify about the progress of the comparisons or {@code null}
+     */
+    Analyzer(TokenizationStrategy strategy, int minMatchLength, AnalysisOptions options, ProgressListener listener) {
+        this.strategy = strategy;
+        this.minMatchLength = minMatchLength;
+        this.options = options;
+        this.progress = new AnalysisProgress(options.progressInterval(), listener);
+    }
+
+    /**
+     * Tokenizes the provided texts and selects their pairs to compare by the groups they are tagged with.
+     *
+     * @param texts the texts to tokenize
+     * @return the token sequences keyed by the identifiers of the texts, in the order of the texts
+     */
+    Map<String, List<String>> tokenize(Collection<LoadedText> texts) {
+        return tokenize(texts, text -> this.strategy.tokenize(text.content()));
+    }
+
+    /**
+     * Obtains the token sequences of the provided texts, e.g. sequences tokenized in advance, and selects
+     * their pairs to compare by the groups they are tagged with.
+     *
+     * @param texts the texts to tokenize
+     * @param tokenizer the function returning the token sequence of a text under the strategy of this analyzer
+     * @return the token sequences keyed by the identifiers of the texts, in the order of the texts
+     */
+    Map<String, List<String>> tokenize(Collection<LoadedText> texts, Function<LoadedText, List<String>> tokenizer) {
+        this.statistics.begin(AnalysisPhase.TOKENIZATION);
+        Map<String, List<String>> tokenizedTexts = new LinkedHashMap<>();
+        Map<String, String> groups = new HashMap<>();
+        for (LoadedText text : texts) {
+            List<String> tokens = tokenizer.apply(text);
+            tokenizedTexts.put(text.identifier(), tokens);
+            this.statistics.recordText(tokens.size());
+            if (text.group() != null) {
+                groups.put(text.identifier(), text.group());
+            }
+        }
+        this.selection = new PairSelection(this.options.pairScope(), groups);
+        this.statistics.end(AnalysisPhase.TOKENIZATION);
+        this.statistics.commit(AnalysisPhase.TOKENIZATION);
+        return tokenizedTexts;
+    }
+
+    /**
+     * Compares the selected pairs of the provided token sequences, or as many as the time budget permits,
+     * and constructs the matches found.
+     *
+     * @param tokenizedTexts the token sequences keyed by the identifiers of their texts
+     * @return the matches in the order of the pairs and their start indices
+     * @throws IOException if the matches cannot be stored
+     */
+    List<AnalysisMatch> collect(Map<String, List<String>> tokenizedTexts) throws IOException {
+        try (MatchStore store = MatchStore.create(List.copyOf(tokenizedTexts.keySet()), this.options)) {
+            MatchCollector collector = new MatchCollector(tokenizedTexts, this.minMatchLength, this.statistics,
+                    this.options.similarityFloor(), this.selection, this.options.engine());
+            this.engineDecision = collector.engineDecision();
+            if (this.options.timeBudget().isZero()) {
+                collector.collect(store, this.progress);
+            } else {
+                collector.collectUntil(store, this.progress, this.startNanos,
+                        AnalysisOptions.saturatedNanos(this.options.timeBudget()));
+            }
+            this.statistics.begin(AnalysisPhase.MATCH_CONSTRUCTION);
+            List<AnalysisMatch> matches = store.finish();
+            this.statistics.recordMatchFootprint(store.footprint());
+            this.statistics.end(AnalysisPhase.MATCH_CONSTRUCTION);
+            this.statistics.commit(AnalysisPhase.COMPARISON);
+            this.statistics.commit(AnalysisPhase.MATCH_CONSTRUCTION);
+            return matches;
+        }
+    }
+
+    /**
+     * Returns the share of the pairs compared so far.
+     *
+     * @return the coverage of this analysis
+     */
+    AnalysisCoverage coverage() {
+        return new AnalysisCoverage(this.progress.completedPairs(), this.progress.totalPairs(),
+                this.progress.fraction());
+    }
+
+    /**
+     * Returns how the engine chose its algorithm once the matches have been collected.
+     *
+     * @return the description of the decision, or {@code null} if the algorithm was chosen explicitly
+     */
+    String engineDecision() {
+        return this.engineDecision;
+    }
+
+    /**
+     * Returns the pairs selected when the texts were tokenized.
+     *
+     * @return the pair selection of this analysis
+     */
+    PairSelection selection() {
+        return this.selection;
+    }
+
+    /**
+     * Returns the statistics recorded so far.
+     *
+     * @return the statistics of this analysis
+     */
+    AnalysisStatistics statistics() {
+        return this.statistics;
+    }
+}
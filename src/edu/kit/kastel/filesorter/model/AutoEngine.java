@@ -0,0 +1,95 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Selects the exact engine expected to be fastest for the shape of the analyzed corpus. The diagonal walk
+ * of {@link EngineSelection#EXACT} visits every cell of every pair, which is cheapest for few and short
+ * texts. The k-gram index of {@link EngineSelection#winnowing(int) winnowing with a window of one}, which
+ * finds the same matches, pays for hashing every token and extends only pairs of positions starting equal
+ * k-grams, which is cheapest for many long texts with a large vocabulary or a long minimum match length.
+ *
+ * <p>The costs are estimated from the {@link CorpusShape} of the compared pairs with the tunable time per
+ * cell, per indexed token and per seed. The benchmark suite calibrates them for the current machine.</p>
+ *
+ * @param cellNanos the time in nanoseconds the exact engine takes per cell
+ * @param tokenNanos the time in nanoseconds the index takes per token
+ * @param seedNanos the time in nanoseconds the index takes per seed
+ *
+ * @author ugsrv
+ */
+public record AutoEngine(double cellNanos, double tokenNanos, double seedNanos) implements MatchEngine {
+
+    /**
+     * The costs calibrated on a typical development machine.
+     */
+    public static final AutoEngine DEFAULT = new AutoEngine(3.0, 1150.0, 310.0);
+
+    private static final String ERROR_NOT_POSITIVE = "The costs of the engines must be positive.";
+    private static final String FORMAT_DECISION = "auto selected %s for %d texts, %d tokens, vocabulary %d: "
+            + "estimated exact %.1fms, indexed %.1fms";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructs a new automatic engine selection.
+     *
+     * @param cellNanos the time in nanoseconds the exact engine takes per cell
+     * @param tokenNanos the time in nanoseconds the index takes per token
+     * @param seedNanos the time in nanoseconds the index takes per seed
+     * @throws IllegalArgumentException if a cost is not positive
+     */
+    public AutoEngine {
+        if (!(cellNanos > 0 && tokenNanos > 0 && seedNanos > 0)) {
+            throw new IllegalArgumentException(ERROR_NOT_POSITIVE);
+        }
+    }
+
+    @Override
+    public RunFinder prepare(List<List<String>> sequences, int minMatchLength) {
+        return decide(sequences, minMatchLength, CorpusShape.of(sequences, minMatchLength));
+    }
+
+    @Override
+    public RunFinder prepare(List<List<String>> sequences, int minMatchLength, PairFilter filter) {
+        return decide(sequences, minMatchLength, CorpusShape.of(sequences, minMatchLength, filter));
+    }
+
+    private RunFinder decide(List<List<String>> sequences, int minMatchLength, CorpusShape shape) {
+        double exactNanos = shape.cells() * this.cellNanos;
+        double indexedNanos = shape.tokens() * this.tokenNanos + shape.expectedSeeds() * this.seedNanos;
+        boolean indexed = indexedNanos < exactNanos;
+        MatchEngine engine = indexed ? EngineSelection.winnowing(1) : EngineSelection.EXACT;
+        String decision = String.format(Locale.ROOT, FORMAT_DECISION, indexed ? "indexed" : "exact", shape.texts(),
+                shape.tokens(), shape.vocabulary(), exactNanos / NANOS_PER_MILLI, indexedNanos / NANOS_PER_MILLI);
+        return new DecidedRunFinder(engine.prepare(sequences, minMatchLength), decision);
+    }
+
+    /**
+     * A run finder of the selected engine, describing the selection.
+     */
+    private static final class DecidedRunFinder implements RunFinder {
+        private final RunFinder delegate;
+        private final String decision;
+
+        DecidedRunFinder(RunFinder delegate, String decision) {
+            this.delegate = delegate;
+            this.decision = decision;
+        }
+
+        @Override
+        public List<TokenRun> find(int first, int second) {
+            return this.delegate.find(first, second);
+        }
+
+        @Override
+        public long takeComparisons() {
+            return this.delegate.takeComparisons();
+        }
+
+        @Override
+        public String decision() {
+            return this.decision;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the same runs as {@link DiagonalRunFinder} but processes 64 position pairs of the grid per word
+ * operation, which pays off for long sequences over a small alphabet such as those of
+ * {@link TokenizationStrategy#CHAR}.
+ *
+ * <p>For the first sequence of a pair, one bit mask per token is built whose bits mark the positions of that
+ * token. The row of the grid belonging to a position of the second sequence is then simply the mask of its
+ * token. Every position pair carries the length of the run ending in it as a bit-sliced counter saturating at
+ * the minimum match length: each bit of the counter is stored in its own array of words, so moving to the
+ * next row shifts every array by one bit along the diagonal and increments all counters of the row with a
+ * few word operations. A saturated run whose diagonal successor does not match ends there; only then is its
+ * start found by walking back from the end.</p>
+ *
+ * <p>The masks of the first sequence are kept until a pair with another first sequence is requested. If the
+ * sequences contain more distinct tokens than {@link #MAXIMUM_ALPHABET}, the masks would be too sparse to
+ * be worthwhile and {@link #create(List, int)} falls back to the scalar {@link DiagonalRunFinder}.</p>
+ *
+ * @author ugsrv
+ */
+final class BitParallelRunFinder implements RunFinder {
+
+    /**
+     * The maximum number of distinct tokens of all sequences the bit-parallel comparison is used for.
+     */
+    static final int MAXIMUM_ALPHABET = 256;
+
+    private static final String FORMAT_DECISION = "bit-parallel kernel for %d distinct tokens";
+    private static final String FORMAT_FALLBACK = "%d distinct tokens exceed %d, %s";
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int HIGHEST_BIT = WORD_BITS - 1;
+
+    private final int[][] sequences;
+    private final int minMatchLength;
+    private final int alphabet;
+    private final int counterBits;
+    private int maskedSequence = -1;
+    private long[][] masks;
+    private long[][] counters;
+    private long[] saturated;
+    private long tokenComparisons;
+
+    private BitParallelRunFinder(int[][] sequences, int minMatchLength, int alphabet) {
+        this.sequences = sequences;
+        this.minMatchLength = minMatchLength;
+        this.alphabet = alphabet;
+        this.counterBits = WORD_BITS - Long.numberOfLeadingZeros(minMatchLength);
+    }
+
+    /**
+     * Creates a finder for the provided sequences comparing them bit-parallel if they contain at most
+     * {@link #MAXIMUM_ALPHABET} distinct tokens and with the scalar {@link DiagonalRunFinder} otherwise.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the finder suited to the alphabet of the sequences
+     */
+    static RunFinder create(List<List<String>> sequences, int minMatchLength) {
+        TokenInterner interner = new TokenInterner();
+        int[][] interned = DiagonalRunFinder.intern(sequences, interner);
+        if (interner.size() > MAXIMUM_ALPHABET) {
+            return new DiagonalRunFinder(interned, minMatchLength, ScalarDiagonalKernel.INSTANCE,
+                    FORMAT_FALLBACK.formatted(interner.size(), MAXIMUM_ALPHABET, ScalarDiagonalKernel.INSTANCE.describe()));
+        }
+        return new BitParallelRunFinder(interned, minMatchLength, interner.size());
+    }
+
+    @Override
+    public List<TokenRun> find(int first, int second) {
+        int[] firstTokens = this.sequences[first];
+        int[] secondTokens = this.sequences[second];
+        if (this.maskedSequence != first) {
+            buildMasks(first);
+        }
+        for (long[] counter : this.counters) {
+            Arrays.fill(counter, 0L);
+        }
+        Arrays.fill(this.saturated, 0L);
+        List<TokenRun> runs = new ArrayList<>();
+        for (int row = 0; row <= secondTokens.length; row++) {
+            long[] mask = row < secondTokens.length ? this.masks[secondTokens[row]] : null;
+            advance(mask, firstTokens, secondTokens, row, runs);
+        }
+        this.tokenComparisons += (long) firstTokens.length * secondTokens.length;
+        runs.sort(TokenRun.ORDER);
+        return runs;
+    }
+
+    @Override
+    public long takeComparisons() {
+        long comparisons = this.tokenComparisons;
+        this.tokenComparisons = 0;
+        return comparisons;
+    }
+
+    @Override
+    public String decision() {
+        return FORMAT_DECISION.formatted(this.alphabet);
+    }
+
+    /**
+     * Builds the masks of the provided sequence and sizes the counters for it. Every array has one bit more
+     * than the sequence has positions, so a run ending at the last position is shifted into the extra bit
+     * instead of out of the array.
+     */
+    private void buildMasks(int sequence) {
+        int[] tokens = this.sequences[sequence];
+        int words = (tokens.length >> WORD_SHIFT) + 1;
+        this.masks = new long[this.alphabet][];
+        for (int position = 0; position < tokens.length; position++) {
+            if (this.masks[tokens[position]] == null) {
+                this.masks[tokens[position]] = new long[words];
+            }
+            this.masks[tokens[position]][position >> WORD_SHIFT] |= 1L << position;
+        }
+        this.counters = new long[this.counterBits][words];
+        this.saturated = new long[words];
+        this.maskedSequence = sequence;
+    }
+
+    /**
+     * Moves the counters and saturation bits from the previous row to the provided row and reports the runs
+     * that ended in the previous row. The words are processed from the highest to the lowest, so the
+     * previous row can be overwritten in place while the shift still reads the unmodified lower word.
+     *
+     * @param mask the positions of the first sequence matching the token of the row, or {@code null} if
+     *             there are none or the row lies behind the end of the second sequence
+     */
+    private void advance(long[] mask, int[] firstTokens, int[] secondTokens, int row, List<TokenRun> runs) {
+        for (int word = this.saturated.length - 1; word >= 0; word--) {
+            long matches = mask == null ? 0L : mask[word];
+            long previousSaturated = shift(this.saturated, word);
+            long ended = previousSaturated & ~matches;
+            while (ended != 0L) {
+                int bit = Long.numberOfTrailingZeros(ended);
+                addRun(firstTokens, secondTokens, (word << WORD_SHIFT) + bit - 1, row - 1, runs);
+                ended &= ended - 1;
+            }
+            long carry = matches & ~previousSaturated;
+            long reached = carry;
+            for (int index = 0; index < this.counterBits; index++) {
+                long previous = shift(this.counters[index], word);
+                long incremented = previous ^ carry;
+                carry &= previous;
+                reached &= (this.minMatchLength >>> index & 1) == 0 ? ~incremented : incremented;
+                this.counters[index][word] = incremented & matches & ~previousSaturated;
+            }
+            this.saturated[word] = (previousSaturated & matches) | reached;
+        }
+    }
+
+    /**
+     * Adds the run ending at the provided positions, which is known to have at least the minimum match length.
+     */
+    private void addRun(int[] firstTokens, int[] secondTokens, int firstEnd, int secondEnd, List<TokenRun> runs) {
+        int length = this.minMatchLength;
+        while (firstEnd - length >= 0 && secondEnd - length >= 0
+                && firstTokens[firstEnd - length] == secondTokens[secondEnd - length]) {
+            length++;
+        }
+        runs.add(new TokenRun(firstEnd - length + 1, secondEnd - length + 1, length));
+    }
+
+    /**
+     * Returns the provided word of the array shifted by one position, i.e. one step along the diagonal.
+     */
+    private static long shift(long[] bits, int word) {
+        long carried = word == 0 ? 0L : bits[word - 1] >>> HIGHEST_BIT;
+        return bits[word] << 1 | carried;
+    }
+}
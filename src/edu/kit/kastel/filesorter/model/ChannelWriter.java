@@ -0,0 +1,153 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes primitive values and strings to a file through a fixed-size direct buffer. The writer never
+ * holds more than one buffer of pending output, so arbitrarily large outputs are written with
+ * constant memory. All values are written in little-endian byte order.
+ *
+ * @author ugsrv
+ */
+final class ChannelWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long flushedBytes;
+
+    /**
+     * Opens a writer for the provided file, replacing its previous content.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file cannot be opened
+     */
+    ChannelWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Returns the number of bytes written so far, including buffered ones.
+     *
+     * @return the current write position
+     */
+    long position() {
+        return this.flushedBytes + this.buffer.position();
+    }
+
+    void writeByte(int value) throws IOException {
+        ensureCapacity(Byte.BYTES);
+        this.buffer.put((byte) value);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensureCapacity(Integer.BYTES);
+        this.buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensureCapacity(Long.BYTES);
+        this.buffer.putLong(value);
+    }
+
+    /**
+     * Writes the provided bytes without any length information.
+     *
+     * @param bytes the bytes to write
+     * @throws IOException if writing fails
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes a range of the provided bytes without any length information.
+     *
+     * @param bytes the array containing the bytes to write
+     * @param offset the index of the first byte to write
+     * @param length the number of bytes to write
+     * @throws IOException if writing fails
+     */
+    void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            if (!this.buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(this.buffer.remaining(), end - position);
+            this.buffer.put(bytes, position, chunk);
+            position += chunk;
+        }
+    }
+
+    /**
+     * Writes the provided string as its UTF-8 byte length followed by the UTF-8 bytes.
+     *
+     * @param value the string to write
+     * @throws IOException if writing fails
+     */
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes zero bytes until the write position is a multiple of the provided alignment.
+     *
+     * @param alignment the alignment in bytes
+     * @throws IOException if writing fails
+     */
+    void align(int alignment) throws IOException {
+        while (position() % alignment != 0) {
+            writeByte(0);
+        }
+    }
+
+    /**
+     * Overwrites a previously written long value at the provided absolute position.
+     *
+     * @param position the absolute position of the value
+     * @param value the new value
+     * @throws IOException if writing fails
+     */
+    void patchLong(long position, long value) throws IOException {
+        flush();
+        ByteBuffer patch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value).flip();
+        while (patch.hasRemaining()) {
+            this.channel.write(patch, position + patch.position());
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.flushedBytes += this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores the content of a text as a sequence of independently deflated blocks of UTF-16 code units.
+ * Compressing and decoding a block at a time bounds the temporary buffers by the block size rather than
+ * the length of the text. Nothing decoded is kept; every call of {@link #content()} inflates the blocks
+ * again.
+ *
+ * @author ugsrv
+ */
+final class CompressedText implements TextStorage {
+
+    private static final int BLOCK_CHARS = 1 << 15;
+    private static final int FIELD_BYTES = MemoryFootprint.REFERENCE_BYTES + Integer.BYTES;
+    private static final String ERROR_CORRUPT_BLOCK = "corrupt compressed block %d";
+
+    private final byte[][] blocks;
+    private final int length;
+
+    private CompressedText(byte[][] blocks, int length) {
+        this.blocks = blocks;
+        this.length = length;
+    }
+
+    /**
+     * Compresses the provided text.
+     *
+     * @param content the text to compress
+     * @return the compressed text
+     */
+    static CompressedText compress(String content) {
+        int blockCount = (content.length() + BLOCK_CHARS - 1) / BLOCK_CHARS;
+        byte[][] blocks = new byte[blockCount][];
+        Deflater deflater = new Deflater();
+        try {
+            for (int block = 0; block < blockCount; block++) {
+                int start = block * BLOCK_CHARS;
+                String part = content.substring(start, Math.min(content.length(), start + BLOCK_CHARS));
+                ByteBuffer units = ByteBuffer.allocate(part.length() * Character.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                units.asCharBuffer().put(part);
+                deflater.reset();
+                deflater.setInput(units.array());
+                deflater.finish();
+                blocks[block] = drain(deflater);
+            }
+        } finally {
+            deflater.end();
+        }
+        return new CompressedText(blocks, content.length());
+    }
+
+    private static byte[] drain(Deflater deflater) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] chunk = new byte[BLOCK_CHARS];
+        while (!deflater.finished()) {
+            output.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public String content() {
+        StringBuilder builder = new StringBuilder(this.length);
+        for (int block = 0; block < this.blocks.length; block++) {
+            builder.append(inflate(block));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public long footprint() {
+        long total = MemoryFootprint.ofObject(FIELD_BYTES)
+                + MemoryFootprint.ofArray((long) this.blocks.length * MemoryFootprint.REFERENCE_BYTES);
+        for (byte[] block : this.blocks) {
+            total += MemoryFootprint.ofArray(block.length);
+        }
+        return total;
+    }
+
+    @Override
+    public StorageMode mode() {
+        return StorageMode.COMPRESSED;
+    }
+
+    private String inflate(int index) {
+        int blockLength = Math.min(BLOCK_CHARS, this.length - index * BLOCK_CHARS);
+        byte[] units = new byte[blockLength * Character.BYTES];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(this.blocks[index]);
+            int inflated = 0;
+            while (inflated < units.length && !inflater.finished()) {
+                inflated += inflater.inflate(units, inflated, units.length - inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(ERROR_CORRUPT_BLOCK.formatted(index), e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(units).order(ByteOrder.LITTLE_ENDIAN).asCharBuffer().toString();
+    }
+}
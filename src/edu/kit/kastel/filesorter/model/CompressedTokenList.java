@@ -0,0 +1,172 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An immutable token sequence stored as variable-length encoded identifiers into a dictionary that is
+ * shared by all sequences of an analysis. Identifiers are assigned by descending token frequency, so
+ * the most frequent tokens are encoded in a single byte. Every {@value #CHECKPOINT_INTERVAL}th token
+ * position is recorded as a checkpoint, which bounds the decoding work of a random access.
+ *
+ * @author ugsrv
+ */
+final class CompressedTokenList extends AbstractList<String> implements RandomAccess {
+
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = 0x7F;
+    private static final int CONTINUATION_BIT = 0x80;
+    private static final int FIELD_BYTES = 4 * MemoryFootprint.REFERENCE_BYTES;
+
+    private final String[] dictionary;
+    private final byte[] encoded;
+    private final int[] checkpoints;
+    private final int size;
+
+    private CompressedTokenList(String[] dictionary, byte[] encoded, int[] checkpoints, int size) {
+        this.dictionary = dictionary;
+        this.encoded = encoded;
+        this.checkpoints = checkpoints;
+        this.size = size;
+    }
+
+    /**
+     * Compresses the provided token sequences using a dictionary shared by all of them.
+     *
+     * @param tokenizedTexts the token sequences keyed by the identifiers of their texts
+     * @return the compressed sequences in the same order together with their estimated footprint
+     */
+    static Compressed compressAll(Map<String, List<String>> tokenizedTexts) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (List<String> tokens : tokenizedTexts.values()) {
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        List<String> ranked = new ArrayList<>(frequencies.keySet());
+        ranked.sort(Comparator.comparing((String token) -> frequencies.get(token)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        Map<String, Integer> identifiers = new HashMap<>();
+        for (String token : ranked) {
+            identifiers.put(token, identifiers.size());
+        }
+        String[] dictionary = ranked.toArray(String[]::new);
+
+        long dictionaryFootprint = MemoryFootprint.ofArray((long) dictionary.length * MemoryFootprint.REFERENCE_BYTES);
+        for (String token : dictionary) {
+            dictionaryFootprint += MemoryFootprint.ofString(token);
+        }
+        Map<String, List<String>> compressed = new LinkedHashMap<>();
+        Map<String, Long> footprints = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : tokenizedTexts.entrySet()) {
+            CompressedTokenList list = encode(entry.getValue(), identifiers, dictionary);
+            footprints.put(entry.getKey(), list.footprint());
+            compressed.put(entry.getKey(), list);
+        }
+        return new Compressed(compressed, new TokenFootprint(footprints, dictionaryFootprint));
+    }
+
+    private static CompressedTokenList encode(List<String> tokens, Map<String, Integer> identifiers, String[] dictionary) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(tokens.size());
+        int[] checkpoints = new int[(tokens.size() + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL];
+        int index = 0;
+        for (String token : tokens) {
+            if (index % CHECKPOINT_INTERVAL == 0) {
+                checkpoints[index / CHECKPOINT_INTERVAL] = output.size();
+            }
+            int value = identifiers.get(token);
+            while ((value & ~PAYLOAD_MASK) != 0) {
+                output.write((value & PAYLOAD_MASK) | CONTINUATION_BIT);
+                value >>>= PAYLOAD_BITS;
+            }
+            output.write(value);
+            index++;
+        }
+        return new CompressedTokenList(dictionary, output.toByteArray(), checkpoints, tokens.size());
+    }
+
+    private long footprint() {
+        return MemoryFootprint.ofObject(FIELD_BYTES) + MemoryFootprint.ofArray(this.encoded.length)
+                + MemoryFootprint.ofArray((long) this.checkpoints.length * Integer.BYTES);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Decoder decoder = new Decoder(this.checkpoints[index / CHECKPOINT_INTERVAL]);
+        for (int skipped = index % CHECKPOINT_INTERVAL; skipped > 0; skipped--) {
+            decoder.next();
+        }
+        return this.dictionary[decoder.next()];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        Decoder decoder = new Decoder(0);
+        return new Iterator<>() {
+            private int remaining = CompressedTokenList.this.size;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0;
+            }
+
+            @Override
+            public String next() {
+                if (this.remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                this.remaining--;
+                return CompressedTokenList.this.dictionary[decoder.next()];
+            }
+        };
+    }
+
+    private final class Decoder {
+        private int position;
+
+        Decoder(int position) {
+            this.position = position;
+        }
+
+        private int next() {
+            int value = 0;
+            int shift = 0;
+            int current;
+            do {
+                current = CompressedTokenList.this.encoded[this.position++];
+                value |= (current & PAYLOAD_MASK) << shift;
+                shift += PAYLOAD_BITS;
+            } while ((current & CONTINUATION_BIT) != 0);
+            return value;
+        }
+    }
+
+    /**
+     * Token sequences compressed with a shared dictionary.
+     *
+     * @param tokenizedTexts the compressed sequences keyed by the identifiers of their texts
+     * @param footprint the estimated footprint of each sequence and of the shared dictionary
+     *
+     * @author ugsrv
+     */
+    record Compressed(Map<String, List<String>> tokenizedTexts, TokenFootprint footprint) {
+    }
+}
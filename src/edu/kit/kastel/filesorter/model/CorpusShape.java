@@ -0,0 +1,76 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The properties of a tokenized corpus that determine the cost of the {@link MatchEngine engines}.
+ *
+ * @param texts the number of texts
+ * @param tokens the total number of tokens of all texts
+ * @param cells the number of token pairs of all compared pairs of texts, i.e. the number of cells the
+ *              exact engine visits
+ * @param vocabulary the number of distinct tokens
+ * @param collisionProbability the probability that two tokens drawn at random from the corpus are equal
+ * @param minMatchLength the minimum length of a match measured in tokens
+ *
+ * @author ugsrv
+ */
+public record CorpusShape(int texts, long tokens, double cells, int vocabulary, double collisionProbability,
+        int minMatchLength) {
+
+    /**
+     * Determines the shape of the provided token sequences in a single pass over their tokens, assuming that
+     * all pairs of different texts are compared.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the shape of the corpus
+     */
+    public static CorpusShape of(List<List<String>> sequences, int minMatchLength) {
+        return of(sequences, minMatchLength, new PairFilter(Collections.nCopies(sequences.size(), ""),
+                new PairSelection(PairScope.ALL, Map.of())));
+    }
+
+    /**
+     * Determines the shape of the provided token sequences in a single pass over their tokens, counting the
+     * cells of the selected pairs only.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param filter the filter selecting the compared pairs
+     * @return the shape of the corpus
+     */
+    static CorpusShape of(List<List<String>> sequences, int minMatchLength, PairFilter filter) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        long tokens = 0;
+        long[] sizes = new long[sequences.size()];
+        for (int text = 0; text < sizes.length; text++) {
+            List<String> sequence = sequences.get(text);
+            tokens += sequence.size();
+            sizes[text] = sequence.size();
+            for (String token : sequence) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        double collisions = 0;
+        for (int frequency : frequencies.values()) {
+            collisions += (double) frequency * frequency;
+        }
+        double squaredTokens = (double) tokens * tokens;
+        return new CorpusShape(sequences.size(), tokens, filter.weightedPairs(sizes), frequencies.size(),
+                tokens == 0 ? 0 : collisions / squaredTokens, minMatchLength);
+    }
+
+    /**
+     * Estimates the number of position pairs of different texts starting equal k-grams, assuming that the
+     * tokens are drawn independently with their frequencies in the corpus. Shared passages add to this.
+     *
+     * @return the expected number of k-gram seeds
+     */
+    public double expectedSeeds() {
+        return this.cells * Math.pow(this.collisionProbability, this.minMatchLength);
+    }
+}
@@ -0,0 +1,42 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Compares a segment of a diagonal of two sequences of interned tokens for {@link DiagonalRunFinder}. The
+ * diagonal starts at the provided positions and extends over {@code length} position pairs, which must lie
+ * within both sequences.
+ *
+ * @author ugsrv
+ */
+interface DiagonalKernel {
+
+    /**
+     * Finds the first position pair of the segment whose tokens are equal.
+     *
+     * @param first the tokens of the first sequence
+     * @param firstStart the start of the segment in the first sequence
+     * @param second the tokens of the second sequence
+     * @param secondStart the start of the segment in the second sequence
+     * @param length the number of position pairs of the segment
+     * @return the offset of the first equal pair or {@code length} if there is none
+     */
+    int nextEqual(int[] first, int firstStart, int[] second, int secondStart, int length);
+
+    /**
+     * Finds the first position pair of the segment whose tokens differ.
+     *
+     * @param first the tokens of the first sequence
+     * @param firstStart the start of the segment in the first sequence
+     * @param second the tokens of the second sequence
+     * @param secondStart the start of the segment in the second sequence
+     * @param length the number of position pairs of the segment
+     * @return the offset of the first differing pair or {@code length} if there is none
+     */
+    int nextDifferent(int[] first, int firstStart, int[] second, int secondStart, int length);
+
+    /**
+     * Returns a short description of the kernel for the analysis message.
+     *
+     * @return the description of the kernel
+     */
+    String describe();
+}
@@ -0,0 +1,157 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds every maximal run of at least the minimum match length, like {@link NestedRunFinder}, but walks
+ * each diagonal of the grid of position pairs exactly once. The tokens are interned once, so the walk
+ * compares two integer arrays sequentially: a {@link DiagonalKernel} alternately skips to the next equal
+ * pair of tokens, which starts a run, and to the next differing pair, which terminates it. Every cell is
+ * visited once, so a pair of sequences of n and m tokens takes exactly n·m comparisons.
+ *
+ * @author ugsrv
+ */
+final class DiagonalRunFinder implements RunFinder {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "edu.kit.kastel.filesorter.model.VectorDiagonalKernel";
+    private static final String FORMAT_FALLBACK = "%s not available, %s";
+
+    private final int[][] sequences;
+    private final int minMatchLength;
+    private final DiagonalKernel kernel;
+    private final String decision;
+    private long tokenComparisons;
+
+    /**
+     * Creates a finder for the provided sequences, interning all of their tokens.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param kernel the kernel comparing the segments of the diagonals
+     * @param decision the description of the choice of the kernel or {@code null} if there was no choice
+     */
+    DiagonalRunFinder(List<List<String>> sequences, int minMatchLength, DiagonalKernel kernel, String decision) {
+        this(intern(sequences, new TokenInterner()), minMatchLength, kernel, decision);
+    }
+
+    /**
+     * Creates a finder for the provided sequences of interned tokens.
+     *
+     * @param sequences the interned token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param kernel the kernel comparing the segments of the diagonals
+     * @param decision the description of the choice of the kernel or {@code null} if there was no choice
+     */
+    DiagonalRunFinder(int[][] sequences, int minMatchLength, DiagonalKernel kernel, String decision) {
+        this.sequences = sequences;
+        this.minMatchLength = minMatchLength;
+        this.kernel = kernel;
+        this.decision = decision;
+    }
+
+    /**
+     * Creates a finder for the provided sequences comparing them with the kernel using the Vector API if it
+     * has been built with the profile {@code vector} and the JVM resolved the module of the Vector API, and
+     * with the {@link ScalarDiagonalKernel} otherwise. The kernel is loaded by name, as the default build
+     * does not contain it.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the finder using the fastest available kernel
+     */
+    static DiagonalRunFinder vectorized(List<List<String>> sequences, int minMatchLength) {
+        DiagonalKernel kernel = null;
+        String missing = VECTOR_MODULE;
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                kernel = Class.forName(VECTOR_KERNEL).asSubclass(DiagonalKernel.class).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                missing = VECTOR_KERNEL;
+            }
+        }
+        if (kernel == null) {
+            return new DiagonalRunFinder(sequences, minMatchLength, ScalarDiagonalKernel.INSTANCE,
+                    FORMAT_FALLBACK.formatted(missing, ScalarDiagonalKernel.INSTANCE.describe()));
+        }
+        return new DiagonalRunFinder(sequences, minMatchLength, kernel, kernel.describe());
+    }
+
+    /**
+     * Interns every token of the provided sequences with the provided interner.
+     *
+     * @param sequences the token sequences of the texts
+     * @param interner the interner assigning the identifiers
+     * @return the identifiers of the tokens of every sequence
+     */
+    static int[][] intern(List<List<String>> sequences, TokenInterner interner) {
+        int[][] result = new int[sequences.size()][];
+        for (int index = 0; index < sequences.size(); index++) {
+            result[index] = interner.intern(sequences.get(index));
+        }
+        return result;
+    }
+
+    @Override
+    public List<TokenRun> find(int first, int second) {
+        int[] firstTokens = this.sequences[first];
+        int[] secondTokens = this.sequences[second];
+        List<TokenRun> runs = new ArrayList<>();
+        if (first == second) {
+            if (firstTokens.length > 0 && firstTokens.length >= this.minMatchLength) {
+                runs.add(new TokenRun(0, 0, firstTokens.length));
+            }
+            for (int offset = 1; offset < firstTokens.length; offset++) {
+                walkDiagonal(firstTokens, firstTokens, 0, offset, runs, true);
+            }
+        } else {
+            for (int firstStart = firstTokens.length - 1; firstStart > 0; firstStart--) {
+                walkDiagonal(firstTokens, secondTokens, firstStart, 0, runs, false);
+            }
+            for (int secondStart = 0; secondStart < secondTokens.length; secondStart++) {
+                walkDiagonal(firstTokens, secondTokens, 0, secondStart, runs, false);
+            }
+        }
+        runs.sort(TokenRun.ORDER);
+        return runs;
+    }
+
+    @Override
+    public long takeComparisons() {
+        long comparisons = this.tokenComparisons;
+        this.tokenComparisons = 0;
+        return comparisons;
+    }
+
+    @Override
+    public String decision() {
+        return this.decision;
+    }
+
+    /**
+     * Walks the diagonal starting at the provided positions and adds its maximal runs. If {@code mirrored}
+     * is set, the mirrored run below the main diagonal is added as well.
+     */
+    private void walkDiagonal(int[] firstTokens, int[] secondTokens, int firstStart, int secondStart,
+            List<TokenRun> runs, boolean mirrored) {
+        int length = Math.min(firstTokens.length - firstStart, secondTokens.length - secondStart);
+        int step = this.kernel.nextEqual(firstTokens, firstStart, secondTokens, secondStart, length);
+        while (step < length) {
+            int firstIndex = firstStart + step;
+            int secondIndex = secondStart + step;
+            int run = this.kernel.nextDifferent(firstTokens, firstIndex, secondTokens, secondIndex,
+                    length - step);
+            if (run >= this.minMatchLength) {
+                runs.add(new TokenRun(firstIndex, secondIndex, run));
+                if (mirrored) {
+                    runs.add(new TokenRun(secondIndex, firstIndex, run));
+                }
+            }
+            step += run;
+            step += this.kernel.nextEqual(firstTokens, firstStart + step, secondTokens, secondStart + step,
+                    length - step);
+        }
+        this.tokenComparisons += length;
+    }
+}
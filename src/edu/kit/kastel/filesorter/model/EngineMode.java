@@ -0,0 +1,69 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the algorithms an analysis can find the matches of a pair of texts with.
+ *
+ * @author ugsrv
+ */
+public enum EngineMode {
+    /**
+     * Every token of the first text is compared with every token of the second text, so every maximal
+     * run of at least the minimum match length is found. Each diagonal of the grid of position pairs is
+     * walked once, see {@link DiagonalRunFinder}.
+     */
+    EXACT,
+
+    /**
+     * Finds the same runs as {@link #EXACT} by extending a run from every pair of positions, see
+     * {@link NestedRunFinder}. This is the reference the other engines are verified against.
+     */
+    NESTED,
+
+    /**
+     * Finds the same runs as {@link #EXACT} but compares the diagonals with the Vector API several tokens per
+     * instruction. Falls back to the scalar comparison unless the project has been built with the profile
+     * {@code vector} and the JVM has been started with {@code --add-modules jdk.incubator.vector}.
+     */
+    VECTOR,
+
+    /**
+     * Finds the same runs as {@link #EXACT} but compares 64 position pairs per word operation, see
+     * {@link BitParallelRunFinder}. Suited to {@link TokenizationStrategy#CHAR}; falls back to the scalar
+     * comparison if the texts contain too many distinct tokens.
+     */
+    BITPARALLEL,
+
+    /**
+     * Only runs containing a k-gram selected as fingerprint of both texts by winnowing are found, see
+     * {@link WinnowingIndex}. Every run is found whose length is at least the minimum match length plus the
+     * window size minus one; shorter runs may be missed.
+     */
+    WINNOWING,
+
+    /**
+     * The texts are covered with non-overlapping tiles by {@link GreedyStringTiling}. Every token belongs to
+     * at most one match, so repeated passages are matched once and the similarities never exceed 100%.
+     */
+    TILING;
+
+    /**
+     * Finds the engine mode matching the provided name. Parsing is case insensitive and ignores surrounding
+     * whitespace.
+     *
+     * @param value the string representation of the engine mode
+     * @return the matching engine mode or {@code null} if no engine mode matches the provided name
+     */
+    public static EngineMode findByName(String value) {
+        Objects.requireNonNull(value);
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (EngineMode mode : values()) {
+            if (mode.name().equals(normalized)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The built-in {@link MatchEngine engines}, selected by their algorithm together with its parameters.
+ *
+ * @param mode the algorithm
+ * @param window the number of consecutive k-grams a fingerprint is selected from if the mode is
+ *               {@link EngineMode#WINNOWING}, otherwise {@code 0}
+ *
+ * @author ugsrv
+ */
+public record EngineSelection(EngineMode mode, int window) implements MatchEngine {
+
+    /**
+     * The exact algorithm comparing every token of a pair of texts.
+     */
+    public static final EngineSelection EXACT = new EngineSelection(EngineMode.EXACT, 0);
+
+    /**
+     * The reference algorithm extending a run from every pair of positions of a pair of texts.
+     */
+    public static final EngineSelection NESTED = new EngineSelection(EngineMode.NESTED, 0);
+
+    /**
+     * The exact algorithm comparing the diagonals of a pair of texts with the Vector API if it is available.
+     */
+    public static final EngineSelection VECTOR = new EngineSelection(EngineMode.VECTOR, 0);
+
+    /**
+     * The exact algorithm comparing 64 position pairs of a pair of texts at once if the alphabet is small.
+     */
+    public static final EngineSelection BITPARALLEL = new EngineSelection(EngineMode.BITPARALLEL, 0);
+
+    /**
+     * Greedy String Tiling covering a pair of texts with non-overlapping tiles.
+     */
+    public static final EngineSelection TILING = new EngineSelection(EngineMode.TILING, 0);
+
+    /**
+     * The window size of winnowing if none is specified explicitly.
+     */
+    public static final int DEFAULT_WINDOW = 4;
+
+    private static final String ERROR_WINDOW = "window must be positive exactly for the WINNOWING mode.";
+
+    /**
+     * Constructs a new engine selection.
+     *
+     * @param mode the algorithm
+     * @param window the number of consecutive k-grams a fingerprint is selected from if the mode is
+     *               {@link EngineMode#WINNOWING}, otherwise {@code 0}
+     * @throws IllegalArgumentException if the window is not positive for {@link EngineMode#WINNOWING} or
+     *                                  not zero for another mode
+     */
+    public EngineSelection {
+        Objects.requireNonNull(mode);
+        if ((mode == EngineMode.WINNOWING) != (window > 0) || window < 0) {
+            throw new IllegalArgumentException(ERROR_WINDOW);
+        }
+    }
+
+    /**
+     * Returns the selection of winnowing with the provided window size.
+     *
+     * @param window the number of consecutive k-grams a fingerprint is selected from
+     * @return the winnowing selection
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public static EngineSelection winnowing(int window) {
+        return new EngineSelection(EngineMode.WINNOWING, window);
+    }
+
+    @Override
+    public RunFinder prepare(List<List<String>> sequences, int minMatchLength) {
+        return switch (this.mode) {
+            case EXACT -> new DiagonalRunFinder(sequences, minMatchLength, ScalarDiagonalKernel.INSTANCE, null);
+            case VECTOR -> DiagonalRunFinder.vectorized(sequences, minMatchLength);
+            case BITPARALLEL -> BitParallelRunFinder.create(sequences, minMatchLength);
+            case NESTED -> new NestedRunFinder(sequences, minMatchLength);
+            case WINNOWING -> new WinnowingIndex(sequences, minMatchLength, this.window);
+            case TILING -> new TilingRunFinder(sequences, minMatchLength);
+        };
+    }
+
+    /**
+     * Returns the length of the shortest run this engine is guaranteed to find.
+     *
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the guaranteed match length in tokens
+     */
+    public int guaranteedMatchLength(int minMatchLength) {
+        return this.mode == EngineMode.WINNOWING ? minMatchLength + this.window - 1 : minMatchLength;
+    }
+}
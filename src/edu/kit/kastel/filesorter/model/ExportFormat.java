@@ -0,0 +1,111 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the line-based text formats supported by {@link TableWriter}.
+ *
+ * @author ugsrv
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header line. Strings are quoted only if they contain a separator,
+     * a quote or a line break.
+     */
+    CSV,
+
+    /**
+     * One JSON object per line, using the column names as keys.
+     */
+    JSONL;
+
+    private static final String LINE_BREAK = "\n";
+    private static final char QUOTE = '"';
+    private static final char SEPARATOR = ',';
+    private static final int FIRST_PRINTABLE_CHARACTER = 0x20;
+    private static final String FORMAT_UNICODE_ESCAPE = "\\u%04x";
+
+    /**
+     * Finds the export format matching the provided name. Parsing is case insensitive and ignores
+     * surrounding whitespace.
+     *
+     * @param value the string representation of the export format
+     * @return the matching export format or {@code null} if no export format matches the provided name
+     */
+    public static ExportFormat findByName(String value) {
+        Objects.requireNonNull(value);
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.name().equals(normalized)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    byte[] header(List<String> columns) {
+        return switch (this) {
+            case CSV -> (String.join(String.valueOf(SEPARATOR), columns) + LINE_BREAK).getBytes(StandardCharsets.UTF_8);
+            case JSONL -> new byte[0];
+        };
+    }
+
+    byte[] fieldPrefix(List<String> columns, int column) {
+        String separator = column == 0 ? "" : String.valueOf(SEPARATOR);
+        String prefix = switch (this) {
+            case CSV -> separator;
+            case JSONL -> (column == 0 ? "{" : separator) + escape(columns.get(column)) + ":";
+        };
+        return prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] rowEnd() {
+        return switch (this) {
+            case CSV -> LINE_BREAK.getBytes(StandardCharsets.UTF_8);
+            case JSONL -> ("}" + LINE_BREAK).getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    String escape(String value) {
+        return switch (this) {
+            case CSV -> escapeCsv(value);
+            case JSONL -> escapeJson(value);
+        };
+    }
+
+    private static String escapeCsv(String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char character = value.charAt(i);
+            needsQuotes = character == SEPARATOR || character == QUOTE || character == '\n' || character == '\r';
+        }
+        if (!needsQuotes) {
+            return value;
+        }
+        return QUOTE + value.replace(String.valueOf(QUOTE), String.valueOf(QUOTE) + QUOTE) + QUOTE;
+    }
+
+    private static String escapeJson(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case QUOTE, '\\' -> builder.append('\\').append(character);
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (character < FIRST_PRINTABLE_CHARACTER) {
+                        builder.append(FORMAT_UNICODE_ESCAPE.formatted((int) character));
+                    } else {
+                        builder.append(character);
+                    }
+                }
+            }
+        }
+        return builder.append(QUOTE).toString();
+    }
+}
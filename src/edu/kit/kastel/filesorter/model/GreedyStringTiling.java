@@ -0,0 +1,206 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Covers two token sequences with non-overlapping tiles using Running-Karp-Rabin Greedy String Tiling as
+ * described by Wise and used by JPlag.
+ *
+ * <p>Every iteration searches the common substrings of at least a search length that contain no token
+ * already covered by a tile. The substrings of the second sequence are found through Karp-Rabin hashes of
+ * all uncovered windows of the search length, so only windows with equal hashes are compared token by
+ * token. The substrings found are marked as tiles from the longest to the shortest, skipping those
+ * overlapping a tile marked before. The search length starts at {@value #INITIAL_SEARCH_LENGTH} tokens,
+ * jumps to the longest substring if that is more than twice as long and is halved down to the minimum
+ * match length otherwise. The search stops once no uncovered common substring of the minimum match length
+ * is left; substrings skipped for overlapping a tile are searched again until then.</p>
+ *
+ * <p>Every token of either sequence belongs to at most one tile, so the total length of the tiles never
+ * exceeds the length of the shorter sequence.</p>
+ *
+ * @author ugsrv
+ */
+final class GreedyStringTiling {
+
+    private static final int INITIAL_SEARCH_LENGTH = 20;
+    private static final int HASH_MULTIPLIER = 0x01000193;
+    private static final int POSITION_BITS = 32;
+    private static final long POSITION_MASK = 0xFFFFFFFFL;
+    private static final Comparator<TokenRun> LONGEST_FIRST = Comparator.comparingInt(TokenRun::length).reversed()
+            .thenComparing(TokenRun.ORDER);
+
+    private final List<String> firstTokens;
+    private final List<String> secondTokens;
+    private final int minMatchLength;
+    private final boolean[] firstMarked;
+    private final boolean[] secondMarked;
+    private final List<TokenRun> candidates = new ArrayList<>();
+    private long tokenComparisons;
+
+    /**
+     * Creates a tiling of the provided sequences.
+     *
+     * @param firstTokens the first token sequence
+     * @param secondTokens the second token sequence
+     * @param minMatchLength the minimum length of a tile measured in tokens
+     */
+    GreedyStringTiling(List<String> firstTokens, List<String> secondTokens, int minMatchLength) {
+        this.firstTokens = firstTokens;
+        this.secondTokens = secondTokens;
+        this.minMatchLength = minMatchLength;
+        this.firstMarked = new boolean[firstTokens.size()];
+        this.secondMarked = new boolean[secondTokens.size()];
+    }
+
+    /**
+     * Computes the tiles. A sequence tiled with itself is covered by a single tile.
+     *
+     * @return the tiles of at least the minimum match length ordered by their start indices
+     */
+    List<TokenRun> tiles() {
+        List<TokenRun> tiles = new ArrayList<>();
+        if (this.firstTokens == this.secondTokens) {
+            if (!this.firstTokens.isEmpty() && this.firstTokens.size() >= this.minMatchLength) {
+                tiles.add(new TokenRun(0, 0, this.firstTokens.size()));
+            }
+            return tiles;
+        }
+        int searchLength = Math.max(INITIAL_SEARCH_LENGTH, this.minMatchLength);
+        boolean done = false;
+        while (!done) {
+            int longest = scan(searchLength);
+            if (longest > 2 * searchLength) {
+                searchLength = longest;
+                continue;
+            }
+            mark(tiles);
+            if (searchLength > 2 * this.minMatchLength) {
+                searchLength /= 2;
+            } else if (searchLength > this.minMatchLength) {
+                searchLength = this.minMatchLength;
+            } else {
+                done = longest == 0;
+            }
+        }
+        tiles.sort(TokenRun.ORDER);
+        return tiles;
+    }
+
+    /**
+     * Returns the number of token comparisons made while computing the tiles.
+     *
+     * @return the number of token comparisons
+     */
+    long tokenComparisons() {
+        return this.tokenComparisons;
+    }
+
+    /**
+     * Collects all uncovered common substrings of at least the search length as candidates.
+     */
+    private int scan(int searchLength) {
+        this.candidates.clear();
+        long[] secondWindows = windows(this.secondTokens, this.secondMarked, searchLength);
+        Arrays.sort(secondWindows);
+        long[] firstWindows = windows(this.firstTokens, this.firstMarked, searchLength);
+        int longest = 0;
+        for (long window : firstWindows) {
+            long hash = window & ~POSITION_MASK;
+            int firstIndex = (int) (window & POSITION_MASK);
+            int candidate = lowerBound(secondWindows, hash);
+            for (; candidate < secondWindows.length && (secondWindows[candidate] & ~POSITION_MASK) == hash; candidate++) {
+                int secondIndex = (int) (secondWindows[candidate] & POSITION_MASK);
+                int length = extend(firstIndex, secondIndex);
+                if (length >= searchLength) {
+                    this.candidates.add(new TokenRun(firstIndex, secondIndex, length));
+                    longest = Math.max(longest, length);
+                }
+            }
+        }
+        return longest;
+    }
+
+    private int extend(int firstIndex, int secondIndex) {
+        int length = 0;
+        while (firstIndex + length < this.firstTokens.size() && secondIndex + length < this.secondTokens.size()
+                && !this.firstMarked[firstIndex + length] && !this.secondMarked[secondIndex + length]) {
+            this.tokenComparisons++;
+            if (!this.firstTokens.get(firstIndex + length).equals(this.secondTokens.get(secondIndex + length))) {
+                break;
+            }
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Marks the candidates as tiles from the longest to the shortest, skipping those overlapping a tile.
+     */
+    private void mark(List<TokenRun> tiles) {
+        this.candidates.sort(LONGEST_FIRST);
+        for (TokenRun candidate : this.candidates) {
+            if (isUncovered(candidate)) {
+                Arrays.fill(this.firstMarked, candidate.firstIndex(), candidate.firstIndex() + candidate.length(), true);
+                Arrays.fill(this.secondMarked, candidate.secondIndex(), candidate.secondIndex() + candidate.length(),
+                        true);
+                tiles.add(candidate);
+            }
+        }
+    }
+
+    private boolean isUncovered(TokenRun candidate) {
+        for (int offset = 0; offset < candidate.length(); offset++) {
+            if (this.firstMarked[candidate.firstIndex() + offset] || this.secondMarked[candidate.secondIndex() + offset]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the Karp-Rabin hash of every window of the provided length that contains no marked token.
+     * Every window is encoded with its hash in the upper and its start index in the lower half.
+     */
+    private static long[] windows(List<String> tokens, boolean[] marked, int length) {
+        int power = 1;
+        for (int i = 0; i < length; i++) {
+            power *= HASH_MULTIPLIER;
+        }
+        long[] windows = new long[Math.max(0, tokens.size() - length + 1)];
+        int count = 0;
+        int runStart = 0;
+        int hash = 0;
+        for (int index = 0; index < tokens.size(); index++) {
+            if (marked[index]) {
+                runStart = index + 1;
+                hash = 0;
+                continue;
+            }
+            hash = hash * HASH_MULTIPLIER + tokens.get(index).hashCode();
+            if (index - runStart >= length) {
+                hash -= power * tokens.get(index - length).hashCode();
+            }
+            if (index - runStart >= length - 1) {
+                windows[count++] = ((long) hash << POSITION_BITS) | (index - length + 1);
+            }
+        }
+        return Arrays.copyOf(windows, count);
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
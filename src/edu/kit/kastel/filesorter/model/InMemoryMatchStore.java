@@ -0,0 +1,85 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A match store keeping all matches on the heap. If the pairs have not been added in ascending order, the
+ * matches are sorted by pair when the store is finished.
+ *
+ * @author ugsrv
+ */
+final class InMemoryMatchStore implements MatchStore {
+
+    private final List<String> identifiers;
+    private final List<AnalysisMatch> matches = new ArrayList<>();
+    private long lastPair;
+    private boolean pairOrdered = true;
+
+    /**
+     * Creates a new store.
+     *
+     * @param identifiers the identifiers of the analyzed texts indexed by their text index
+     */
+    InMemoryMatchStore(List<String> identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    @Override
+    public void add(int firstText, int firstIndex, int secondText, int secondIndex, int length) {
+        long pair = pairKey(firstText, secondText);
+        this.pairOrdered &= pair >= this.lastPair;
+        this.lastPair = pair;
+        this.matches.add(new AnalysisMatch(this.identifiers.get(firstText), firstIndex,
+                this.identifiers.get(secondText), secondIndex, length));
+    }
+
+    @Override
+    public List<AnalysisMatch> finish() {
+        if (!this.pairOrdered) {
+            sortByPair(this.matches, this.identifiers);
+        }
+        return Collections.unmodifiableList(this.matches);
+    }
+
+    @Override
+    public long footprint() {
+        return MemoryFootprint.ofMatchList(this.matches.size());
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    /**
+     * Returns a key of the provided pair of texts that orders pairs by their first and then their second text.
+     *
+     * @param firstText the index of the first text
+     * @param secondText the index of the second text
+     * @return the key of the pair
+     */
+    static long pairKey(int firstText, int secondText) {
+        return ((long) firstText << Integer.SIZE) | secondText;
+    }
+
+    /**
+     * Sorts the provided matches by the index of their first and then their second text. The sort is stable,
+     * so the matches of a pair keep their order.
+     *
+     * @param matches the matches to sort
+     * @param identifiers the identifiers of the analyzed texts indexed by their text index
+     */
+    static void sortByPair(List<AnalysisMatch> matches, List<String> identifiers) {
+        Map<String, Integer> textIndices = new HashMap<>();
+        for (int index = 0; index < identifiers.size(); index++) {
+            textIndices.put(identifiers.get(index), index);
+        }
+        matches.sort(Comparator.comparingLong(match -> pairKey(textIndices.get(match.firstIdentifier()),
+                textIndices.get(match.secondIdentifier()))));
+    }
+}
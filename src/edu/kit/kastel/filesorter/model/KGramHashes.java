@@ -0,0 +1,70 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+
+/**
+ * Computes hash values of all k-grams of a token sequence using a rolling polynomial hash over integer
+ * codes of the tokens, so the cost is linear in the number of tokens regardless of k.
+ *
+ * @author ugsrv
+ */
+final class KGramHashes {
+
+    private static final long HASH_MULTIPLIER = 0x100000001B3L;
+    private static final long MIX_FIRST = 0xFF51AFD7ED558CCDL;
+    private static final long MIX_SECOND = 0xC4CEB9FE1A85EC53L;
+    private static final int MIX_SHIFT = 33;
+
+    private KGramHashes() {
+        // utility class
+    }
+
+    /**
+     * Computes the hash values of all k-grams of the provided tokens. Equal k-grams have equal hash values.
+     *
+     * @param tokens the token sequence
+     * @param length the number of tokens per k-gram
+     * @return the hash value of the k-gram starting at every index, empty if there are fewer tokens than
+     *         {@code length}
+     */
+    static long[] of(List<String> tokens, int length) {
+        return of(tokens.stream().mapToInt(String::hashCode).toArray(), length);
+    }
+
+    /**
+     * Computes the hash values of all k-grams of the provided token codes, e.g. hash codes of tokens or
+     * identifiers of interned tokens. Equal k-grams have equal hash values.
+     *
+     * @param codes the codes of the tokens of the sequence
+     * @param length the number of tokens per k-gram
+     * @return the hash value of the k-gram starting at every index, empty if there are fewer tokens than
+     *         {@code length}
+     */
+    static long[] of(int[] codes, int length) {
+        if (codes.length < length) {
+            return new long[0];
+        }
+        long power = 1;
+        for (int i = 0; i < length; i++) {
+            power *= HASH_MULTIPLIER;
+        }
+        long[] hashes = new long[codes.length - length + 1];
+        long hash = 0;
+        for (int index = 0; index < codes.length; index++) {
+            hash = hash * HASH_MULTIPLIER + codes[index];
+            if (index >= length) {
+                hash -= power * codes[index - length];
+            }
+            if (index >= length - 1) {
+                hashes[index - length + 1] = mix(hash);
+            }
+        }
+        return hashes;
+    }
+
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> MIX_SHIFT)) * MIX_FIRST;
+        mixed = (mixed ^ (mixed >>> MIX_SHIFT)) * MIX_SECOND;
+        return mixed ^ (mixed >>> MIX_SHIFT);
+    }
+}
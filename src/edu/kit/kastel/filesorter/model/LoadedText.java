@@ -0,0 +1,48 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.nio.file.Path;
+
+/**
+ * A text stored in the {@link SequenceMatcher} together with the source it has been loaded from.
+ *
+ * @param identifier the identifier the text is stored under
+ * @param path the path the text has been loaded from or {@code null} if it was provided directly
+ * @param storage the in-memory representation of the content of the text
+ * @param group the group the text is tagged with or {@code null} if it is untagged
+ *
+ * @author ugsrv
+ */
+record LoadedText(String identifier, Path path, TextStorage storage, String group) {
+
+    /**
+     * Returns the content of the text, decoding it if it is stored compressed.
+     *
+     * @return the content of the text
+     */
+    String content() {
+        return this.storage.content();
+    }
+
+    /**
+     * Returns this text stored in the provided mode.
+     *
+     * @param mode the storage mode to use
+     * @return this text if it is already stored in the mode, otherwise a converted copy
+     */
+    LoadedText withMode(StorageMode mode) {
+        if (this.storage.mode() == mode) {
+            return this;
+        }
+        return new LoadedText(this.identifier, this.path, mode.store(content()), this.group);
+    }
+
+    /**
+     * Returns this text tagged with the provided group.
+     *
+     * @param tag the group to tag the text with or {@code null} to remove its tag
+     * @return the tagged copy of this text
+     */
+    LoadedText withGroup(String tag) {
+        return new LoadedText(this.identifier, this.path, this.storage, tag);
+    }
+}
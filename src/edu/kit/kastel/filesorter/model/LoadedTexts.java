@@ -0,0 +1,144 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The texts loaded into a {@link SequenceMatcher} in insertion order, all stored in the same
+ * {@link StorageMode}. Every change of the stored contents increments a modification count, so data
+ * derived from the contents can tell whether it is outdated.
+ *
+ * @author ugsrv
+ */
+final class LoadedTexts {
+
+    private final Map<String, LoadedText> texts = new LinkedHashMap<>();
+    private StorageMode mode = StorageMode.RAW;
+    private long modifications;
+
+    /**
+     * Stores a text, replacing a text with the same identifier. The replacing text keeps the group of
+     * the replaced text.
+     *
+     * @param identifier the identifier to store the text under
+     * @param path the path the text has been loaded from or {@code null} if it was provided directly
+     * @param content the content of the text
+     * @return {@code true} if a text with the same identifier has been replaced
+     */
+    boolean store(String identifier, Path path, String content) {
+        LoadedText previous = this.texts.get(identifier);
+        this.modifications++;
+        this.texts.put(identifier, new LoadedText(identifier, path, this.mode.store(content),
+                previous == null ? null : previous.group()));
+        return previous != null;
+    }
+
+    /**
+     * Replaces all texts with the provided texts, converted to the current storage mode.
+     *
+     * @param replacement the texts to store
+     */
+    void replaceAll(Collection<LoadedText> replacement) {
+        this.texts.clear();
+        this.modifications++;
+        replacement.forEach(text -> this.texts.put(text.identifier(), text.withMode(this.mode)));
+    }
+
+    /**
+     * Returns the text stored under the provided identifier.
+     *
+     * @param identifier the identifier of the text
+     * @return the text or {@code null} if no text is stored under the identifier
+     */
+    LoadedText get(String identifier) {
+        return this.texts.get(identifier);
+    }
+
+    /**
+     * Returns the first of the provided identifiers no text is stored under.
+     *
+     * @param identifiers the identifiers to check
+     * @return the first unknown identifier or {@code null} if all identifiers are known
+     */
+    String findUnknown(List<String> identifiers) {
+        return identifiers.stream().filter(identifier -> !this.texts.containsKey(identifier)).findFirst().orElse(null);
+    }
+
+    /**
+     * Tags the texts stored under the provided identifiers with a group. Unknown identifiers are ignored.
+     *
+     * @param group the group to tag the texts with
+     * @param identifiers the identifiers of the texts to tag
+     */
+    void tag(String group, List<String> identifiers) {
+        identifiers.forEach(identifier -> this.texts.computeIfPresent(identifier, (key, text) -> text.withGroup(group)));
+    }
+
+    /**
+     * Returns all texts in insertion order.
+     *
+     * @return an unmodifiable view of the texts
+     */
+    Collection<LoadedText> values() {
+        return Collections.unmodifiableCollection(this.texts.values());
+    }
+
+    /**
+     * Returns the number of stored texts.
+     *
+     * @return the number of texts
+     */
+    int size() {
+        return this.texts.size();
+    }
+
+    /**
+     * Removes all texts.
+     */
+    void clear() {
+        this.texts.clear();
+        this.modifications++;
+    }
+
+    /**
+     * Returns how often texts have been stored, replaced or removed. Tagging texts and converting their
+     * storage mode leaves their contents unchanged and does not count.
+     *
+     * @return the modification count
+     */
+    long modifications() {
+        return this.modifications;
+    }
+
+    /**
+     * Returns the storage mode of the texts.
+     *
+     * @return the current storage mode
+     */
+    StorageMode mode() {
+        return this.mode;
+    }
+
+    /**
+     * Converts all texts to the provided storage mode. Texts stored afterwards use the same mode.
+     *
+     * @param target the storage mode to use
+     */
+    void convert(StorageMode target) {
+        this.mode = target;
+        this.texts.replaceAll((identifier, text) -> text.withMode(target));
+    }
+
+    /**
+     * Estimates the heap retained by the contents of all texts.
+     *
+     * @return the estimated footprint in bytes
+     */
+    long footprint() {
+        return this.texts.values().stream().mapToLong(text -> text.storage().footprint()).sum();
+    }
+}
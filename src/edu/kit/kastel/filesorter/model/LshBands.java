@@ -0,0 +1,95 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Locality-sensitive hashing of texts by their k-grams. The signature of a text is a one-permutation
+ * MinHash: the k-gram hashes are distributed to bins by their top bits and every bin keeps its smallest
+ * hash, so two bins are equal with a probability close to the Jaccard similarity of the k-gram sets. The
+ * bins are grouped into bands, and two texts are candidates if all bins of at least one band are equal.
+ * With {@value #BANDS} bands of {@value #ROWS} bins, a pair sharing a tenth of its k-grams becomes a
+ * candidate with a probability of about one quarter, a pair sharing a third almost surely. The
+ * {@link #bandKeys(long[]) keys of the bands} allow finding the candidates of a text in a table of buckets
+ * instead of testing every other text.
+ *
+ * @author ugsrv
+ */
+final class LshBands {
+
+    private static final int BANDS = 32;
+    private static final int ROWS = 2;
+    private static final int BINS = BANDS * ROWS;
+    private static final int BIN_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(BINS);
+    private static final long EMPTY = Long.MAX_VALUE;
+    private static final long KEY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private LshBands() {
+        // utility class
+    }
+
+    /**
+     * Computes the signature of the provided token sequence in time linear in its length.
+     *
+     * @param tokens the token sequence
+     * @param length the number of tokens per k-gram
+     * @return the smallest k-gram hash of every bin, {@link #EMPTY} for bins without k-gram
+     */
+    static long[] signature(List<String> tokens, int length) {
+        long[] signature = new long[BINS];
+        Arrays.fill(signature, EMPTY);
+        for (long hash : KGramHashes.of(tokens, length)) {
+            int bin = (int) (hash >>> BIN_SHIFT);
+            signature[bin] = Math.min(signature[bin], hash);
+        }
+        return signature;
+    }
+
+    /**
+     * Returns whether the texts with the provided signatures fall into the same bucket of at least one band.
+     * Bands whose bins are all empty do not count.
+     *
+     * @param first the signature of the first text
+     * @param second the signature of the second text
+     * @return {@code true} if the texts are candidates for being similar
+     */
+    static boolean collide(long[] first, long[] second) {
+        for (int band = 0; band < BINS; band += ROWS) {
+            boolean equal = true;
+            boolean empty = true;
+            for (int bin = band; bin < band + ROWS && equal; bin++) {
+                equal = first[bin] == second[bin];
+                empty &= first[bin] == EMPTY;
+            }
+            if (equal && !empty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a key for every band of the provided signature whose bins are not all empty. Texts colliding
+     * in a band have equal keys for it; as different bands or bins may have equal keys as well, a shared key
+     * has to be confirmed with {@link #collide(long[], long[])}.
+     *
+     * @param signature the signature of a text
+     * @return the keys of the non-empty bands
+     */
+    static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        int count = 0;
+        for (int band = 0; band < BINS; band += ROWS) {
+            long key = band;
+            boolean empty = true;
+            for (int bin = band; bin < band + ROWS; bin++) {
+                key = key * KEY_MULTIPLIER + signature[bin];
+                empty &= signature[bin] == EMPTY;
+            }
+            if (!empty) {
+                keys[count++] = key;
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+}
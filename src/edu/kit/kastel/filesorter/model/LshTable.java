@@ -0,0 +1,131 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link LshBands} buckets of the loaded texts for one tokenization strategy and minimum match length.
+ * Every text is tokenized and signed once when the table is built; finding the candidates of a text then
+ * visits only the buckets of its bands instead of every other text. The token sequences are kept, so the
+ * candidates are compared without tokenizing them again. A table describes the texts at a single
+ * {@link LoadedTexts#modifications() modification count} and has to be rebuilt once they change.
+ *
+ * @author ugsrv
+ */
+final class LshTable {
+
+    private static final long BOXED_BYTES = MemoryFootprint.ofObject(Long.BYTES);
+
+    private final TokenizationStrategy strategy;
+    private final int minMatchLength;
+    private final long modifications;
+    private final List<String> identifiers = new ArrayList<>();
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<List<String>> tokens = new ArrayList<>();
+    private final List<long[]> signatures = new ArrayList<>();
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+    private final long footprint;
+
+    /**
+     * Builds the table of the provided texts.
+     *
+     * @param texts the loaded texts
+     * @param strategy the strategy to tokenize the texts with
+     * @param minMatchLength the minimum length of a match, used as length of the k-grams
+     */
+    LshTable(LoadedTexts texts, TokenizationStrategy strategy, int minMatchLength) {
+        this.strategy = strategy;
+        this.minMatchLength = minMatchLength;
+        this.modifications = texts.modifications();
+        for (LoadedText text : texts.values()) {
+            int index = this.identifiers.size();
+            List<String> sequence = strategy.tokenize(text.content());
+            long[] signature = LshBands.signature(sequence, minMatchLength);
+            this.identifiers.add(text.identifier());
+            this.indices.put(text.identifier(), index);
+            this.tokens.add(sequence);
+            this.signatures.add(signature);
+            for (long key : LshBands.bandKeys(signature)) {
+                this.buckets.computeIfAbsent(key, bucket -> new ArrayList<>()).add(index);
+            }
+        }
+        this.footprint = estimateFootprint();
+    }
+
+    private long estimateFootprint() {
+        long total = 0;
+        for (int index = 0; index < this.tokens.size(); index++) {
+            total += MemoryFootprint.ofTokenList(this.tokens.get(index))
+                    + MemoryFootprint.ofArray((long) this.signatures.get(index).length * Long.BYTES)
+                    + MemoryFootprint.HASH_ENTRY_BYTES + BOXED_BYTES;
+        }
+        for (List<Integer> bucket : this.buckets.values()) {
+            total += MemoryFootprint.HASH_ENTRY_BYTES + BOXED_BYTES
+                    + MemoryFootprint.ofObjectList(bucket.size(), BOXED_BYTES);
+        }
+        return total;
+    }
+
+    /**
+     * Returns whether this table describes the provided texts tokenized as requested.
+     *
+     * @param texts the loaded texts
+     * @param requestedStrategy the requested tokenization strategy
+     * @param requestedLength the requested minimum match length
+     * @return {@code true} if the table need not be rebuilt
+     */
+    boolean describes(LoadedTexts texts, TokenizationStrategy requestedStrategy, int requestedLength) {
+        return this.modifications == texts.modifications() && this.strategy == requestedStrategy
+                && this.minMatchLength == requestedLength;
+    }
+
+    /**
+     * Returns the texts colliding with the provided text in at least one band, in the order the texts were
+     * loaded.
+     *
+     * @param identifier the identifier of the text
+     * @return the identifiers of the candidates, excluding the text itself, or an empty list if the text is
+     *         not part of this table
+     */
+    List<String> candidates(String identifier) {
+        Integer target = this.indices.get(identifier);
+        if (target == null) {
+            return List.of();
+        }
+        long[] signature = this.signatures.get(target);
+        BitSet candidates = new BitSet(this.identifiers.size());
+        for (long key : LshBands.bandKeys(signature)) {
+            for (int index : this.buckets.get(key)) {
+                if (index != target && !candidates.get(index)
+                        && LshBands.collide(signature, this.signatures.get(index))) {
+                    candidates.set(index);
+                }
+            }
+        }
+        return candidates.stream().mapToObj(this.identifiers::get).toList();
+    }
+
+    /**
+     * Returns the token sequence of a text of this table.
+     *
+     * @param identifier the identifier of the text
+     * @return the token sequence, or {@code null} if the text is not part of this table
+     */
+    List<String> tokens(String identifier) {
+        Integer index = this.indices.get(identifier);
+        return index == null ? null : this.tokens.get(index);
+    }
+
+    /**
+     * Estimates the heap retained by this table. The identifiers are shared with the loaded texts and not
+     * counted.
+     *
+     * @return the estimated footprint in bytes
+     */
+    long footprint() {
+        return this.footprint;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only region of little-endian integers that is memory-mapped from a file. Regions larger than
+ * a single mapping can address are split into several segments transparently.
+ *
+ * @author ugsrv
+ */
+final class MappedIntRegion {
+
+    private static final int SEGMENT_SHIFT = 28;
+    private static final long SEGMENT_INTS = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_INTS - 1;
+
+    private final IntBuffer[] segments;
+    private final long length;
+
+    private MappedIntRegion(IntBuffer[] segments, long length) {
+        this.segments = segments;
+        this.length = length;
+    }
+
+    /**
+     * Maps {@code length} integers of the provided channel starting at the given byte offset.
+     *
+     * @param channel the channel to map
+     * @param offset the byte offset of the first integer
+     * @param length the number of integers in the region
+     * @return the mapped region
+     * @throws IOException if mapping fails
+     */
+    static MappedIntRegion map(FileChannel channel, long offset, long length) throws IOException {
+        int segmentCount = (int) ((length + SEGMENT_INTS - 1) >>> SEGMENT_SHIFT);
+        IntBuffer[] segments = new IntBuffer[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            long first = segment * SEGMENT_INTS;
+            long count = Math.min(SEGMENT_INTS, length - first);
+            segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * Integer.BYTES,
+                    count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return new MappedIntRegion(segments, length);
+    }
+
+    /**
+     * Returns the integer at the provided index of this region.
+     *
+     * @param index the index within the region
+     * @return the integer stored at the index
+     */
+    int get(long index) {
+        return this.segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    /**
+     * Returns the number of integers in this region.
+     *
+     * @return the length of this region
+     */
+    long length() {
+        return this.length;
+    }
+}
@@ -0,0 +1,91 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of matches stored as fixed-size integer records in a memory-mapped region. Each
+ * record consists of {@value #RECORD_INTS} integers: the index of the first text, the start index in
+ * the first text, the index of the second text, the start index in the second text and the length.
+ * Text indices are resolved against a shared identifier table on access. Records read from a file this
+ * process did not write are checked against the sizes of the texts on access, so a corrupt record fails
+ * on the access to it instead of requiring a scan of the whole region in advance.
+ *
+ * @author ugsrv
+ */
+final class MappedMatchList extends AbstractList<AnalysisMatch> implements RandomAccess {
+
+    /**
+     * The number of integers per stored match.
+     */
+    static final int RECORD_INTS = 5;
+
+    private static final int SECOND_TEXT_OFFSET = 2;
+    private static final int SECOND_INDEX_OFFSET = 3;
+    private static final int LENGTH_OFFSET = 4;
+    private static final String ERROR_CORRUPT_MATCH = "corrupt match record %d";
+
+    private final MappedIntRegion region;
+    private final int size;
+    private final String[] identifiers;
+    private final int[] textSizes;
+
+    /**
+     * Creates a new view of matches written by this process, whose records need no checks.
+     *
+     * @param region the region containing the match records
+     * @param identifiers the text identifiers indexed by the text indices used in the records
+     */
+    MappedMatchList(MappedIntRegion region, String[] identifiers) {
+        this(region, identifiers, null);
+    }
+
+    /**
+     * Creates a new view of stored matches whose records are checked on access.
+     *
+     * @param region the region containing the match records
+     * @param identifiers the text identifiers indexed by the text indices used in the records
+     * @param textSizes the number of tokens of the texts indexed like the identifiers, or {@code null} if the
+     *                  records need no checks
+     */
+    MappedMatchList(MappedIntRegion region, String[] identifiers, int[] textSizes) {
+        this.region = region;
+        this.size = Math.toIntExact(region.length() / RECORD_INTS);
+        this.identifiers = identifiers;
+        this.textSizes = textSizes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the stored record refers to a text that does not exist or to tokens
+     *                               outside its texts
+     */
+    @Override
+    public AnalysisMatch get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        long base = (long) index * RECORD_INTS;
+        int firstText = this.region.get(base);
+        int firstIndex = this.region.get(base + 1);
+        int secondText = this.region.get(base + SECOND_TEXT_OFFSET);
+        int secondIndex = this.region.get(base + SECOND_INDEX_OFFSET);
+        int length = this.region.get(base + LENGTH_OFFSET);
+        if (this.textSizes != null && !(length > 0 && liesWithin(firstText, firstIndex, length)
+                && liesWithin(secondText, secondIndex, length))) {
+            throw new IllegalStateException(ERROR_CORRUPT_MATCH.formatted(index));
+        }
+        return new AnalysisMatch(this.identifiers[firstText], firstIndex, this.identifiers[secondText], secondIndex,
+                length);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private boolean liesWithin(int text, int start, int length) {
+        return text >= 0 && text < this.textSizes.length && start >= 0 && (long) start + length <= this.textSizes[text];
+    }
+}
@@ -0,0 +1,59 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable token sequence whose interned token identifiers are read from a memory-mapped region
+ * and resolved against a shared token dictionary on access. Every identifier is checked against the
+ * dictionary when it is read, so a corrupt region fails on the access to the corrupt token instead of
+ * requiring a scan of the whole region in advance.
+ *
+ * @author ugsrv
+ */
+final class MappedTokenList extends AbstractList<String> implements RandomAccess {
+
+    private static final String ERROR_CORRUPT_TOKEN = "corrupt token identifier %d at index %d";
+
+    private final MappedIntRegion region;
+    private final long offset;
+    private final int size;
+    private final String[] dictionary;
+
+    /**
+     * Creates a new view of a token sequence.
+     *
+     * @param region the region containing the token identifiers
+     * @param offset the index of the first token identifier within the region
+     * @param size the number of tokens in the sequence
+     * @param dictionary the tokens indexed by their identifiers
+     */
+    MappedTokenList(MappedIntRegion region, long offset, int size, String[] dictionary) {
+        this.region = region;
+        this.offset = offset;
+        this.size = size;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the stored token identifier lies outside the dictionary
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int token = this.region.get(this.offset + index);
+        if (token < 0 || token >= this.dictionary.length) {
+            throw new IllegalStateException(ERROR_CORRUPT_TOKEN.formatted(token, index));
+        }
+        return this.dictionary[token];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,293 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+/**
+ * Collects the matches between all pairs of tokenized texts, finding the runs of every pair with a
+ * {@link MatchEngine}.
+ *
+ * <p>Before any pair is compared, texts with identical token sequences are grouped into equivalence
+ * classes using a SHA-256 digest of their tokens. Every pair of classes is compared only once per
+ * orientation: the runs found for the first pair of members are reused for all later pairs whose
+ * first text belongs to the same class as that pair's first text, and whose second text to the same
+ * class as its second. Two members of the same class are compared like any other pair, which yields
+ * their full-length match and the repetitions within the text. Since the engine only sees token
+ * sequences, the collected matches are identical to comparing every pair of texts, even for engines
+ * whose runs depend on the orientation of the pair. A cached result is released once all pairs that
+ * will be compared have used it.</p>
+ *
+ * @author ugsrv
+ */
+final class MatchCollector {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int CLASS_KEY_SHIFT = 32;
+
+    private final int minMatchLength;
+    private final List<String> identifiers = new ArrayList<>();
+    private final List<List<String>> sequences = new ArrayList<>();
+    private final List<Integer> representatives = new ArrayList<>();
+    private final List<Integer> classSizes = new ArrayList<>();
+    private final int[] classOf;
+    private final Map<Long, Long> uses = new HashMap<>();
+    private final Map<Long, CachedRuns> cache = new HashMap<>();
+    private final AnalysisStatistics statistics;
+    private final SimilarityBound bound;
+    private final PairFilter filter;
+    private final RunFinder finder;
+
+    /**
+     * Creates a new collector for the provided texts.
+     *
+     * @param tokenizedTexts the token sequences of the texts, keyed by their identifiers; the text
+     *                       indices passed to the match store follow the iteration order of this map
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param statistics the statistics receiving the comparison and match construction counters
+     * @param floor the similarity below which pairs are of no interest, or {@code null} to compare all
+     *              pairs; pairs whose {@link SimilarityBound upper bound} stays below it are not compared
+     * @param selection the pairs to compare; all other pairs are skipped
+     * @param engine the engine finding the runs of a pair of texts
+     */
+    MatchCollector(Map<String, List<String>> tokenizedTexts, int minMatchLength, AnalysisStatistics statistics,
+            SimilarityFloor floor, PairSelection selection, MatchEngine engine) {
+        this.minMatchLength = minMatchLength;
+        this.statistics = statistics;
+        this.identifiers.addAll(tokenizedTexts.keySet());
+        this.sequences.addAll(tokenizedTexts.values());
+        this.classOf = new int[this.sequences.size()];
+        this.bound = floor == null ? null : new SimilarityBound(this.sequences, minMatchLength, floor);
+        this.filter = new PairFilter(this.identifiers, selection);
+        this.finder = engine.prepare(Collections.unmodifiableList(this.sequences), minMatchLength, this.filter);
+        classifyTexts();
+        countUses();
+    }
+
+    /**
+     * Collects the matches of all selected pairs of texts into the provided store. Pairs are visited in insertion
+     * order of the texts and the matches of every pair are ordered by their start index in the first and
+     * then the second text, so the matches are added in the order the store returns them.
+     *
+     * @param store the store receiving the matches
+     * @param progress the progress to update after every pair
+     * @throws IOException if the store cannot store a match
+     */
+    void collect(MatchStore store, AnalysisProgress progress) throws IOException {
+        startProgress(progress);
+        int texts = this.sequences.size();
+        for (int first = 0; first < texts; first++) {
+            for (int second = this.filter.nextPartner(first, first); second < texts;
+                    second = this.filter.nextPartner(first, second)) {
+                List<TokenRun> runs = compare(first, second);
+                add(store, first, second, runs);
+                progress.complete(costOf(first, second));
+            }
+        }
+        progress.finish();
+    }
+
+    /**
+     * Returns how the engine of this collector chose its algorithm.
+     *
+     * @return the description of the decision, or {@code null} if the algorithm was chosen explicitly
+     */
+    String engineDecision() {
+        return this.finder.decision();
+    }
+
+    /**
+     * Collects the matches of the selected pairs of texts into the provided store in descending order of their
+     * estimated similarity (see {@link PairPrioritizer}) until the time budget is exhausted. The matches of a pair
+     * are added as soon as it has been compared, so a store with a memory budget spills them while the
+     * comparisons go on; the store orders them by pair as {@link #collect(MatchStore, AnalysisProgress)} does.
+     *
+     * @param store the store receiving the matches
+     * @param progress the progress to update after every pair
+     * @param startNanos the value of {@link System#nanoTime()} at which the time budget began
+     * @param budgetNanos the nanoseconds after {@code startNanos} after which no further pair is compared
+     * @throws IOException if the store cannot store a match
+     */
+    void collectUntil(MatchStore store, AnalysisProgress progress, long startNanos, long budgetNanos)
+            throws IOException {
+        startProgress(progress);
+        PrimitiveIterator.OfLong pairs = PairPrioritizer.order(this.sequences, this.minMatchLength, this.filter);
+        while (pairs.hasNext() && System.nanoTime() - startNanos < budgetNanos) {
+            long pair = pairs.nextLong();
+            int first = PairPrioritizer.first(pair);
+            int second = PairPrioritizer.second(pair);
+            add(store, first, second, compare(first, second));
+            progress.complete(costOf(first, second));
+        }
+        progress.finish();
+    }
+
+    private List<TokenRun> compare(int first, int second) {
+        if (this.bound != null && this.bound.prunes(first, second)) {
+            this.statistics.recordPrunedPair();
+            return List.of();
+        }
+        PairComparisonEvent event = new PairComparisonEvent();
+        event.begin();
+        this.statistics.begin(AnalysisPhase.COMPARISON);
+        List<TokenRun> runs = runsOf(first, second);
+        this.statistics.end(AnalysisPhase.COMPARISON);
+        event.complete(this.identifiers.get(first), this.sequences.get(first).size(),
+                this.identifiers.get(second), this.sequences.get(second).size(), runs.size());
+        return runs;
+    }
+
+    private void add(MatchStore store, int first, int second, List<TokenRun> runs) throws IOException {
+        this.statistics.begin(AnalysisPhase.MATCH_CONSTRUCTION);
+        for (TokenRun run : runs) {
+            store.add(first, run.firstIndex(), second, run.secondIndex(), run.length());
+        }
+        this.statistics.end(AnalysisPhase.MATCH_CONSTRUCTION);
+        this.statistics.recordMatches(runs.size());
+    }
+
+    private void startProgress(AnalysisProgress progress) {
+        double totalCost = 0;
+        int texts = this.sequences.size();
+        for (int first = 0; first < texts; first++) {
+            for (int second = this.filter.nextPartner(first, first); second < texts;
+                    second = this.filter.nextPartner(first, second)) {
+                totalCost += costOf(first, second);
+            }
+        }
+        progress.start(this.filter.pairs(), totalCost);
+    }
+
+    /**
+     * Estimates the number of token comparisons of a pair. Pairs sharing their runs with other pairs of
+     * identical texts share the cost of computing them.
+     */
+    private double costOf(int first, int second) {
+        double comparisons = (double) this.sequences.get(first).size() * this.sequences.get(second).size();
+        return comparisons / this.uses.getOrDefault(classKey(first, second), 1L);
+    }
+
+    /**
+     * Counts for every oriented pair of classes with more than one member how many selected pairs of texts
+     * will use its runs. Pairs whose bound prunes them never use cached runs; as identical texts have equal
+     * bounds, the bound is evaluated once per pair of classes.
+     */
+    private void countUses() {
+        Map<Long, Boolean> pruned = new HashMap<>();
+        int texts = this.sequences.size();
+        for (int first = 0; first < texts; first++) {
+            for (int second = this.filter.nextPartner(first, first); second < texts;
+                    second = this.filter.nextPartner(first, second)) {
+                if (!sharesRuns(first, second)) {
+                    continue;
+                }
+                long key = classKey(first, second);
+                Boolean isPruned = pruned.get(key);
+                if (isPruned == null) {
+                    isPruned = this.bound != null && this.bound.prunes(first, second);
+                    pruned.put(key, isPruned);
+                }
+                if (!isPruned) {
+                    this.uses.merge(key, 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    private void classifyTexts() {
+        MessageDigest digest = createDigest();
+        Map<ByteBuffer, Integer> classes = new HashMap<>();
+        for (int text = 0; text < this.sequences.size(); text++) {
+            List<String> tokens = this.sequences.get(text);
+            ByteBuffer key = ByteBuffer.wrap(digestOf(digest, tokens));
+            Integer existing = classes.get(key);
+            if (existing != null && this.sequences.get(this.representatives.get(existing)).equals(tokens)) {
+                this.classOf[text] = existing;
+                this.classSizes.set(existing, this.classSizes.get(existing) + 1);
+                continue;
+            }
+            this.classOf[text] = this.representatives.size();
+            classes.putIfAbsent(key, this.representatives.size());
+            this.representatives.add(text);
+            this.classSizes.add(1);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] digestOf(MessageDigest digest, List<String> tokens) {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        for (String token : tokens) {
+            byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            digest.update(length.clear().putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    private List<TokenRun> runsOf(int first, int second) {
+        if (!sharesRuns(first, second)) {
+            return runsBetween(first, second);
+        }
+        long key = classKey(first, second);
+        CachedRuns cached = this.cache.get(key);
+        if (cached == null) {
+            cached = new CachedRuns(runsBetween(first, second), this.uses.getOrDefault(key, 1L));
+            this.cache.put(key, cached);
+            this.statistics.recordCacheAccess(false);
+        } else {
+            this.statistics.recordCacheAccess(true);
+        }
+        if (cached.release()) {
+            this.cache.remove(key);
+        }
+        return cached.runs();
+    }
+
+    private List<TokenRun> runsBetween(int first, int second) {
+        List<TokenRun> runs = this.finder.find(first, second);
+        this.statistics.recordComparison(this.finder.takeComparisons());
+        return runs;
+    }
+
+    private boolean sharesRuns(int first, int second) {
+        return this.classSizes.get(this.classOf[first]) > 1 || this.classSizes.get(this.classOf[second]) > 1;
+    }
+
+    private long classKey(int first, int second) {
+        return ((long) this.classOf[first] << CLASS_KEY_SHIFT) | this.classOf[second];
+    }
+
+    private static final class CachedRuns {
+        private final List<TokenRun> runs;
+        private long remainingUses;
+
+        CachedRuns(List<TokenRun> runs, long uses) {
+            this.runs = runs;
+            this.remainingUses = uses;
+        }
+
+        private List<TokenRun> runs() {
+            return this.runs;
+        }
+
+        private boolean release() {
+            this.remainingUses--;
+            return this.remainingUses <= 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+
+/**
+ * Service provider interface of the algorithms finding the matches of an analysis. The analysis selects
+ * the pairs to compare, shares the runs of texts with identical token sequences, prunes, prioritizes and
+ * stores the matches; an engine only finds the runs of a pair of token sequences.
+ *
+ * <p>The {@link EngineSelection#NESTED nested engine} is the reference: it finds every maximal run of equal
+ * tokens of at least the minimum match length. Engines producing identical results, such as the
+ * {@link EngineSelection#EXACT exact engine}, can be verified against it and swapped in safely; approximate
+ * engines document how their results differ.</p>
+ *
+ * @author ugsrv
+ */
+@FunctionalInterface
+public interface MatchEngine {
+
+    /**
+     * Prepares the comparison of the provided token sequences, e.g. by indexing them.
+     *
+     * @param sequences the unmodifiable token sequences of all texts of the analysis, indexed like the
+     *                  texts passed to {@link RunFinder#find(int, int)}
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the finder of the runs of pairs of the sequences
+     */
+    RunFinder prepare(List<List<String>> sequences, int minMatchLength);
+
+    /**
+     * Prepares the comparison of the selected pairs of the provided token sequences. Engines whose preparation
+     * does not depend on the selected pairs prepare all of them.
+     *
+     * @param sequences the unmodifiable token sequences of all texts of the analysis, indexed like the
+     *                  texts passed to {@link RunFinder#find(int, int)}
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param filter the filter selecting the pairs passed to {@link RunFinder#find(int, int)}
+     * @return the finder of the runs of the selected pairs of the sequences
+     */
+    default RunFinder prepare(List<List<String>> sequences, int minMatchLength, PairFilter filter) {
+        return prepare(sequences, minMatchLength);
+    }
+}
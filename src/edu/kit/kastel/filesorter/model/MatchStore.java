@@ -0,0 +1,65 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the matches produced by an analysis and provides them as a list afterwards. Texts are
+ * referenced by their index in the order of the analyzed texts. All matches of a pair of texts are
+ * added consecutively, but the pairs may be added in any order.
+ *
+ * @author ugsrv
+ */
+interface MatchStore extends AutoCloseable {
+
+    /**
+     * Creates a store for the provided analysis options.
+     *
+     * @param identifiers the identifiers of the analyzed texts indexed by their text index
+     * @param options the options of the analysis
+     * @return a store keeping all matches in memory if no memory budget is set, otherwise a store
+     *         spilling matches to disk once the budget is exceeded
+     */
+    static MatchStore create(List<String> identifiers, AnalysisOptions options) {
+        if (options.memoryBudget() == 0) {
+            return new InMemoryMatchStore(identifiers);
+        }
+        return new SpillingMatchStore(identifiers, options.memoryBudget());
+    }
+
+    /**
+     * Adds a match to this store.
+     *
+     * @param firstText the index of the first text
+     * @param firstIndex the start index of the match in the first text
+     * @param secondText the index of the second text
+     * @param secondIndex the start index of the match in the second text
+     * @param length the length of the match
+     * @throws IOException if the match cannot be stored
+     */
+    void add(int firstText, int firstIndex, int secondText, int secondIndex, int length) throws IOException;
+
+    /**
+     * Completes this store and returns all added matches ordered by the index of their first and then
+     * their second text. The matches of a pair keep the order in which they have been added.
+     *
+     * @return an unmodifiable list of all matches
+     * @throws IOException if the stored matches cannot be read back
+     */
+    List<AnalysisMatch> finish() throws IOException;
+
+    /**
+     * Estimates the heap retained by the list returned by {@link #finish()}.
+     *
+     * @return the estimated footprint in bytes, which is zero for matches served from mapped files
+     */
+    long footprint();
+
+    /**
+     * Releases temporary resources of this store. The list returned by {@link #finish()} stays valid.
+     *
+     * @throws IOException if releasing the resources fails
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,29 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Enumeration of the kinds of data whose heap footprint is reported by a {@link MemoryReport}.
+ *
+ * @author ugsrv
+ */
+public enum MemoryCategory {
+    /**
+     * The content of a loaded text in its current storage mode.
+     */
+    TEXT,
+
+    /**
+     * The token sequence of a text in the last analysis result, or the dictionary shared by all sequences.
+     */
+    TOKENS,
+
+    /**
+     * The list of matches of the last analysis result.
+     */
+    MATCHES,
+
+    /**
+     * Data built on first use to speed up repeated commands and rebuilt on demand: the neighbours of the
+     * texts of the last analysis result and the locality-sensitive hash buckets of the loaded texts.
+     */
+    CACHE
+}
@@ -0,0 +1,105 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+
+/**
+ * Estimates the retained heap size of the data structures used by the model. The estimates assume a
+ * 64-bit JVM with compressed object pointers and compact strings.
+ *
+ * @author ugsrv
+ */
+final class MemoryFootprint {
+
+    /**
+     * The size of an object reference in bytes.
+     */
+    static final int REFERENCE_BYTES = 4;
+
+    /**
+     * The size of an entry of a hash map including its slot in the table, excluding key and value.
+     */
+    static final long HASH_ENTRY_BYTES = ofObject(Integer.BYTES + 3L * REFERENCE_BYTES) + REFERENCE_BYTES;
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_BYTES = 24;
+    private static final int LIST_BYTES = 16;
+    private static final int ALIGNMENT = 8;
+    private static final long MATCH_BYTES = ofObject(2L * REFERENCE_BYTES + 3L * Integer.BYTES);
+    private static final int LATIN1_LIMIT = 0xFF;
+
+    private MemoryFootprint() {
+        // utility class
+    }
+
+    /**
+     * Estimates the size of a string including its backing array.
+     *
+     * @param value the string to estimate
+     * @return the estimated size in bytes
+     */
+    static long ofString(String value) {
+        boolean latin1 = value.chars().allMatch(character -> character <= LATIN1_LIMIT);
+        return STRING_BYTES + ofArray(latin1 ? value.length() : (long) value.length() * Character.BYTES);
+    }
+
+    /**
+     * Estimates the size of an array with the provided payload.
+     *
+     * @param payloadBytes the number of bytes used by the array elements
+     * @return the estimated size in bytes
+     */
+    static long ofArray(long payloadBytes) {
+        return align(ARRAY_HEADER_BYTES + payloadBytes);
+    }
+
+    /**
+     * Estimates the size of an object with the provided field payload.
+     *
+     * @param fieldBytes the number of bytes used by the fields
+     * @return the estimated size in bytes
+     */
+    static long ofObject(long fieldBytes) {
+        return align(OBJECT_HEADER_BYTES + fieldBytes);
+    }
+
+    /**
+     * Estimates the size of a token list in which every token is a separate string instance, as
+     * produced by the tokenization strategies.
+     *
+     * @param tokens the token list to estimate
+     * @return the estimated size in bytes
+     */
+    static long ofTokenList(List<String> tokens) {
+        long total = LIST_BYTES + ofArray((long) tokens.size() * REFERENCE_BYTES);
+        for (String token : tokens) {
+            total += ofString(token);
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the size of a list of matches in which every match is a separate object.
+     *
+     * @param size the number of matches
+     * @return the estimated size in bytes
+     */
+    static long ofMatchList(int size) {
+        return ofObjectList(size, MATCH_BYTES);
+    }
+
+    /**
+     * Estimates the size of a list in which every element is a separate object of the same size.
+     *
+     * @param size the number of elements
+     * @param elementBytes the estimated size of a single element in bytes
+     * @return the estimated size in bytes
+     */
+    static long ofObjectList(int size, long elementBytes) {
+        return LIST_BYTES + ofArray((long) size * REFERENCE_BYTES) + size * elementBytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,107 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An estimate of the heap retained by the loaded texts and the last analysis result, broken down into
+ * single consumers. The estimates assume a 64-bit JVM with compressed object pointers and compact
+ * strings; memory-mapped data is not part of the heap and therefore not reported.
+ *
+ * @author ugsrv
+ */
+public final class MemoryReport {
+
+    private static final String DICTIONARY = "<dictionary>";
+    private static final String MATCHES = "<matches>";
+    private static final String NEIGHBOURS = "<neighbours>";
+    private static final String CANDIDATES = "<similar>";
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private MemoryReport() {
+        // use of()
+    }
+
+    /**
+     * Creates the report for the provided texts and analysis result.
+     *
+     * @param texts the loaded texts
+     * @param result the last analysis result or {@code null} if there is none
+     * @param tokens the footprint of the token sequences of the result
+     * @param candidates the footprint of the buckets of {@link ReferenceSearch#analyzeCandidates(String,
+     *                   TokenizationStrategy, int)}
+     * @return the report
+     */
+    static MemoryReport of(Collection<LoadedText> texts, AnalysisResult result, TokenFootprint tokens,
+            long candidates) {
+        MemoryReport report = new MemoryReport();
+        for (LoadedText text : texts) {
+            report.add(MemoryCategory.TEXT, text.identifier(), text.storage().footprint());
+        }
+        for (Map.Entry<String, Long> entry : tokens.texts().entrySet()) {
+            report.add(MemoryCategory.TOKENS, entry.getKey(), entry.getValue());
+        }
+        report.add(MemoryCategory.TOKENS, DICTIONARY, tokens.dictionary());
+        if (result != null && result.statistics() != null) {
+            report.add(MemoryCategory.MATCHES, MATCHES, result.statistics().matchFootprint());
+        }
+        if (result != null) {
+            report.add(MemoryCategory.CACHE, NEIGHBOURS, result.neighbourFootprint());
+        }
+        report.add(MemoryCategory.CACHE, CANDIDATES, candidates);
+        report.entries.sort(Comparator.comparingLong(Entry::bytes).reversed()
+                .thenComparing(Entry::category).thenComparing(Entry::name));
+        return report;
+    }
+
+    private void add(MemoryCategory category, String name, long bytes) {
+        if (bytes > 0) {
+            this.entries.add(new Entry(category, name, bytes));
+        }
+    }
+
+    /**
+     * Returns all consumers retaining heap, the largest first.
+     *
+     * @return an unmodifiable list of the consumers
+     */
+    public List<Entry> entries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * Returns the estimated heap retained by all consumers of the provided category.
+     *
+     * @param category the category to sum up
+     * @return the estimated footprint in bytes
+     */
+    public long total(MemoryCategory category) {
+        return this.entries.stream().filter(entry -> entry.category() == category).mapToLong(Entry::bytes).sum();
+    }
+
+    /**
+     * Returns the estimated heap retained by all consumers.
+     *
+     * @return the estimated footprint in bytes
+     */
+    public long total() {
+        return this.entries.stream().mapToLong(Entry::bytes).sum();
+    }
+
+    /**
+     * A single consumer of heap memory.
+     *
+     * @param category the kind of data
+     * @param name the identifier of the text the data belongs to, or a placeholder for shared data
+     * @param bytes the estimated footprint in bytes
+     *
+     * @author ugsrv
+     */
+    public record Entry(MemoryCategory category, String name, long bytes) {
+    }
+}
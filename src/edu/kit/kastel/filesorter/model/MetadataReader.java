@@ -0,0 +1,132 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the values written by a {@link ChannelWriter} from the metadata section of a mapped file. Every
+ * read is checked against the remaining bytes, so a truncated or corrupt file fails with an
+ * {@link IOException} carrying the provided message instead of a runtime exception.
+ *
+ * @author ugsrv
+ */
+final class MetadataReader {
+
+    private final ByteBuffer buffer;
+    private final String error;
+
+    /**
+     * Creates a reader for the provided buffer, which must use little-endian byte order.
+     *
+     * @param buffer the metadata to read
+     * @param error the message of the exception thrown if the metadata is corrupt
+     */
+    MetadataReader(ByteBuffer buffer, String error) {
+        this.buffer = buffer;
+        this.error = error;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte read
+     * @throws IOException if no byte remains
+     */
+    byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return this.buffer.get();
+    }
+
+    /**
+     * Reads an integer.
+     *
+     * @return the integer read
+     * @throws IOException if fewer bytes remain than an integer occupies
+     */
+    int readInt() throws IOException {
+        require(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return the long read
+     * @throws IOException if fewer bytes remain than a long occupies
+     */
+    long readLong() throws IOException {
+        require(Long.BYTES);
+        return this.buffer.getLong();
+    }
+
+    /**
+     * Reads the number of the entries that follow. The number is checked against the remaining bytes,
+     * so no array larger than the metadata itself is allocated for a corrupt count.
+     *
+     * @param entryBytes the minimum number of bytes every entry occupies
+     * @return the number of entries
+     * @throws IOException if the number is negative or the remaining bytes cannot hold that many entries
+     */
+    int readCount(int entryBytes) throws IOException {
+        int count = readInt();
+        if (count < 0 || (long) count * entryBytes > this.buffer.remaining()) {
+            throw corrupt();
+        }
+        return count;
+    }
+
+    /**
+     * Reads a string written by {@link ChannelWriter#writeString(String)}.
+     *
+     * @return the string read
+     * @throws IOException if the length of the string is negative or exceeds the remaining bytes
+     */
+    String readString() throws IOException {
+        byte[] bytes = new byte[readCount(Byte.BYTES)];
+        this.buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that a section of integers lies within the provided file.
+     *
+     * @param channel the file containing the section
+     * @param offset the byte offset of the section
+     * @param length the number of integers of the section
+     * @throws IOException if the section does not lie within the file
+     */
+    void checkSection(FileChannel channel, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset > channel.size() || length > (channel.size() - offset) / Integer.BYTES) {
+            throw corrupt();
+        }
+    }
+
+    /**
+     * Checks a condition on the values read.
+     *
+     * @param valid whether the values read are consistent
+     * @throws IOException if the condition does not hold
+     */
+    void check(boolean valid) throws IOException {
+        if (!valid) {
+            throw corrupt();
+        }
+    }
+
+    /**
+     * Creates the exception reporting corrupt metadata.
+     *
+     * @return the exception carrying the message of this reader
+     */
+    IOException corrupt() {
+        return new IOException(this.error);
+    }
+
+    private void require(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            throw corrupt();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * A text sharing at least one match with another text in an {@link AnalysisResult}.
+ *
+ * @param identifier the identifier of the neighbouring text
+ * @param totalMatchLength the total length of all matches of both texts
+ * @param longestMatchLength the length of the longest match of both texts
+ *
+ * @author ugsrv
+ */
+public record Neighbour(String identifier, int totalMatchLength, int longestMatchLength) {
+}
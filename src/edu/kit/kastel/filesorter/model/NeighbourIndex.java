@@ -0,0 +1,66 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The neighbours of every text of an analysis result, i.e. the texts it shares at least one match with,
+ * collected in a single pass over the matches. Looking up the neighbours of a text takes time proportional
+ * to their number instead of the number of all pairs.
+ *
+ * @author ugsrv
+ */
+final class NeighbourIndex {
+
+    private static final long NEIGHBOUR_BYTES = MemoryFootprint.ofObject(MemoryFootprint.REFERENCE_BYTES
+            + 2L * Integer.BYTES);
+
+    private final Map<String, List<Neighbour>> neighbours = new HashMap<>();
+
+    /**
+     * Creates the index of the provided matches.
+     *
+     * @param matches the matches of an analysis result
+     */
+    NeighbourIndex(List<AnalysisMatch> matches) {
+        Map<String, Map<String, int[]>> totals = new HashMap<>();
+        for (AnalysisMatch match : matches) {
+            add(totals, match.firstIdentifier(), match.secondIdentifier(), match.length());
+            add(totals, match.secondIdentifier(), match.firstIdentifier(), match.length());
+        }
+        totals.forEach((identifier, partners) -> {
+            List<Neighbour> list = new ArrayList<>(partners.size());
+            partners.forEach((partner, lengths) -> list.add(new Neighbour(partner, lengths[0], lengths[1])));
+            this.neighbours.put(identifier, List.copyOf(list));
+        });
+    }
+
+    private static void add(Map<String, Map<String, int[]>> totals, String identifier, String partner, int length) {
+        int[] lengths = totals.computeIfAbsent(identifier, key -> new HashMap<>())
+                .computeIfAbsent(partner, key -> new int[2]);
+        lengths[0] += length;
+        lengths[1] = Math.max(lengths[1], length);
+    }
+
+    /**
+     * Returns the neighbours of the provided text in no particular order.
+     *
+     * @param identifier the identifier of the text
+     * @return the neighbours of the text, empty if it shares no match or is unknown
+     */
+    List<Neighbour> of(String identifier) {
+        return this.neighbours.getOrDefault(identifier, List.of());
+    }
+
+    /**
+     * Estimates the heap retained by this index. The identifiers are shared with the matches and not counted.
+     *
+     * @return the estimated footprint in bytes
+     */
+    long footprint() {
+        return this.neighbours.values().stream().mapToLong(list -> MemoryFootprint.HASH_ENTRY_BYTES
+                + MemoryFootprint.ofObjectList(list.size(), NEIGHBOUR_BYTES)).sum();
+    }
+}
@@ -0,0 +1,100 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reference implementation of {@link RunFinder}: extends a run from every pair of positions of the first
+ * and the second sequence and reports every maximal run of at least the minimum match length. A run of
+ * length L is walked L times, see {@link DiagonalRunFinder} for the single-pass variant.
+ *
+ * @author ugsrv
+ */
+final class NestedRunFinder implements RunFinder {
+
+    private final List<List<String>> sequences;
+    private final int minMatchLength;
+    private long tokenComparisons;
+
+    /**
+     * Creates a finder for the provided sequences.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens
+     */
+    NestedRunFinder(List<List<String>> sequences, int minMatchLength) {
+        this.sequences = sequences;
+        this.minMatchLength = minMatchLength;
+    }
+
+    @Override
+    public List<TokenRun> find(int first, int second) {
+        List<String> firstTokens = this.sequences.get(first);
+        return first == second ? findSelfRuns(firstTokens) : findRuns(firstTokens, this.sequences.get(second));
+    }
+
+    @Override
+    public long takeComparisons() {
+        long comparisons = this.tokenComparisons;
+        this.tokenComparisons = 0;
+        return comparisons;
+    }
+
+    /**
+     * Finds all maximal runs of equal tokens of a text compared with itself. The main diagonal is a
+     * single full-length run, every other run is found above the diagonal and mirrored below it.
+     */
+    private List<TokenRun> findSelfRuns(List<String> tokens) {
+        List<TokenRun> runs = new ArrayList<>();
+        if (!tokens.isEmpty() && tokens.size() >= this.minMatchLength) {
+            runs.add(new TokenRun(0, 0, tokens.size()));
+        }
+        for (int firstIndex = 0; firstIndex < tokens.size(); firstIndex++) {
+            for (int secondIndex = firstIndex + 1; secondIndex < tokens.size(); secondIndex++) {
+                int matchLength = determineMatchLength(tokens, tokens, firstIndex, secondIndex);
+                if (matchLength >= this.minMatchLength && isStartOfMatch(tokens, tokens, firstIndex, secondIndex)) {
+                    runs.add(new TokenRun(firstIndex, secondIndex, matchLength));
+                    runs.add(new TokenRun(secondIndex, firstIndex, matchLength));
+                }
+            }
+        }
+        runs.sort(TokenRun.ORDER);
+        return runs;
+    }
+
+    private List<TokenRun> findRuns(List<String> firstTokens, List<String> secondTokens) {
+        List<TokenRun> runs = new ArrayList<>();
+        for (int firstIndex = 0; firstIndex < firstTokens.size(); firstIndex++) {
+            for (int secondIndex = 0; secondIndex < secondTokens.size(); secondIndex++) {
+                int matchLength = determineMatchLength(firstTokens, secondTokens, firstIndex, secondIndex);
+                if (matchLength >= this.minMatchLength
+                        && isStartOfMatch(firstTokens, secondTokens, firstIndex, secondIndex)) {
+                    runs.add(new TokenRun(firstIndex, secondIndex, matchLength));
+                }
+            }
+        }
+        return runs;
+    }
+
+    private int determineMatchLength(List<String> firstTokens, List<String> secondTokens, int firstIndex,
+            int secondIndex) {
+        int length = 0;
+        while (firstIndex + length < firstTokens.size()
+                && secondIndex + length < secondTokens.size()
+                && firstTokens.get(firstIndex + length).equals(secondTokens.get(secondIndex + length))) {
+            length++;
+        }
+        boolean mismatched = firstIndex + length < firstTokens.size() && secondIndex + length < secondTokens.size();
+        this.tokenComparisons += mismatched ? length + 1 : length;
+        return length;
+    }
+
+    private boolean isStartOfMatch(List<String> firstTokens, List<String> secondTokens, int firstIndex,
+            int secondIndex) {
+        if (firstIndex == 0 || secondIndex == 0) {
+            return true;
+        }
+        this.tokenComparisons++;
+        return !firstTokens.get(firstIndex - 1).equals(secondTokens.get(secondIndex - 1));
+    }
+}
@@ -0,0 +1,60 @@
+package edu.kit.kastel.filesorter.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for the comparison of a single pair of texts. The event is disabled by default
+ * and, once enabled, only recorded for comparisons exceeding its threshold.
+ *
+ * @author ugsrv
+ */
+@Name("edu.kit.kastel.filesorter.PairComparison")
+@Label("Pair Comparison")
+@Category("Sequence Matcher")
+@Description("Comparison of the token sequences of two texts")
+@Enabled(false)
+@Threshold("10 ms")
+final class PairComparisonEvent extends Event {
+
+    @Label("First Identifier")
+    private String firstIdentifier;
+
+    @Label("Second Identifier")
+    private String secondIdentifier;
+
+    @Label("First Tokens")
+    private int firstTokens;
+
+    @Label("Second Tokens")
+    private int secondTokens;
+
+    @Label("Matches")
+    private int matches;
+
+    /**
+     * Ends and commits the event if it is enabled and exceeds its threshold.
+     *
+     * @param first the identifier of the first text
+     * @param firstTokenCount the number of tokens of the first text
+     * @param second the identifier of the second text
+     * @param secondTokenCount the number of tokens of the second text
+     * @param matchCount the number of matches found
+     */
+    void complete(String first, int firstTokenCount, String second, int secondTokenCount, int matchCount) {
+        end();
+        if (shouldCommit()) {
+            this.firstIdentifier = first;
+            this.secondIdentifier = second;
+            this.firstTokens = firstTokenCount;
+            this.secondTokens = secondTokenCount;
+            this.matches = matchCount;
+            commit();
+        }
+    }
+}
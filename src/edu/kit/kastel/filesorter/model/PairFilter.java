@@ -0,0 +1,145 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides by the indices of two texts whether a {@link PairSelection} includes their pair and enumerates
+ * the included pairs. Every text is assigned a number in advance, so a decision takes a single comparison
+ * of two integers. The end of every run of consecutive texts with the same number is known as well, so
+ * {@link #nextPartner(int, int)} skips all texts excluded together with the first text in a single step.
+ * Enumerating the pairs therefore takes time proportional to the number of selected pairs and texts rather
+ * than to the number of all pairs. The number of selected pairs is derived from the sizes of the groups
+ * without visiting the pairs.
+ *
+ * @author ugsrv
+ */
+final class PairFilter {
+
+    private static final int QUERY_MEMBER = 1;
+
+    private final PairMode mode;
+    private final int[] classOf;
+    private final int[] runEnds;
+    private final long pairs;
+
+    /**
+     * Creates a new filter for the provided texts.
+     *
+     * @param identifiers the identifiers of the texts, indexed like the texts
+     * @param selection the selected pairs
+     */
+    PairFilter(List<String> identifiers, PairSelection selection) {
+        this.mode = selection.scope().mode();
+        this.classOf = new int[identifiers.size()];
+        Map<String, Integer> classes = new HashMap<>();
+        Map<Integer, Long> classSizes = new HashMap<>();
+        for (int text = 0; text < identifiers.size(); text++) {
+            String group = selection.groups().get(identifiers.get(text));
+            this.classOf[text] = switch (this.mode) {
+                case ALL -> 0;
+                case CROSS -> classes.computeIfAbsent(group, key -> classes.size());
+                case QUERY -> selection.scope().queryGroup().equals(group) ? QUERY_MEMBER : 0;
+            };
+            classSizes.merge(this.classOf[text], 1L, Long::sum);
+        }
+        long excluded = switch (this.mode) {
+            case ALL -> 0;
+            case CROSS -> classSizes.values().stream().mapToLong(PairFilter::pairsOf).sum();
+            case QUERY -> pairsOf(classSizes.getOrDefault(0, 0L));
+        };
+        this.pairs = pairsOf(identifiers.size()) - excluded;
+        this.runEnds = new int[identifiers.size()];
+        for (int text = identifiers.size() - 1; text >= 0; text--) {
+            boolean lastOfRun = text + 1 == identifiers.size() || this.classOf[text + 1] != this.classOf[text];
+            this.runEnds[text] = lastOfRun ? text + 1 : this.runEnds[text + 1];
+        }
+    }
+
+    /**
+     * Returns whether the pair of texts with the provided indices is selected.
+     *
+     * @param first the index of the first text
+     * @param second the index of the second text
+     * @return {@code true} if the pair is compared
+     */
+    boolean includes(int first, int second) {
+        return switch (this.mode) {
+            case ALL -> true;
+            case CROSS -> this.classOf[first] != this.classOf[second];
+            case QUERY -> (this.classOf[first] | this.classOf[second]) == QUERY_MEMBER;
+        };
+    }
+
+    /**
+     * Returns the next text after the provided one whose pair with the provided first text is selected.
+     * Starting with {@code previous = first}, the calls enumerate the selected pairs of the first text in
+     * ascending order of the second text.
+     *
+     * @param first the index of the first text
+     * @param previous the index of the previous second text, at least {@code first}
+     * @return the index of the next selected second text, or the number of texts if there is none
+     */
+    int nextPartner(int first, int previous) {
+        int second = previous + 1;
+        if (excludesOwnClass(this.classOf[first]) && second < this.classOf.length
+                && this.classOf[second] == this.classOf[first]) {
+            return this.runEnds[second];
+        }
+        return second;
+    }
+
+    /**
+     * Sums the products of the weights of the two texts of every selected pair. Like the number of pairs, the
+     * sum is derived from the sums of the weights of the groups without visiting the pairs.
+     *
+     * @param weights the weights of the texts, indexed like the texts
+     * @return the sum over all selected pairs
+     */
+    double weightedPairs(long[] weights) {
+        Map<Integer, double[]> classSums = new HashMap<>();
+        double sum = 0;
+        double squares = 0;
+        for (int text = 0; text < weights.length; text++) {
+            double weight = weights[text];
+            double[] sums = classSums.computeIfAbsent(this.classOf[text], key -> new double[2]);
+            sum += weight;
+            squares += weight * weight;
+            sums[0] += weight;
+            sums[1] += weight * weight;
+        }
+        double excluded = 0;
+        for (Map.Entry<Integer, double[]> entry : classSums.entrySet()) {
+            if (excludesOwnClass(entry.getKey())) {
+                excluded += productsOf(entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+        return productsOf(sum, squares) - excluded;
+    }
+
+    /**
+     * Returns the number of selected pairs.
+     *
+     * @return the number of pairs compared by an analysis using this filter
+     */
+    long pairs() {
+        return this.pairs;
+    }
+
+    private boolean excludesOwnClass(int textClass) {
+        return switch (this.mode) {
+            case ALL -> false;
+            case CROSS -> true;
+            case QUERY -> textClass != QUERY_MEMBER;
+        };
+    }
+
+    private static double productsOf(double sum, double squares) {
+        return (sum * sum - squares) / 2;
+    }
+
+    private static long pairsOf(long texts) {
+        return texts * (texts - 1) / 2;
+    }
+}
@@ -0,0 +1,46 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the ways an analysis selects the text pairs it compares, based on the groups the texts
+ * are tagged with.
+ *
+ * @author ugsrv
+ */
+public enum PairMode {
+    /**
+     * Every pair of texts is compared.
+     */
+    ALL,
+
+    /**
+     * Only pairs of texts from different groups are compared. Untagged texts form a group of their own.
+     */
+    CROSS,
+
+    /**
+     * Only pairs containing at least one text of the query group are compared, i.e. the query group is
+     * compared with itself and with every other text.
+     */
+    QUERY;
+
+    /**
+     * Finds the pair mode matching the provided name. Parsing is case insensitive and ignores surrounding
+     * whitespace.
+     *
+     * @param value the string representation of the pair mode
+     * @return the matching pair mode or {@code null} if no pair mode matches the provided name
+     */
+    public static PairMode findByName(String value) {
+        Objects.requireNonNull(value);
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (PairMode mode : values()) {
+            if (mode.name().equals(normalized)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
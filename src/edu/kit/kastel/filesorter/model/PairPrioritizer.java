@@ -0,0 +1,255 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the pairs of a set of token sequences by a cheap estimate of their similarity.
+ *
+ * <p>Every sequence is summarized by a bottom-k sketch: the {@value #SKETCH_SIZE} smallest distinct hash
+ * values of its k-grams, with k being the minimum match length, since two texts can only share a match if
+ * they share a k-gram. The number of values two sketches have in common estimates the Jaccard similarity
+ * of their k-gram sets. Computing the sketches is linear in the number of tokens.</p>
+ *
+ * <p>The sketches are not compared pair by pair. Instead, every sketch value lists the texts whose sketch
+ * contains it, and the common values of a text with all later texts are counted along these lists. Values
+ * contained in more than {@value #MAXIMUM_POSTING} sketches are too common to tell texts apart and are
+ * skipped, so counting takes time linear in the number of texts. Every text keeps only its
+ * {@value #CANDIDATES_PER_TEXT} best partners in a bounded queue. These candidates are ordered first, the most
+ * similar first; all remaining selected pairs follow lazily in the order of their indices. Neither the
+ * pairs nor their estimates are ever materialized.</p>
+ *
+ * @author ugsrv
+ */
+final class PairPrioritizer {
+
+    /**
+     * The number of hash values kept per sequence.
+     */
+    static final int SKETCH_SIZE = 64;
+
+    /**
+     * The maximum number of sketches a value may be contained in to count towards the estimates.
+     */
+    static final int MAXIMUM_POSTING = 64;
+
+    /**
+     * The number of best partners kept per text.
+     */
+    static final int CANDIDATES_PER_TEXT = 8;
+
+    private static final int KEY_SHIFT = 32;
+    private static final long KEY_MASK = 0xFFFFFFFFL;
+
+    private PairPrioritizer() {
+        // utility class
+    }
+
+    /**
+     * Orders the selected pairs of the provided sequences by their estimated similarity. The best candidates
+     * of every text come first, the most similar first and in the order of their indices for equal estimates;
+     * the remaining pairs follow in the order of their indices and are enumerated only when requested.
+     *
+     * @param sequences the token sequences
+     * @param minMatchLength the minimum length of a match, used as length of the k-grams
+     * @param filter the filter selecting the pairs to order
+     * @return the {@link #key(int, int) keys} of all selected pairs, each exactly once
+     */
+    static PrimitiveIterator.OfLong order(List<List<String>> sequences, int minMatchLength, PairFilter filter) {
+        int texts = sequences.size();
+        long[][] sketches = new long[texts][];
+        for (int text = 0; text < texts; text++) {
+            sketches[text] = sketch(sequences.get(text), minMatchLength);
+        }
+        return new PairOrder(texts, filter, candidates(sketches, filter));
+    }
+
+    /**
+     * Encodes a pair of text indices into a single value. Keys are ordered like the pairs they encode.
+     *
+     * @param first the index of the first text
+     * @param second the index of the second text
+     * @return the key of the pair
+     */
+    static long key(int first, int second) {
+        return ((long) first << KEY_SHIFT) | second;
+    }
+
+    /**
+     * Returns the index of the first text of an encoded pair.
+     *
+     * @param key the key of the pair
+     * @return the index of the first text
+     */
+    static int first(long key) {
+        return (int) (key >>> KEY_SHIFT);
+    }
+
+    /**
+     * Returns the index of the second text of an encoded pair.
+     *
+     * @param key the key of the pair
+     * @return the index of the second text
+     */
+    static int second(long key) {
+        return (int) (key & KEY_MASK);
+    }
+
+    private static long[] sketch(List<String> tokens, int length) {
+        return Arrays.stream(KGramHashes.of(tokens, length)).sorted().distinct().limit(SKETCH_SIZE).toArray();
+    }
+
+    /**
+     * Finds the best partners of every text among the later texts and returns their keys in descending order
+     * of the number of common sketch values, ties broken by the keys.
+     */
+    private static long[] candidates(long[][] sketches, PairFilter filter) {
+        int texts = sketches.length;
+        long[] values = Arrays.stream(sketches).flatMapToLong(Arrays::stream).sorted().distinct().toArray();
+        int[][] ranks = new int[texts][];
+        int[] postingStarts = new int[values.length + 1];
+        for (int text = 0; text < texts; text++) {
+            ranks[text] = new int[sketches[text].length];
+            for (int index = 0; index < ranks[text].length; index++) {
+                ranks[text][index] = Arrays.binarySearch(values, sketches[text][index]);
+                postingStarts[ranks[text][index] + 1]++;
+            }
+        }
+        for (int rank = 1; rank < postingStarts.length; rank++) {
+            postingStarts[rank] += postingStarts[rank - 1];
+        }
+        int[] postings = new int[postingStarts[values.length]];
+        int[] filled = Arrays.copyOf(postingStarts, values.length);
+        for (int text = 0; text < texts; text++) {
+            for (int rank : ranks[text]) {
+                postings[filled[rank]++] = text;
+            }
+        }
+
+        long[] keys = new long[Math.min(texts, Integer.MAX_VALUE / CANDIDATES_PER_TEXT) * CANDIDATES_PER_TEXT];
+        byte[] overlaps = new byte[keys.length];
+        int[] bucketStarts = new int[SKETCH_SIZE + 2];
+        int count = 0;
+        int[] shared = new int[texts];
+        int[] touched = new int[texts];
+        PriorityQueue<Long> best = new PriorityQueue<>();
+        for (int first = 0; first < texts && count < keys.length; first++) {
+            int touchedCount = 0;
+            for (int rank : ranks[first]) {
+                if (postingStarts[rank + 1] - postingStarts[rank] > MAXIMUM_POSTING) {
+                    continue;
+                }
+                for (int posting = postingStarts[rank]; posting < postingStarts[rank + 1]; posting++) {
+                    int second = postings[posting];
+                    if (second > first && shared[second]++ == 0) {
+                        touched[touchedCount++] = second;
+                    }
+                }
+            }
+            for (int index = 0; index < touchedCount; index++) {
+                int second = touched[index];
+                if (filter.includes(first, second)) {
+                    best.add(score(shared[second], second));
+                    if (best.size() > CANDIDATES_PER_TEXT) {
+                        best.poll();
+                    }
+                }
+                shared[second] = 0;
+            }
+            while (!best.isEmpty()) {
+                long score = best.poll();
+                int overlap = (int) (score >>> KEY_SHIFT);
+                keys[count] = key(first, Integer.MAX_VALUE - (int) (score & KEY_MASK));
+                overlaps[count++] = (byte) overlap;
+                bucketStarts[SKETCH_SIZE - overlap + 1]++;
+            }
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++) {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+        long[] order = new long[count];
+        for (int index = 0; index < count; index++) {
+            order[bucketStarts[SKETCH_SIZE - overlaps[index]]++] = keys[index];
+        }
+        return order;
+    }
+
+    /**
+     * Encodes the number of common sketch values and the second text of a candidate so that better
+     * candidates have larger scores: more common values first, then the smaller index.
+     */
+    private static long score(int overlap, int second) {
+        return ((long) overlap << KEY_SHIFT) | (Integer.MAX_VALUE - second);
+    }
+
+    /**
+     * Enumerates the candidates and then the remaining selected pairs, skipping the candidates a second time
+     * by walking their keys in ascending order alongside the pairs.
+     */
+    private static final class PairOrder implements PrimitiveIterator.OfLong {
+
+        private final int texts;
+        private final PairFilter filter;
+        private final long[] candidates;
+        private final long[] sortedCandidates;
+        private int nextCandidate;
+        private int skippedCandidate;
+        private int first;
+        private int second;
+
+        PairOrder(int texts, PairFilter filter, long[] candidates) {
+            this.texts = texts;
+            this.filter = filter;
+            this.candidates = candidates;
+            this.sortedCandidates = candidates.clone();
+            Arrays.sort(this.sortedCandidates);
+            this.second = texts == 0 ? 0 : filter.nextPartner(0, 0);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextCandidate < this.candidates.length || this.first < this.texts;
+        }
+
+        @Override
+        public long nextLong() {
+            if (this.nextCandidate < this.candidates.length) {
+                return this.candidates[this.nextCandidate++];
+            }
+            if (this.first >= this.texts) {
+                throw new NoSuchElementException();
+            }
+            long pair = key(this.first, this.second);
+            this.second = this.filter.nextPartner(this.first, this.second);
+            advance();
+            return pair;
+        }
+
+        /**
+         * Moves to the next selected pair that is not a candidate, or behind the last text if there is none.
+         */
+        private void advance() {
+            while (this.first < this.texts) {
+                if (this.second >= this.texts) {
+                    this.first++;
+                    this.second = this.first < this.texts ? this.filter.nextPartner(this.first, this.first) : 0;
+                    continue;
+                }
+                long pair = key(this.first, this.second);
+                while (this.skippedCandidate < this.sortedCandidates.length
+                        && this.sortedCandidates[this.skippedCandidate] < pair) {
+                    this.skippedCandidate++;
+                }
+                if (this.skippedCandidate == this.sortedCandidates.length
+                        || this.sortedCandidates[this.skippedCandidate] != pair) {
+                    return;
+                }
+                this.second = this.filter.nextPartner(this.first, this.second);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Objects;
+
+/**
+ * The text pairs an analysis compares, selected by the groups of the texts.
+ *
+ * @param mode the way the pairs are selected
+ * @param queryGroup the group compared with all texts if the mode is {@link PairMode#QUERY}, otherwise
+ *                   {@code null}
+ *
+ * @author ugsrv
+ */
+public record PairScope(PairMode mode, String queryGroup) {
+
+    /**
+     * The scope comparing every pair of texts.
+     */
+    public static final PairScope ALL = new PairScope(PairMode.ALL, null);
+
+    /**
+     * The scope comparing only pairs of texts from different groups.
+     */
+    public static final PairScope CROSS = new PairScope(PairMode.CROSS, null);
+
+    private static final String ERROR_QUERY_GROUP = "queryGroup must be provided exactly for the QUERY mode.";
+
+    /**
+     * Constructs a new pair scope.
+     *
+     * @param mode the way the pairs are selected
+     * @param queryGroup the group compared with all texts if the mode is {@link PairMode#QUERY}, otherwise
+     *                   {@code null}
+     * @throws IllegalArgumentException if a query group is provided for another mode or missing for
+     *                                  {@link PairMode#QUERY}
+     */
+    public PairScope {
+        Objects.requireNonNull(mode);
+        if ((mode == PairMode.QUERY) != (queryGroup != null)) {
+            throw new IllegalArgumentException(ERROR_QUERY_GROUP);
+        }
+    }
+
+    /**
+     * Returns the scope comparing the provided group with itself and with every other text.
+     *
+     * @param group the query group
+     * @return the query scope
+     */
+    public static PairScope query(String group) {
+        return new PairScope(PairMode.QUERY, Objects.requireNonNull(group));
+    }
+
+    /**
+     * Returns whether a pair of texts with the provided groups is compared.
+     *
+     * @param firstGroup the group of the first text or {@code null} if it is untagged
+     * @param secondGroup the group of the second text or {@code null} if it is untagged
+     * @return {@code true} if the pair is part of this scope
+     */
+    public boolean includes(String firstGroup, String secondGroup) {
+        return switch (this.mode) {
+            case ALL -> true;
+            case CROSS -> !Objects.equals(firstGroup, secondGroup);
+            case QUERY -> this.queryGroup.equals(firstGroup) || this.queryGroup.equals(secondGroup);
+        };
+    }
+}
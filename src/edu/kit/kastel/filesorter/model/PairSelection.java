@@ -0,0 +1,36 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Map;
+
+/**
+ * The text pairs selected for an analysis: its {@link PairScope} together with the groups the analyzed
+ * texts were tagged with when the analysis started.
+ *
+ * @param scope the scope of the analysis
+ * @param groups the groups of the tagged texts keyed by their identifiers; untagged texts are absent
+ *
+ * @author ugsrv
+ */
+record PairSelection(PairScope scope, Map<String, String> groups) {
+
+    /**
+     * The selection of every pair of texts.
+     */
+    static final PairSelection ALL = new PairSelection(PairScope.ALL, Map.of());
+
+    PairSelection {
+        groups = Map.copyOf(groups);
+    }
+
+    /**
+     * Returns whether the pair of texts with the provided identifiers is selected.
+     *
+     * @param firstIdentifier the identifier of the first text
+     * @param secondIdentifier the identifier of the second text
+     * @return {@code true} if the pair is part of the scope
+     */
+    boolean includes(String firstIdentifier, String secondIdentifier) {
+        return this.scope.mode() == PairMode.ALL
+                || this.scope.includes(this.groups.get(firstIdentifier), this.groups.get(secondIdentifier));
+    }
+}
@@ -0,0 +1,19 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Listener notified about the progress of an analysis while its text pairs are compared.
+ *
+ * @author ugsrv
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called on the analyzing thread whenever the progress interval of the analysis has elapsed, and once
+     * more after the last pair has been compared if the listener has been notified before. The provided
+     * object keeps being updated until the analysis completes.
+     *
+     * @param progress the progress of the running analysis
+     */
+    void progressed(AnalysisProgress progress);
+}
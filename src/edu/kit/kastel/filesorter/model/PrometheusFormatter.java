@@ -0,0 +1,67 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Map;
+
+/**
+ * Formats {@link SessionMetrics} in the Prometheus text exposition format.
+ *
+ * @author ugsrv
+ */
+final class PrometheusFormatter {
+
+    private static final String PREFIX = "sequence_matcher_";
+    private static final String LINE_BREAK = "\n";
+    private static final String FORMAT_HEADER = "# HELP %s%s %s" + LINE_BREAK + "# TYPE %s%s %s" + LINE_BREAK;
+    private static final String FORMAT_SAMPLE = "%s%s%s %s" + LINE_BREAK;
+    private static final String FORMAT_LABEL = "{%s=\"%s\"}";
+    private static final String GAUGE = "gauge";
+    private static final String COUNTER = "counter";
+    private static final String HISTOGRAM = "histogram";
+    private static final String SUMMARY = "summary";
+
+    private PrometheusFormatter() {
+        // utility class
+    }
+
+    static String format(SessionMetrics metrics) {
+        StringBuilder builder = new StringBuilder();
+        gauge(builder, "loaded_texts", "Number of loaded texts.", metrics.getLoadedTexts());
+        gauge(builder, "tokens", "Number of tokens of the last analysis.", metrics.getTotalTokens());
+        gauge(builder, "matches", "Number of matches of the last analysis.", metrics.getMatches());
+        gauge(builder, "corpus_heap_bytes", "Estimated heap used by texts and token sequences.",
+                metrics.getCorpusHeapBytes());
+        gauge(builder, "cache_hit_ratio", "Share of pair comparisons answered from the run cache.",
+                metrics.getCacheHitRate());
+
+        header(builder, "analysis_duration_seconds", "Duration of analyses.", HISTOGRAM);
+        metrics.getAnalysisDurationBuckets().forEach((bound, count) -> sample(builder,
+                "analysis_duration_seconds_bucket", FORMAT_LABEL.formatted("le", bound), count));
+        sample(builder, "analysis_duration_seconds_sum", "", metrics.getAnalysisSecondsTotal());
+        sample(builder, "analysis_duration_seconds_count", "", metrics.getAnalyses());
+
+        header(builder, "command_duration_seconds", "Latency of commands per keyword.", SUMMARY);
+        Map<String, Double> totals = metrics.getCommandTotalSeconds();
+        metrics.getCommandCounts().forEach((keyword, count) -> {
+            String label = FORMAT_LABEL.formatted("keyword", keyword);
+            sample(builder, "command_duration_seconds_sum", label, totals.get(keyword));
+            sample(builder, "command_duration_seconds_count", label, count);
+        });
+        header(builder, "command_failures_total", "Number of failed commands per keyword.", COUNTER);
+        metrics.getCommandFailures().forEach((keyword, failures) -> sample(builder, "command_failures_total",
+                FORMAT_LABEL.formatted("keyword", keyword), failures));
+        return builder.toString();
+    }
+
+    private static void gauge(StringBuilder builder, String name, String help, Number value) {
+        header(builder, name, help, GAUGE);
+        sample(builder, name, "", value);
+    }
+
+    private static void header(StringBuilder builder, String name, String help, String type) {
+        builder.append(FORMAT_HEADER.formatted(PREFIX, name, help, PREFIX, name, type));
+    }
+
+    private static void sample(StringBuilder builder, String name, String labels, Number value) {
+        builder.append(FORMAT_SAMPLE.formatted(PREFIX, name, labels, value));
+    }
+}
@@ -0,0 +1,21 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Stores the content of a text as a plain string.
+ *
+ * @param content the content of the text
+ *
+ * @author ugsrv
+ */
+record RawText(String content) implements TextStorage {
+
+    @Override
+    public long footprint() {
+        return MemoryFootprint.ofString(this.content);
+    }
+
+    @Override
+    public StorageMode mode() {
+        return StorageMode.RAW;
+    }
+}
@@ -0,0 +1,395 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent inverted index of the k-grams of a reference corpus, with k being the minimum match length.
+ * It finds all matches of a single text against every text of the corpus without comparing any pair of
+ * texts token by token.
+ *
+ * <p>An index file consists of a fixed header, a metadata section, a token section, a bucket section and
+ * a posting section. The metadata section contains the tokenization strategy, the minimum match length,
+ * the token dictionary and the position of every text within the token section, which stores the interned
+ * token identifiers of all texts. The posting section stores the text and start index of every k-gram,
+ * grouped into buckets by the leading bits of the hash value of the k-gram, and the bucket section stores
+ * where every bucket starts. There are at least as many buckets as k-grams, so a lookup visits about one
+ * posting per k-gram of the queried text. The token, bucket and posting sections are memory-mapped when an
+ * index is opened. Opening checks the header, the metadata and the bounds of the sections; every bucket and
+ * posting a query visits is checked to lie within its section and text, so a corrupt index fails the query
+ * with an {@link IOException} while opening takes time independent of the size of the index.</p>
+ *
+ * <p>A match of at least k tokens starts with a k-gram that is contained in both texts, so every match is
+ * found by looking up the k-grams of the queried text and extending the postings that start a match. The
+ * matches are identical to those an analysis of the text and a reference text would find.</p>
+ *
+ * @author ugsrv
+ */
+final class ReferenceIndex {
+
+    private static final int MAGIC = 0x5849524B;
+    private static final int VERSION = 1;
+    private static final int TOKEN_SECTION = 0;
+    private static final int BUCKET_SECTION = 1;
+    private static final int POSTING_SECTION = 2;
+    private static final int SECTIONS = 3;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * SECTIONS * Long.BYTES;
+    private static final long SECTIONS_POSITION = 2 * Integer.BYTES;
+    private static final int POSTING_INTS = 2;
+    private static final int MINIMUM_BUCKETS = 2;
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+    private static final long MAXIMUM_K_GRAMS = (Integer.MAX_VALUE - Long.BYTES) / POSTING_INTS;
+    private static final int TEXT_ENTRY_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String ERROR_NOT_AN_INDEX = "not a reference index";
+    private static final String ERROR_CORRUPT_INDEX = "corrupt reference index";
+    private static final String ERROR_UNSUPPORTED_VERSION = "unsupported index version %d";
+    private static final String ERROR_TOO_MANY_K_GRAMS = "%d k-grams exceed the capacity of an index";
+
+    private final Metadata metadata;
+    private final MappedIntRegion tokens;
+    private final MappedIntRegion buckets;
+    private final MappedIntRegion postings;
+    private final int bucketShift;
+
+    private ReferenceIndex(Metadata metadata, MappedIntRegion tokens, MappedIntRegion buckets,
+            MappedIntRegion postings) {
+        this.metadata = metadata;
+        this.tokens = tokens;
+        this.buckets = buckets;
+        this.postings = postings;
+        this.bucketShift = shiftFor(buckets.length() - 1);
+    }
+
+    /**
+     * Tokenizes the provided texts and writes an index of their k-grams. The index is written to a
+     * temporary file first and then moved into place, so an index that is currently mapped is never
+     * modified.
+     *
+     * @param target the file to write the index to
+     * @param strategy the strategy to tokenize the texts with
+     * @param minMatchLength the minimum length of a match, used as length of the k-grams
+     * @param texts the texts of the reference corpus
+     * @return the number of indexed k-grams
+     * @throws IOException if the index cannot be written or the corpus contains more k-grams than an
+     *                     array can hold
+     */
+    static long write(Path target, TokenizationStrategy strategy, int minMatchLength, Collection<LoadedText> texts)
+            throws IOException {
+        TokenInterner interner = new TokenInterner();
+        List<int[]> sequences = new ArrayList<>(texts.size());
+        long kGrams = 0;
+        for (LoadedText text : texts) {
+            int[] sequence = interner.intern(strategy.tokenize(text.content()));
+            sequences.add(sequence);
+            kGrams += Math.max(0, sequence.length - minMatchLength + 1);
+        }
+        if (kGrams > MAXIMUM_K_GRAMS) {
+            throw new IOException(ERROR_TOO_MANY_K_GRAMS.formatted(kGrams));
+        }
+        int[] bucketStarts = new int[bucketCountFor(kGrams) + 1];
+        int[] postingList = new int[(int) kGrams * POSTING_INTS];
+        fillPostings(sequences, minMatchLength, bucketStarts, postingList);
+
+        Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        try (ChannelWriter writer = new ChannelWriter(temporary)) {
+            writeMetadata(writer, strategy, minMatchLength, interner);
+            writer.writeInt(texts.size());
+            long offset = 0;
+            int text = 0;
+            for (LoadedText loadedText : texts) {
+                writer.writeString(loadedText.identifier());
+                writer.writeLong(offset);
+                writer.writeInt(sequences.get(text).length);
+                offset += sequences.get(text++).length;
+            }
+            startSection(writer, TOKEN_SECTION, offset);
+            for (int[] sequence : sequences) {
+                writeInts(writer, sequence);
+            }
+            startSection(writer, BUCKET_SECTION, bucketStarts.length);
+            writeInts(writer, bucketStarts);
+            startSection(writer, POSTING_SECTION, postingList.length);
+            writeInts(writer, postingList);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return kGrams;
+    }
+
+    /**
+     * Sorts the k-grams of the sequences into their buckets with a counting sort, so the postings of every
+     * bucket are ordered by text and start index.
+     */
+    private static void fillPostings(List<int[]> sequences, int minMatchLength, int[] bucketStarts,
+            int[] postingList) {
+        int shift = shiftFor(bucketStarts.length - 1);
+        for (int[] sequence : sequences) {
+            for (long hash : KGramHashes.of(sequence, minMatchLength)) {
+                bucketStarts[(int) (hash >>> shift) + 1]++;
+            }
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++) {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+        int[] cursors = bucketStarts.clone();
+        for (int text = 0; text < sequences.size(); text++) {
+            long[] hashes = KGramHashes.of(sequences.get(text), minMatchLength);
+            for (int start = 0; start < hashes.length; start++) {
+                int posting = cursors[(int) (hashes[start] >>> shift)]++ * POSTING_INTS;
+                postingList[posting] = text;
+                postingList[posting + 1] = start;
+            }
+        }
+    }
+
+    private static int bucketCountFor(long kGrams) {
+        int buckets = MINIMUM_BUCKETS;
+        while (buckets < kGrams && buckets < MAXIMUM_BUCKETS) {
+            buckets <<= 1;
+        }
+        return buckets;
+    }
+
+    private static int shiftFor(long bucketCount) {
+        return Long.SIZE - Long.numberOfTrailingZeros(bucketCount);
+    }
+
+    private static void writeMetadata(ChannelWriter writer, TokenizationStrategy strategy, int minMatchLength,
+            TokenInterner interner) throws IOException {
+        writer.writeInt(MAGIC);
+        writer.writeInt(VERSION);
+        for (int field = 0; field < 2 * SECTIONS; field++) {
+            writer.writeLong(0);
+        }
+        writer.writeString(strategy.name());
+        writer.writeInt(minMatchLength);
+        writer.writeInt(interner.size());
+        for (int identifier = 0; identifier < interner.size(); identifier++) {
+            writer.writeString(interner.token(identifier));
+        }
+    }
+
+    private static void startSection(ChannelWriter writer, int section, long length) throws IOException {
+        writer.align(Integer.BYTES);
+        writer.patchLong(SECTIONS_POSITION + 2L * section * Long.BYTES, writer.position());
+        writer.patchLong(SECTIONS_POSITION + (2L * section + 1) * Long.BYTES, length);
+    }
+
+    private static void writeInts(ChannelWriter writer, int[] values) throws IOException {
+        for (int value : values) {
+            writer.writeInt(value);
+        }
+    }
+
+    /**
+     * Opens the index stored in the provided file.
+     *
+     * @param source the file containing the index
+     * @return the opened index
+     * @throws IOException if the file cannot be read or is not a supported index
+     */
+    static ReferenceIndex open(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int read;
+            do {
+                read = channel.read(header);
+            } while (read >= 0 && header.hasRemaining());
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(ERROR_NOT_AN_INDEX);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(ERROR_UNSUPPORTED_VERSION.formatted(version));
+            }
+            try {
+                return readIndex(channel, header);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+                throw new IOException(ERROR_NOT_AN_INDEX, e);
+            }
+        }
+    }
+
+    private static ReferenceIndex readIndex(FileChannel channel, ByteBuffer header) throws IOException {
+        long[] sections = new long[2 * SECTIONS];
+        for (int field = 0; field < sections.length; field++) {
+            sections[field] = header.getLong();
+        }
+        long metadataEnd = sections[2 * TOKEN_SECTION];
+        if (metadataEnd < HEADER_BYTES || metadataEnd > channel.size()) {
+            throw new IOException(ERROR_NOT_AN_INDEX);
+        }
+        MetadataReader reader = new MetadataReader(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                metadataEnd - HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN), ERROR_NOT_AN_INDEX);
+        MappedIntRegion[] regions = new MappedIntRegion[SECTIONS];
+        for (int section = 0; section < SECTIONS; section++) {
+            reader.checkSection(channel, sections[2 * section], sections[2 * section + 1]);
+            regions[section] = MappedIntRegion.map(channel, sections[2 * section], sections[2 * section + 1]);
+        }
+        Metadata metadata = readMetadata(reader, regions[TOKEN_SECTION]);
+        checkPostings(reader, regions[BUCKET_SECTION], regions[POSTING_SECTION]);
+        return new ReferenceIndex(metadata, regions[TOKEN_SECTION], regions[BUCKET_SECTION], regions[POSTING_SECTION]);
+    }
+
+    private static Metadata readMetadata(MetadataReader metadata, MappedIntRegion tokens) throws IOException {
+        TokenizationStrategy strategy = TokenizationStrategy.fromName(metadata.readString());
+        int minMatchLength = metadata.readInt();
+        metadata.check(minMatchLength > 0);
+        int dictionarySize = metadata.readCount(Integer.BYTES);
+        Map<String, Integer> dictionary = new HashMap<>(dictionarySize * 2);
+        for (int identifier = 0; identifier < dictionarySize; identifier++) {
+            dictionary.put(metadata.readString(), identifier);
+        }
+        String[] identifiers = new String[metadata.readCount(TEXT_ENTRY_BYTES)];
+        long[] offsets = new long[identifiers.length];
+        int[] sizes = new int[identifiers.length];
+        for (int text = 0; text < identifiers.length; text++) {
+            identifiers[text] = metadata.readString();
+            offsets[text] = metadata.readLong();
+            sizes[text] = metadata.readInt();
+            metadata.check(offsets[text] >= 0 && sizes[text] >= 0 && offsets[text] <= tokens.length() - sizes[text]);
+        }
+        return new Metadata(strategy, minMatchLength, dictionary, identifiers, offsets, sizes);
+    }
+
+    /**
+     * Checks the shape of the bucket and posting sections: a power of two of buckets whose starts span the
+     * postings. The individual buckets and postings are checked when a query visits them.
+     */
+    private static void checkPostings(MetadataReader reader, MappedIntRegion buckets, MappedIntRegion postings)
+            throws IOException {
+        long bucketCount = buckets.length() - 1;
+        reader.check(bucketCount >= MINIMUM_BUCKETS && bucketCount <= MAXIMUM_BUCKETS
+                && Long.bitCount(bucketCount) == 1 && postings.length() % POSTING_INTS == 0);
+        reader.check(buckets.get(0) == 0 && buckets.get(bucketCount) == postings.length() / POSTING_INTS);
+    }
+
+    /**
+     * Finds all matches of the provided text against the texts of the index. A reference text with the
+     * same identifier as the queried text is skipped.
+     *
+     * @param identifier the identifier of the queried text
+     * @param content the content of the queried text
+     * @return the matches with the queried text as first and a reference text as second text, ordered by
+     *         the position of the reference text in the index and then by their start indices
+     * @throws IOException if a visited bucket or posting of the index is corrupt
+     */
+    List<AnalysisMatch> query(String identifier, String content) throws IOException {
+        int[] codes = encode(this.metadata.strategy().tokenize(content));
+        int minMatchLength = this.metadata.minMatchLength();
+        long[] hashes = KGramHashes.of(codes, minMatchLength);
+        long postingCount = this.postings.length() / POSTING_INTS;
+        List<Hit> hits = new ArrayList<>();
+        for (int index = 0; index < hashes.length; index++) {
+            int bucket = (int) (hashes[index] >>> this.bucketShift);
+            long begin = this.buckets.get(bucket);
+            long end = this.buckets.get(bucket + 1);
+            check(begin >= 0 && begin <= end && end <= postingCount);
+            for (long posting = begin; posting < end; posting++) {
+                int text = this.postings.get(posting * POSTING_INTS);
+                int start = this.postings.get(posting * POSTING_INTS + 1);
+                check(text >= 0 && text < this.metadata.sizes().length && start >= 0
+                        && (long) start + minMatchLength <= this.metadata.sizes()[text]);
+                if (this.metadata.identifiers()[text].equals(identifier) || !isStartOfMatch(codes, index, text, start)) {
+                    continue;
+                }
+                int length = matchLength(codes, index, text, start);
+                if (length >= minMatchLength) {
+                    hits.add(new Hit(text, new AnalysisMatch(identifier, index, this.metadata.identifiers()[text],
+                            start, length)));
+                }
+            }
+        }
+        hits.sort(Comparator.comparingInt(Hit::text).thenComparingInt(hit -> hit.match().firstIndex())
+                .thenComparingInt(hit -> hit.match().secondIndex()));
+        return hits.stream().map(Hit::match).toList();
+    }
+
+    private static void check(boolean valid) throws IOException {
+        if (!valid) {
+            throw new IOException(ERROR_CORRUPT_INDEX);
+        }
+    }
+
+    /**
+     * Maps the tokens to their identifiers in the dictionary. Tokens missing from the dictionary receive
+     * distinct negative codes, so they are equal to each other but to no token of the index.
+     */
+    private int[] encode(List<String> queryTokens) {
+        Map<String, Integer> unknown = new HashMap<>();
+        int[] codes = new int[queryTokens.size()];
+        for (int index = 0; index < codes.length; index++) {
+            String token = queryTokens.get(index);
+            Integer code = this.metadata.dictionary().get(token);
+            codes[index] = code != null ? code : -1 - unknown.computeIfAbsent(token, key -> unknown.size());
+        }
+        return codes;
+    }
+
+    private boolean isStartOfMatch(int[] codes, int index, int text, int start) {
+        return index == 0 || start == 0 || codes[index - 1] != tokenAt(text, start - 1);
+    }
+
+    private int matchLength(int[] codes, int index, int text, int start) {
+        int available = Math.min(codes.length - index, this.metadata.sizes()[text] - start);
+        int length = 0;
+        while (length < available && codes[index + length] == tokenAt(text, start + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private int tokenAt(int text, int index) {
+        return this.tokens.get(this.metadata.offsets()[text] + index);
+    }
+
+    /**
+     * Returns the strategy the texts of the index were tokenized with.
+     *
+     * @return the tokenization strategy
+     */
+    TokenizationStrategy strategy() {
+        return this.metadata.strategy();
+    }
+
+    /**
+     * Returns the minimum length of the matches found, which is the length of the indexed k-grams.
+     *
+     * @return the minimum match length
+     */
+    int minMatchLength() {
+        return this.metadata.minMatchLength();
+    }
+
+    /**
+     * Returns the number of texts of the reference corpus.
+     *
+     * @return the number of indexed texts
+     */
+    int textCount() {
+        return this.metadata.identifiers().length;
+    }
+
+    private record Metadata(TokenizationStrategy strategy, int minMatchLength, Map<String, Integer> dictionary,
+            String[] identifiers, long[] offsets, int[] sizes) {
+    }
+
+    private record Hit(int text, AnalysisMatch match) {
+    }
+}
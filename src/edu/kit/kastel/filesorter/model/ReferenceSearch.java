@@ -0,0 +1,193 @@
+package edu.kit.kastel.filesorter.model;
+
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Searches texts similar to a single loaded text without a full analysis: in a persistent
+ * {@link ReferenceIndex} of a reference corpus, e.g. an archive of earlier submissions, or among the other
+ * loaded texts by {@link LshBands locality-sensitive hashing}. The index stays open when the loaded texts
+ * are cleared.
+ *
+ * @author ugsrv
+ */
+public final class ReferenceSearch {
+
+    private static final String ERROR_NO_INDEX = "No reference index opened.";
+    private static final String ERROR_UNKNOWN_IDENTIFIER = "No text stored for identifier '%s'.";
+    private static final String ERROR_COULD_NOT_WRITE_INDEX = "Could not write reference index: %s.";
+    private static final String ERROR_COULD_NOT_OPEN_INDEX = "Could not open reference index: %s.";
+    private static final String ERROR_COULD_NOT_READ_INDEX = "Could not read reference index: %s.";
+    private static final String ERROR_INVALID_MIN_MATCH_LENGTH = "Minimum match length must be positive.";
+    private static final String MESSAGE_BUILT = "Indexed %d texts with %d k-grams to %s";
+    private static final String MESSAGE_OPENED = "Opened reference index with %d texts (%s, minimum match length %d)";
+    private static final String CANDIDATE_GROUP = "\0candidate";
+    private static final String FORMAT_REFERENCE = "%s: %d tokens matched";
+
+    private final LoadedTexts texts;
+    private ReferenceIndex index;
+    private LshTable table;
+
+    ReferenceSearch(LoadedTexts texts) {
+        this.texts = texts;
+    }
+
+    /**
+     * Writes an index of all loaded texts to the provided file and opens it as reference corpus.
+     *
+     * @param path the file to write the index to
+     * @param strategy the strategy to tokenize the texts with
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the result of the operation
+     */
+    public Result build(Path path, TokenizationStrategy strategy, int minMatchLength) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(strategy);
+        if (minMatchLength < 1) {
+            return Result.error(ERROR_INVALID_MIN_MATCH_LENGTH);
+        }
+        long kGrams;
+        try {
+            kGrams = ReferenceIndex.write(path, strategy, minMatchLength, this.texts.values());
+            this.index = ReferenceIndex.open(path);
+        } catch (IOException | InvalidPathException e) {
+            return Result.error(ERROR_COULD_NOT_WRITE_INDEX.formatted(e.getMessage()));
+        }
+        return Result.success(MESSAGE_BUILT.formatted(this.index.textCount(), kGrams, path));
+    }
+
+    /**
+     * Opens the index stored in the provided file as reference corpus.
+     *
+     * @param path the file containing the index
+     * @return the result of the operation
+     */
+    public Result open(Path path) {
+        Objects.requireNonNull(path);
+        try {
+            this.index = ReferenceIndex.open(path);
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_OPEN_INDEX.formatted(e.getMessage()));
+        }
+        return Result.success(MESSAGE_OPENED.formatted(this.index.textCount(), this.index.strategy(),
+                this.index.minMatchLength()));
+    }
+
+    /**
+     * Finds all matches of a loaded text against the reference corpus, using the tokenization strategy
+     * and minimum match length of the index.
+     *
+     * @param identifier the identifier of the loaded text
+     * @return the matches with the loaded text as first and a reference text as second text, or {@code null}
+     *         if no index is open or no text is stored under the identifier
+     * @throws IOException if the index is corrupt
+     */
+    public List<AnalysisMatch> find(String identifier) throws IOException {
+        LoadedText text = this.texts.get(identifier);
+        if (this.index == null || text == null) {
+            return null;
+        }
+        return this.index.query(identifier, text.content());
+    }
+
+    /**
+     * Lists the matches of a loaded text against the reference corpus. The reference texts are ordered by
+     * the total length of their matches, the most similar first, and their matches are listed like by
+     * {@link SequenceMatcher#matches(String, String)}.
+     *
+     * @param identifier the identifier of the loaded text
+     * @return the formatted matches, or an error if no index is open or the text is unknown
+     */
+    public Result query(String identifier) {
+        Objects.requireNonNull(identifier);
+        if (this.index == null) {
+            return Result.error(ERROR_NO_INDEX);
+        }
+        if (this.texts.get(identifier) == null) {
+            return Result.error(ERROR_UNKNOWN_IDENTIFIER.formatted(identifier));
+        }
+        List<AnalysisMatch> matches;
+        try {
+            matches = find(identifier);
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_READ_INDEX.formatted(e.getMessage()));
+        }
+        Map<String, List<AnalysisMatch>> byReference = new LinkedHashMap<>();
+        for (AnalysisMatch match : matches) {
+            byReference.computeIfAbsent(match.secondIdentifier(), key -> new ArrayList<>()).add(match);
+        }
+        List<Map.Entry<String, List<AnalysisMatch>>> references = new ArrayList<>(byReference.entrySet());
+        Comparator<Map.Entry<String, List<AnalysisMatch>>> bySimilarity = Comparator.comparingInt(
+                entry -> -totalLength(entry.getValue()));
+        references.sort(bySimilarity.thenComparing(Map.Entry::getKey));
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<AnalysisMatch>> reference : references) {
+            lines.add(FORMAT_REFERENCE.formatted(reference.getKey(), totalLength(reference.getValue())));
+            lines.add(AnalysisMatchFormatter.format(reference.getValue(), identifier, reference.getKey()));
+        }
+        return lines.isEmpty() ? Result.success() : Result.success(String.join(System.lineSeparator(), lines));
+    }
+
+    /**
+     * Compares a loaded text with the other loaded texts sharing a locality-sensitive hash bucket with it.
+     * The buckets of all texts are built once per strategy and minimum match length and rebuilt only after
+     * texts have been loaded or cleared; the candidates are then looked up in the buckets of the text and
+     * compared exactly with the token sequences computed for the buckets. Texts sharing few k-grams may
+     * therefore be missed.
+     *
+     * @param identifier the identifier of the loaded text
+     * @param strategy the strategy to tokenize the texts with
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @return the analysis of the pairs of the text and its candidates, or {@code null} if no text is stored
+     *         under the identifier
+     * @throws IOException if the matches cannot be stored
+     * @throws IllegalArgumentException if {@code minMatchLength} is less than 1
+     */
+    public AnalysisResult analyzeCandidates(String identifier, TokenizationStrategy strategy, int minMatchLength)
+            throws IOException {
+        if (minMatchLength < 1) {
+            throw new IllegalArgumentException(ERROR_INVALID_MIN_MATCH_LENGTH);
+        }
+        LoadedText target = this.texts.get(identifier);
+        if (target == null) {
+            return null;
+        }
+        if (this.table == null || !this.table.describes(this.texts, strategy, minMatchLength)) {
+            this.table = new LshTable(this.texts, strategy, minMatchLength);
+        }
+        List<LoadedText> candidates = new ArrayList<>(List.of(target.withGroup(CANDIDATE_GROUP)));
+        for (String candidate : this.table.candidates(identifier)) {
+            candidates.add(this.texts.get(candidate));
+        }
+        AnalysisOptions options = AnalysisOptions.DEFAULT.withPairScope(PairScope.query(CANDIDATE_GROUP));
+        Analyzer analyzer = new Analyzer(strategy, minMatchLength, options, null);
+        Map<String, List<String>> tokenizedTexts = analyzer.tokenize(candidates,
+                text -> this.table.tokens(text.identifier()));
+        List<AnalysisMatch> matches = analyzer.collect(tokenizedTexts);
+        return AnalysisResult.wrap(strategy, minMatchLength, tokenizedTexts, matches, analyzer.statistics(),
+                analyzer.coverage(), analyzer.selection());
+    }
+
+    /**
+     * Estimates the heap retained by the buckets built for {@link #analyzeCandidates(String, TokenizationStrategy,
+     * int)}.
+     *
+     * @return the estimated footprint in bytes, or {@code 0} if no buckets have been built
+     */
+    long candidateFootprint() {
+        return this.table == null ? 0 : this.table.footprint();
+    }
+
+    private static int totalLength(List<AnalysisMatch> matches) {
+        return matches.stream().mapToInt(AnalysisMatch::length).sum();
+    }
+}
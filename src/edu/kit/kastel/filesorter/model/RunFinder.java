@@ -0,0 +1,42 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+
+/**
+ * Finds the runs of pairs of the token sequences a {@link MatchEngine} has been prepared for. A finder is
+ * used by a single analysis on a single thread.
+ *
+ * @author ugsrv
+ */
+public interface RunFinder {
+
+    /**
+     * Finds the runs of a pair of sequences. Pairs are requested in ascending order of their first and then
+     * their second sequence, unless the analysis is limited by a time budget.
+     *
+     * @param first the index of the first sequence
+     * @param second the index of the second sequence, not smaller than the first; if both are equal, the
+     *               sequence is compared with itself, which must yield the run covering the whole sequence
+     * @return the runs of at least the minimum match length, ordered by their start index in the first and
+     *         then in the second sequence
+     */
+    List<TokenRun> find(int first, int second);
+
+    /**
+     * Returns the number of token comparisons made since the last call and resets it. The value is only
+     * reported in the statistics of the analysis.
+     *
+     * @return the number of token comparisons
+     */
+    long takeComparisons();
+
+    /**
+     * Returns how the algorithm of this finder has been chosen, e.g. by {@link AutoEngine}, to be reported
+     * with the analysis.
+     *
+     * @return the description of the decision, or {@code null} if the algorithm was chosen explicitly
+     */
+    default String decision() {
+        return null;
+    }
+}
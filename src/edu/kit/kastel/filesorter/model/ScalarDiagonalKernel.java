@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Arrays;
+
+/**
+ * The {@link DiagonalKernel} comparing one pair of tokens at a time. It is always available and serves as
+ * the fallback of the kernel using the Vector API.
+ *
+ * @author ugsrv
+ */
+final class ScalarDiagonalKernel implements DiagonalKernel {
+
+    /**
+     * The only instance of the kernel, which has no state.
+     */
+    static final ScalarDiagonalKernel INSTANCE = new ScalarDiagonalKernel();
+
+    private static final String DESCRIPTION = "scalar kernel";
+
+    private ScalarDiagonalKernel() {
+    }
+
+    @Override
+    public int nextEqual(int[] first, int firstStart, int[] second, int secondStart, int length) {
+        int offset = 0;
+        while (offset < length && first[firstStart + offset] != second[secondStart + offset]) {
+            offset++;
+        }
+        return offset;
+    }
+
+    @Override
+    public int nextDifferent(int[] first, int firstStart, int[] second, int secondStart, int length) {
+        int offset = Arrays.mismatch(first, firstStart, firstStart + length, second, secondStart,
+                secondStart + length);
+        return offset < 0 ? length : offset;
+    }
+
+    @Override
+    public String describe() {
+        return DESCRIPTION;
+    }
+}
@@ -7,12 +7,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -30,19 +26,30 @@ public class SequenceMatcher {
     private static final String ERROR_COULD_NOT_READ_FILE = "Could not read file.";
     private static final String MESSAGE_LOADED = "Loaded %s";
     private static final String MESSAGE_UPDATED = "Updated %s";
+    private static final String MESSAGE_GROUPED = "Tagged %d texts with group %s";
     private static final String ERROR_UNKNOWN_IDENTIFIER = "No text stored for identifier '%s'.";
     private static final String ERROR_MISSING_IDENTIFIER = "No identifier provided.";
     private static final String ERROR_MISSING_STRATEGY = "No tokenization strategy provided.";
     private static final String ERROR_INVALID_MIN_MATCH_LENGTH = "Minimum match length must be positive.";
     private static final String MESSAGE_ANALYSIS_TOOK = "Analysis took %dms";
+    private static final String MESSAGE_ANALYSIS_STOPPED = "Analysis stopped after %dms: compared %d of %d pairs";
+    private static final String MESSAGE_PRUNED = " (pruned %d pairs below the similarity floor)";
+    private static final String MESSAGE_ENGINE_DECISION = " (%s)";
     private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
     private static final String ERROR_IDENTIFIER_NOT_ANALYZED = "Identifier '%s' was not part of the last analysis.";
     private static final String MESSAGE_CLEARED = "Cleared all texts.";
-    private static final String FORMAT_MATCH = "Match of length %d: %d-%d";
-    private static final String ERROR_INVALID_IDENTIFIER_MESSAGE = "Match does not involve provided identifiers.";
-
-    private final Map<String, LoadedText> loadedTexts = new LinkedHashMap<>();
-    private AnalysisResult lastAnalysisResult;
+    private static final String MESSAGE_SAVED = "Saved workspace to %s";
+    private static final String MESSAGE_OPENED = "Opened workspace with %d texts";
+    private static final String ERROR_COULD_NOT_WRITE_WORKSPACE = "Could not write workspace.";
+    private static final String ERROR_COULD_NOT_OPEN_WORKSPACE = "Could not open workspace: %s.";
+    private static final String ERROR_COULD_NOT_STORE_MATCHES = "Could not store matches on disk.";
+    private static final String MESSAGE_STORAGE = "Storage mode %s: texts %d -> %d bytes, tokens %d -> %d bytes";
+
+    private final LoadedTexts loadedTexts = new LoadedTexts();
+    private final ReferenceSearch references = new ReferenceSearch(this.loadedTexts);
+    private final SessionMetrics metrics = new SessionMetrics(this);
+    private final StoredAnalysis analysis = new StoredAnalysis();
+    private ProgressListener progressListener;
 
     /**
      * Loads the contents of the file located at the provided {@link Path}. The file name is used as
@@ -111,6 +118,25 @@ public class SequenceMatcher {
         return storeText(identifier, null, text);
     }
 
+    /**
+     * Tags the stored texts with the provided identifiers with a group. Analyses with a {@link PairScope}
+     * other than {@link PairScope#ALL} select the pairs they compare by these groups. Texts keep their group
+     * when they are replaced by a later load.
+     *
+     * @param group the group to tag the texts with
+     * @param identifiers the identifiers of the texts to tag
+     * @return the result of the operation or an error if a text is unknown, in which case no text is tagged
+     */
+    public Result group(String group, List<String> identifiers) {
+        Objects.requireNonNull(group);
+        String unknown = this.loadedTexts.findUnknown(identifiers);
+        if (unknown != null) {
+            return Result.error(ERROR_UNKNOWN_IDENTIFIER.formatted(unknown));
+        }
+        this.loadedTexts.tag(group, identifiers);
+        return Result.success(MESSAGE_GROUPED.formatted(identifiers.size(), group));
+    }
+
     /**
      * Tokenizes the stored text identified by the provided identifier using the given strategy.
      *
@@ -143,6 +169,20 @@ public class SequenceMatcher {
      * @return the result of the analysis
      */
     public Result analyze(TokenizationStrategy strategy, int minMatchLength) {
+        return analyze(strategy, minMatchLength, AnalysisOptions.DEFAULT);
+    }
+
+    /**
+     * Executes a text analysis on all loaded texts using the provided strategy, minimum match length and
+     * analysis options.
+     *
+     * @param strategy the strategy to use for tokenizing the texts prior to analysis
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param options the options controlling the execution of the analysis
+     * @return the result of the analysis
+     */
+    public Result analyze(TokenizationStrategy strategy, int minMatchLength, AnalysisOptions options) {
+        Objects.requireNonNull(options);
         if (strategy == null) {
             return Result.error(ERROR_MISSING_STRATEGY);
         }
@@ -151,17 +191,33 @@ public class SequenceMatcher {
         }
 
         long startTime = System.nanoTime();
-
-        Map<String, List<String>> tokenizedTexts = new LinkedHashMap<>();
-        for (LoadedText loadedText : this.loadedTexts.values()) {
-            tokenizedTexts.put(loadedText.identifier(), strategy.tokenize(loadedText.content()));
+        Analyzer analyzer = new Analyzer(strategy, minMatchLength, options, this.progressListener);
+        Map<String, List<String>> tokenizedTexts = analyzer.tokenize(this.loadedTexts.values());
+        List<AnalysisMatch> matches;
+        try {
+            matches = analyzer.collect(tokenizedTexts);
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_STORE_MATCHES);
         }
-
-        List<AnalysisMatch> matches = collectMatches(tokenizedTexts, minMatchLength);
-        this.lastAnalysisResult = new AnalysisResult(strategy, minMatchLength, tokenizedTexts, matches);
-
-        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
-        return Result.success(MESSAGE_ANALYSIS_TOOK.formatted(durationMs));
+        AnalysisStatistics statistics = analyzer.statistics();
+        statistics.begin(AnalysisPhase.RESULT_COPY);
+        this.analysis.store(AnalysisResult.wrap(strategy, minMatchLength, tokenizedTexts, matches, statistics,
+                analyzer.coverage(), analyzer.selection()), this.loadedTexts.mode());
+        statistics.end(AnalysisPhase.RESULT_COPY);
+        statistics.commit(AnalysisPhase.RESULT_COPY);
+
+        long durationNanos = System.nanoTime() - startTime;
+        this.metrics.recordAnalysis(durationNanos, statistics);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        AnalysisCoverage coverage = analyzer.coverage();
+        String message = coverage.isComplete() ? MESSAGE_ANALYSIS_TOOK.formatted(durationMs)
+                : MESSAGE_ANALYSIS_STOPPED.formatted(durationMs, coverage.comparedPairs(), coverage.totalPairs());
+        if (statistics.prunedPairs() > 0) {
+            message += MESSAGE_PRUNED.formatted(statistics.prunedPairs());
+        }
+        String decision = analyzer.engineDecision();
+        message += decision == null ? "" : MESSAGE_ENGINE_DECISION.formatted(decision);
+        return Result.success(message);
     }
 
     /**
@@ -170,7 +226,45 @@ public class SequenceMatcher {
      * @return the last analysis result or {@code null} if no analysis has been executed yet
      */
     public AnalysisResult getLastAnalysisResult() {
-        return this.lastAnalysisResult;
+        return this.analysis.result();
+    }
+
+    /**
+     * Sets the listener notified about the progress of subsequent analyses at the interval configured in
+     * their {@link AnalysisOptions}.
+     *
+     * @param listener the listener to notify or {@code null} to remove the current listener
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Returns the metrics of the session this matcher belongs to.
+     *
+     * @return the session metrics
+     */
+    public SessionMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the search of loaded texts in the reference corpus of the session.
+     *
+     * @return the reference search
+     */
+    public ReferenceSearch references() {
+        return this.references;
+    }
+
+    /**
+     * Estimates the heap retained by the loaded texts and by the last analysis result.
+     *
+     * @return the estimated footprint of every text, token sequence, match list and cache
+     */
+    public MemoryReport memoryReport() {
+        return MemoryReport.of(this.loadedTexts.values(), this.analysis.result(), this.analysis.tokenFootprint(),
+                this.references.candidateFootprint());
     }
 
     /**
@@ -180,184 +274,134 @@ public class SequenceMatcher {
      */
     public Result clear() {
         this.loadedTexts.clear();
-        this.lastAnalysisResult = null;
+        this.analysis.replaceMapped(null);
         return Result.success(MESSAGE_CLEARED);
     }
 
     /**
-     * Lists statistics about the most recent analysis for each text pair using the provided metric
-     * and ordering.
+     * Saves all loaded texts and the last analysis result as a workspace image to the provided file.
      *
-     * @param metric the metric determining which statistic to display
-     * @param order the order in which results should be returned
-     * @return the formatted result of the listing operation or an error if no analysis result exists
+     * @param path the file to write the workspace image to
+     * @return the result of the save operation
      */
-    public Result list(ListMetric metric, SortOrder order) {
-        Objects.requireNonNull(metric);
-        Objects.requireNonNull(order);
-
-        if (this.lastAnalysisResult == null) {
-            return Result.error(ERROR_NO_ANALYSIS_RESULT);
+    public Result save(Path path) {
+        Objects.requireNonNull(path);
+        try {
+            WorkspaceImage.write(path, this.loadedTexts.values(), this.analysis.result());
+        } catch (IOException | InvalidPathException e) {
+            return Result.error(ERROR_COULD_NOT_WRITE_WORKSPACE);
         }
-
-        return Result.success(AnalysisResultListFormatter
-                .format(this.lastAnalysisResult, metric, order));
+        return Result.success(MESSAGE_SAVED.formatted(path));
     }
 
     /**
-     * Lists all matches from the last analysis for the specified pair of identifiers.
+     * Replaces all loaded texts and the last analysis result with the contents of a workspace image.
      *
-     * @param firstIdentifier the identifier of the first text
-     * @param secondIdentifier the identifier of the second text
-     * @return the formatted matches or an error if the request cannot be fulfilled
+     * @param path the file containing the workspace image
+     * @return the result of the open operation
      */
-    public Result matches(String firstIdentifier, String secondIdentifier) {
-        if (firstIdentifier == null || secondIdentifier == null) {
-            return Result.error(ERROR_MISSING_IDENTIFIER);
-        }
-        if (this.lastAnalysisResult == null) {
-            return Result.error(ERROR_NO_ANALYSIS_RESULT);
-        }
-
-        Map<String, List<String>> tokenizedTexts = this.lastAnalysisResult.tokenizedTexts();
-        Result identifierValidation = validateIdentifierForMatches(firstIdentifier, tokenizedTexts);
-        if (identifierValidation != null) {
-            return identifierValidation;
-        }
-        identifierValidation = validateIdentifierForMatches(secondIdentifier, tokenizedTexts);
-        if (identifierValidation != null) {
-            return identifierValidation;
+    public Result open(Path path) {
+        Objects.requireNonNull(path);
+        WorkspaceImage.Contents contents;
+        try {
+            contents = WorkspaceImage.read(path);
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_OPEN_WORKSPACE.formatted(e.getMessage()));
         }
+        this.loadedTexts.replaceAll(contents.texts());
+        this.analysis.replaceMapped(contents.analysisResult());
+        return Result.success(MESSAGE_OPENED.formatted(contents.texts().size()));
+    }
 
-        List<AnalysisMatch> relevantMatches = new ArrayList<>();
-        for (AnalysisMatch match : this.lastAnalysisResult.matches()) {
-            if (matchInvolvesIdentifiers(match, firstIdentifier, secondIdentifier)) {
-                relevantMatches.add(match);
-            }
+    /**
+     * Switches the in-memory representation of all loaded texts and of the token sequences of the last
+     * analysis result to the provided storage mode. Texts loaded afterwards are stored in the same mode.
+     *
+     * @param mode the storage mode to use
+     * @return the result reporting the estimated footprint before and after the conversion
+     */
+    public Result storage(StorageMode mode) {
+        Objects.requireNonNull(mode);
+        long textsBefore = this.loadedTexts.footprint();
+        long tokensBefore = tokenFootprint();
+        if (mode != this.loadedTexts.mode()) {
+            this.loadedTexts.convert(mode);
+            this.analysis.convert(mode);
         }
+        return Result.success(MESSAGE_STORAGE.formatted(mode, textsBefore, this.loadedTexts.footprint(), tokensBefore,
+                tokenFootprint()));
+    }
 
-        if (relevantMatches.isEmpty()) {
-            return Result.success();
-        }
+    int loadedTextCount() {
+        return this.loadedTexts.size();
+    }
 
-        relevantMatches.sort(Comparator.comparingInt(AnalysisMatch::length).reversed()
-                .thenComparingInt(match -> searchIndexFor(match, firstIdentifier, secondIdentifier))
-                .thenComparingInt(match -> patternIndexFor(match, firstIdentifier, secondIdentifier)));
+    long textModifications() {
+        return this.loadedTexts.modifications();
+    }
 
-        List<String> lines = new ArrayList<>(relevantMatches.size());
-        for (AnalysisMatch match : relevantMatches) {
-            int searchIndex = searchIndexFor(match, firstIdentifier, secondIdentifier);
-            int patternIndex = patternIndexFor(match, firstIdentifier, secondIdentifier);
-            lines.add(FORMAT_MATCH.formatted(match.length(), searchIndex, patternIndex));
-        }
-        return Result.success(String.join(System.lineSeparator(), lines));
+    StorageMode storageMode() {
+        return this.loadedTexts.mode();
     }
 
-    private Result validateIdentifierForMatches(String identifier, Map<String, List<String>> tokenizedTexts) {
-        if (!tokenizedTexts.containsKey(identifier)) {
-            if (this.loadedTexts.containsKey(identifier)) {
-                return Result.error(ERROR_IDENTIFIER_NOT_ANALYZED.formatted(identifier));
-            }
-            return Result.error(ERROR_UNKNOWN_IDENTIFIER.formatted(identifier));
-        }
-        return null;
+    long corpusFootprint() {
+        return this.loadedTexts.footprint() + tokenFootprint();
     }
 
-    private static boolean matchInvolvesIdentifiers(AnalysisMatch match, String firstIdentifier,
-            String secondIdentifier) {
-        return (match.firstIdentifier().equals(firstIdentifier) && match.secondIdentifier().equals(secondIdentifier))
-                || (match.firstIdentifier().equals(secondIdentifier)
-                        && match.secondIdentifier().equals(firstIdentifier));
+    private long tokenFootprint() {
+        return this.analysis.tokenFootprint().total();
     }
 
     /**
-     * Determines the index of the match within the search text.
+     * Lists statistics about the most recent analysis for each text pair using the provided metric
+     * and ordering.
      *
-     * @param match the match to inspect
-     * @param patternIdentifier the identifier of the pattern text
-     * @param searchIdentifier the identifier of the search text
-     * @return the index of the match within the search text
+     * @param metric the metric determining which statistic to display
+     * @param order the order in which results should be returned
+     * @return the formatted result of the listing operation or an error if no analysis result exists
      */
-    private static int searchIndexFor(AnalysisMatch match, String patternIdentifier, String searchIdentifier) {
-        if (match.firstIdentifier().equals(patternIdentifier) && match.secondIdentifier().equals(searchIdentifier)) {
-            return match.secondIndex();
-        }
-        if (match.firstIdentifier().equals(searchIdentifier) && match.secondIdentifier().equals(patternIdentifier)) {
-            return match.firstIndex();
+    public Result list(ListMetric metric, SortOrder order) {
+        Objects.requireNonNull(metric);
+        Objects.requireNonNull(order);
+
+        if (this.analysis.result() == null) {
+            return Result.error(ERROR_NO_ANALYSIS_RESULT);
         }
-        throw new IllegalArgumentException(ERROR_INVALID_IDENTIFIER_MESSAGE);
+
+        return Result.success(AnalysisResultListFormatter
+                .format(this.analysis.result(), metric, order));
     }
 
     /**
-     * Determines the index of the match within the pattern text.
+     * Lists all matches from the last analysis for the specified pair of identifiers.
      *
-     * @param match the match to inspect
-     * @param patternIdentifier the identifier of the pattern text
-     * @param searchIdentifier the identifier of the search text
-     * @return the index of the match within the pattern text
+     * @param firstIdentifier the identifier of the first text
+     * @param secondIdentifier the identifier of the second text
+     * @return the formatted matches or an error if the request cannot be fulfilled
      */
-    private static int patternIndexFor(AnalysisMatch match, String patternIdentifier, String searchIdentifier) {
-        if (match.firstIdentifier().equals(patternIdentifier) && match.secondIdentifier().equals(searchIdentifier)) {
-            return match.firstIndex();
-        }
-        if (match.firstIdentifier().equals(searchIdentifier) && match.secondIdentifier().equals(patternIdentifier)) {
-            return match.secondIndex();
+    public Result matches(String firstIdentifier, String secondIdentifier) {
+        if (firstIdentifier == null || secondIdentifier == null) {
+            return Result.error(ERROR_MISSING_IDENTIFIER);
         }
-        throw new IllegalArgumentException(ERROR_INVALID_IDENTIFIER_MESSAGE);
-    }
-
-    private static List<AnalysisMatch> collectMatches(Map<String, List<String>> tokenizedTexts, int minMatchLength) {
-        List<AnalysisMatch> matches = new ArrayList<>();
-        List<Entry<String, List<String>>> entries = new ArrayList<>(tokenizedTexts.entrySet());
-        for (int firstTextIndex = 0; firstTextIndex < entries.size(); firstTextIndex++) {
-            for (int secondTextIndex = firstTextIndex + 1; secondTextIndex < entries.size(); secondTextIndex++) {
-                matches.addAll(findMatches(entries.get(firstTextIndex), entries.get(secondTextIndex), minMatchLength));
-            }
+        if (this.analysis.result() == null) {
+            return Result.error(ERROR_NO_ANALYSIS_RESULT);
         }
-        return matches;
-    }
 
-    private static List<AnalysisMatch> findMatches(Entry<String, List<String>> firstEntry,
-            Entry<String, List<String>> secondEntry, int minMatchLength) {
-        List<AnalysisMatch> matches = new ArrayList<>();
-        List<String> firstTokens = firstEntry.getValue();
-        List<String> secondTokens = secondEntry.getValue();
-        for (int firstIndex = 0; firstIndex < firstTokens.size(); firstIndex++) {
-            for (int secondIndex = 0; secondIndex < secondTokens.size(); secondIndex++) {
-                int matchLength = determineMatchLength(firstTokens, secondTokens, firstIndex, secondIndex);
-                if (matchLength >= minMatchLength
-                        && isStartOfMatch(firstTokens, secondTokens, firstIndex, secondIndex)) {
-                    matches.add(new AnalysisMatch(firstEntry.getKey(), firstIndex,
-                            secondEntry.getKey(), secondIndex, matchLength));
-                }
+        Map<String, List<String>> tokenizedTexts = this.analysis.result().tokenizedTexts();
+        for (String identifier : List.of(firstIdentifier, secondIdentifier)) {
+            if (!tokenizedTexts.containsKey(identifier)) {
+                return Result.error((this.loadedTexts.get(identifier) != null ? ERROR_IDENTIFIER_NOT_ANALYZED
+                        : ERROR_UNKNOWN_IDENTIFIER).formatted(identifier));
             }
         }
-        return matches;
-    }
-
-    private static int determineMatchLength(List<String> firstTokens, List<String> secondTokens, int firstIndex,
-            int secondIndex) {
-        int length = 0;
-        while (firstIndex + length < firstTokens.size()
-                && secondIndex + length < secondTokens.size()
-                && firstTokens.get(firstIndex + length).equals(secondTokens.get(secondIndex + length))) {
-            length++;
-        }
-        return length;
-    }
 
-    private static boolean isStartOfMatch(List<String> firstTokens, List<String> secondTokens, int firstIndex,
-            int secondIndex) {
-        return firstIndex == 0 || secondIndex == 0 || !firstTokens.get(firstIndex - 1).equals(secondTokens.get(secondIndex - 1));
+        String formatted = AnalysisMatchFormatter.format(this.analysis.result().matches(), firstIdentifier,
+                secondIdentifier);
+        return formatted.isEmpty() ? Result.success() : Result.success(formatted);
     }
 
     private Result storeText(String identifier, Path source, String content) {
-        boolean wasPresent = this.loadedTexts.containsKey(identifier);
-        this.loadedTexts.put(identifier, new LoadedText(identifier, source, content));
-
+        boolean wasPresent = this.loadedTexts.store(identifier, source, content);
         return Result.success((wasPresent ? MESSAGE_UPDATED : MESSAGE_LOADED).formatted(identifier));
     }
-
-    private record LoadedText(String identifier, Path path, String content) {
-    }
 }
@@ -33,15 +33,21 @@ public class SequenceMatcherRunner {
      *    that the game has been forcefully or voluntarily ended.
      * <p>
      * This method ensures the interaction between the game logic and the client, continuously
-     * processing until the quitting condition is met.
+     * processing until the quitting condition is met. While the game runs, its metrics are registered
+     * with the platform MBean server.
      */
     public void start() {
         SequenceMatcher game = this.client.createSequenceMatcher();
         if (game == null) {
             return;
         }
-        while (!this.client.wasQuit()) {
-            this.client.executeAction(game);
+        game.metrics().register();
+        try {
+            while (!this.client.wasQuit()) {
+                this.client.executeAction(game);
+            }
+        } finally {
+            game.metrics().unregister();
         }
     }
 }
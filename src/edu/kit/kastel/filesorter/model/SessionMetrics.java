@@ -0,0 +1,277 @@
+package edu.kit.kastel.filesorter.model;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Collects the metrics of a session of a {@link SequenceMatcher} and publishes them as an MXBean and, if
+ * requested, as a Prometheus text file that is rewritten after every command.
+ *
+ * <p>The values are updated by the session thread and read by the management threads. The counters kept
+ * here are guarded by this object. The values describing the loaded texts and the last analysis result are
+ * derived from state only the session thread may access, so they are computed by the session thread after
+ * every command and published as an immutable snapshot; they are recomputed only if the texts, the
+ * result or the storage mode changed.</p>
+ *
+ * @author ugsrv
+ */
+public final class SessionMetrics implements SessionMetricsMXBean {
+
+    private static final String OBJECT_NAME_FORMAT = "edu.kit.kastel.filesorter:type=SessionMetrics,session=%d";
+    private static final double[] DURATION_BOUNDS_SECONDS = {0.001, 0.01, 0.1, 1, 10, 60, 600};
+    private static final String INFINITE_BOUND = "+Inf";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final SequenceMatcher matcher;
+    private final long[] durationBuckets = new long[DURATION_BOUNDS_SECONDS.length + 1];
+    private final Map<String, CommandLatency> commands = new TreeMap<>();
+    private long analysisNanos;
+    private long cacheHits;
+    private long cacheMisses;
+    private Path textFile;
+    private ObjectName objectName;
+    private volatile CorpusValues corpus = CorpusValues.EMPTY;
+
+    SessionMetrics(SequenceMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    synchronized void recordAnalysis(long nanos, AnalysisStatistics statistics) {
+        int bucket = 0;
+        while (bucket < DURATION_BOUNDS_SECONDS.length && nanos / NANOS_PER_SECOND > DURATION_BOUNDS_SECONDS[bucket]) {
+            bucket++;
+        }
+        this.durationBuckets[bucket]++;
+        this.analysisNanos += nanos;
+        this.cacheHits += statistics.cacheHits();
+        this.cacheMisses += statistics.cacheMisses();
+    }
+
+    /**
+     * Records the execution of a command, publishes the values describing the loaded texts and the last
+     * analysis result and rewrites the Prometheus text file if one was requested. Must be called by the
+     * session thread.
+     *
+     * @param keyword the keyword of the command
+     * @param nanos the time it took to parse and execute the command
+     * @param succeeded whether the command succeeded
+     * @throws IOException if the Prometheus text file cannot be written; it is no longer written afterwards
+     */
+    public synchronized void recordCommand(String keyword, long nanos, boolean succeeded) throws IOException {
+        this.commands.computeIfAbsent(keyword, key -> new CommandLatency()).add(nanos, succeeded);
+        publishCorpus();
+        if (this.textFile != null) {
+            Path path = this.textFile;
+            this.textFile = null;
+            writeTextFile(path);
+            this.textFile = path;
+        }
+    }
+
+    private void publishCorpus() {
+        AnalysisResult result = this.matcher.getLastAnalysisResult();
+        long modifications = this.matcher.textModifications();
+        StorageMode mode = this.matcher.storageMode();
+        CorpusValues previous = this.corpus;
+        if (previous.result() == result && previous.modifications() == modifications && previous.mode() == mode) {
+            return;
+        }
+        long tokens = result == null ? 0 : result.tokenizedTexts().values().stream().mapToLong(List::size).sum();
+        long matches = result == null ? 0 : result.matches().size();
+        this.corpus = new CorpusValues(result, modifications, mode, this.matcher.loadedTextCount(), tokens, matches,
+                this.matcher.corpusFootprint());
+    }
+
+    /**
+     * Writes the metrics to the provided file now and after every further command. The file is replaced
+     * atomically, so a scraper never reads a partially written file.
+     *
+     * @param path the file to write the metrics to
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void exportTo(Path path) throws IOException {
+        writeTextFile(path);
+        this.textFile = path;
+    }
+
+    /**
+     * Returns the metrics in the Prometheus text exposition format.
+     *
+     * @return the formatted metrics
+     */
+    public synchronized String exposition() {
+        return PrometheusFormatter.format(this);
+    }
+
+    /**
+     * Registers this object with the platform MBean server under a name unique to this session.
+     *
+     * @return {@code true} if the registration succeeded
+     */
+    public synchronized boolean register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME_FORMAT.formatted(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            this.objectName = name;
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes this object from the platform MBean server if it was registered.
+     *
+     * @return {@code true} if this object is no longer registered
+     */
+    public synchronized boolean unregister() {
+        if (this.objectName == null) {
+            return true;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(this.objectName);
+        } catch (JMException e) {
+            return false;
+        }
+        this.objectName = null;
+        return true;
+    }
+
+    @Override
+    public int getLoadedTexts() {
+        return this.corpus.loadedTexts();
+    }
+
+    @Override
+    public long getTotalTokens() {
+        return this.corpus.totalTokens();
+    }
+
+    @Override
+    public long getMatches() {
+        return this.corpus.matches();
+    }
+
+    @Override
+    public long getCorpusHeapBytes() {
+        return this.corpus.heapBytes();
+    }
+
+    @Override
+    public synchronized long getAnalyses() {
+        long analyses = 0;
+        for (long count : this.durationBuckets) {
+            analyses += count;
+        }
+        return analyses;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getAnalysisDurationBuckets() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        long cumulative = 0;
+        for (int i = 0; i < this.durationBuckets.length; i++) {
+            cumulative += this.durationBuckets[i];
+            String bound = i < DURATION_BOUNDS_SECONDS.length ? Double.toString(DURATION_BOUNDS_SECONDS[i])
+                    : INFINITE_BOUND;
+            buckets.put(bound, cumulative);
+        }
+        return buckets;
+    }
+
+    @Override
+    public synchronized double getAnalysisSecondsTotal() {
+        return this.analysisNanos / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public synchronized double getCacheHitRate() {
+        long accesses = this.cacheHits + this.cacheMisses;
+        return accesses == 0 ? 0 : (double) this.cacheHits / accesses;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        this.commands.forEach((keyword, latency) -> counts.put(keyword, latency.count));
+        return counts;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getCommandFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        this.commands.forEach((keyword, latency) -> failures.put(keyword, latency.failures));
+        return failures;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getCommandMeanSeconds() {
+        return commandSeconds(latency -> (double) latency.totalNanos / latency.count);
+    }
+
+    @Override
+    public synchronized Map<String, Double> getCommandMaxSeconds() {
+        return commandSeconds(latency -> latency.maximumNanos);
+    }
+
+    /**
+     * Returns the total latency of all commands per keyword.
+     *
+     * @return the total latencies in seconds keyed by keyword
+     */
+    synchronized Map<String, Double> getCommandTotalSeconds() {
+        return commandSeconds(latency -> latency.totalNanos);
+    }
+
+    private Map<String, Double> commandSeconds(ToDoubleFunction<CommandLatency> nanos) {
+        Map<String, Double> seconds = new TreeMap<>();
+        this.commands.forEach((keyword, latency) -> seconds.put(keyword, nanos.applyAsDouble(latency) / NANOS_PER_SECOND));
+        return seconds;
+    }
+
+    private void writeTextFile(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        Files.writeString(temporary, exposition(), StandardCharsets.UTF_8);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The values describing the loaded texts and the last analysis result at the end of a command, together
+     * with the state they were derived from.
+     */
+    private record CorpusValues(AnalysisResult result, long modifications, StorageMode mode, int loadedTexts,
+            long totalTokens, long matches, long heapBytes) {
+
+        private static final CorpusValues EMPTY = new CorpusValues(null, 0, StorageMode.RAW, 0, 0, 0, 0);
+    }
+
+    private static final class CommandLatency {
+        private long count;
+        private long failures;
+        private long totalNanos;
+        private long maximumNanos;
+
+        private void add(long nanos, boolean succeeded) {
+            this.count++;
+            if (!succeeded) {
+                this.failures++;
+            }
+            this.totalNanos += nanos;
+            this.maximumNanos = Math.max(this.maximumNanos, nanos);
+        }
+    }
+}
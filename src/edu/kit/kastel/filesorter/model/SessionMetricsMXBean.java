@@ -0,0 +1,98 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Map;
+
+/**
+ * Management interface publishing the metrics of a session of the {@link SequenceMatcher}. The values
+ * describing the loaded texts and the last analysis result are those at the end of the last command.
+ *
+ * @author ugsrv
+ */
+public interface SessionMetricsMXBean {
+
+    /**
+     * Returns the number of currently loaded texts.
+     *
+     * @return the number of loaded texts
+     */
+    int getLoadedTexts();
+
+    /**
+     * Returns the number of tokens of all texts of the last analysis.
+     *
+     * @return the number of tokens or {@code 0} if there is no analysis result
+     */
+    long getTotalTokens();
+
+    /**
+     * Returns the number of matches of the last analysis.
+     *
+     * @return the number of matches or {@code 0} if there is no analysis result
+     */
+    long getMatches();
+
+    /**
+     * Returns the estimated heap occupied by the loaded texts and the token sequences of the last analysis.
+     *
+     * @return the estimated footprint in bytes
+     */
+    long getCorpusHeapBytes();
+
+    /**
+     * Returns the number of analyses completed in this session.
+     *
+     * @return the number of analyses
+     */
+    long getAnalyses();
+
+    /**
+     * Returns the cumulative number of analyses per upper duration bound in seconds, as in a Prometheus
+     * histogram.
+     *
+     * @return the cumulative bucket counts keyed by their upper bound
+     */
+    Map<String, Long> getAnalysisDurationBuckets();
+
+    /**
+     * Returns the total time spent in analyses.
+     *
+     * @return the total duration in seconds
+     */
+    double getAnalysisSecondsTotal();
+
+    /**
+     * Returns the share of pair comparisons answered from the cache of texts with identical token
+     * sequences, over all analyses of this session.
+     *
+     * @return the hit rate between zero and one, or {@code 0} if the cache was never accessed
+     */
+    double getCacheHitRate();
+
+    /**
+     * Returns the number of executed commands per keyword.
+     *
+     * @return the command counts keyed by keyword
+     */
+    Map<String, Long> getCommandCounts();
+
+    /**
+     * Returns the number of failed commands per keyword.
+     *
+     * @return the failure counts keyed by keyword
+     */
+    Map<String, Long> getCommandFailures();
+
+    /**
+     * Returns the mean latency of the commands per keyword.
+     *
+     * @return the mean latencies in seconds keyed by keyword
+     */
+    Map<String, Double> getCommandMeanSeconds();
+
+    /**
+     * Returns the maximum latency of the commands per keyword.
+     *
+     * @return the maximum latencies in seconds keyed by keyword
+     */
+    Map<String, Double> getCommandMaxSeconds();
+}
@@ -0,0 +1,98 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides without comparing a text pair token by token whether its similarity provably stays below a
+ * {@link SimilarityFloor}.
+ *
+ * <p>The total length of the matches of a pair equals the number of index pairs with equal tokens that
+ * lie within a run of at least {@code minMatchLength} equal tokens. It is therefore bounded by the number
+ * of index pairs with equal tokens, the sum of {@code countA(t) * countB(t)} over all tokens. It is also
+ * bounded by {@code minMatchLength} times the number of index pairs starting equal k-grams of that
+ * length, since a run of length {@code r} contains {@code r - k + 1} of them and {@code r <= k * (r - k + 1)}.
+ * Both sums are computed by merging sorted hash values, which takes linear time; hash collisions can only
+ * increase them. Since all similarity metrics increase with the total match length, a pair whose bound
+ * stays below the floor cannot reach it.</p>
+ *
+ * @author ugsrv
+ */
+final class SimilarityBound {
+
+    private final SimilarityFloor floor;
+    private final int minMatchLength;
+    private final int[] sizes;
+    private final long[][] tokenHashes;
+    private final long[][] gramHashes;
+
+    /**
+     * Prepares the bounds for the provided token sequences.
+     *
+     * @param sequences the token sequences
+     * @param minMatchLength the minimum length of a match measured in tokens
+     * @param floor the similarity floor to check the pairs against
+     */
+    SimilarityBound(List<List<String>> sequences, int minMatchLength, SimilarityFloor floor) {
+        this.floor = floor;
+        this.minMatchLength = minMatchLength;
+        this.sizes = new int[sequences.size()];
+        this.tokenHashes = new long[sequences.size()][];
+        this.gramHashes = new long[sequences.size()][];
+        for (int text = 0; text < sequences.size(); text++) {
+            this.sizes[text] = sequences.get(text).size();
+            this.tokenHashes[text] = KGramHashes.of(sequences.get(text), 1);
+            Arrays.sort(this.tokenHashes[text]);
+            this.gramHashes[text] = KGramHashes.of(sequences.get(text), minMatchLength);
+            Arrays.sort(this.gramHashes[text]);
+        }
+    }
+
+    /**
+     * Checks whether the similarity of the provided pair provably stays below the floor.
+     *
+     * @param first the index of the first text
+     * @param second the index of the second text
+     * @return {@code true} if the pair cannot reach the floor and need not be compared
+     */
+    boolean prunes(int first, int second) {
+        long bound = equalPairs(this.tokenHashes[first], this.tokenHashes[second]);
+        if (isBelowFloor(bound, first, second)) {
+            return true;
+        }
+        bound = Math.min(bound, this.minMatchLength * equalPairs(this.gramHashes[first], this.gramHashes[second]));
+        return isBelowFloor(bound, first, second);
+    }
+
+    private boolean isBelowFloor(long totalMatchLength, int first, int second) {
+        double similarity = this.floor.metric().of(totalMatchLength, this.sizes[first], this.sizes[second]);
+        return similarity < this.floor.minimum();
+    }
+
+    private static long equalPairs(long[] first, long[] second) {
+        long pairs = 0;
+        int firstIndex = 0;
+        int secondIndex = 0;
+        while (firstIndex < first.length && secondIndex < second.length) {
+            if (first[firstIndex] < second[secondIndex]) {
+                firstIndex++;
+            } else if (first[firstIndex] > second[secondIndex]) {
+                secondIndex++;
+            } else {
+                long value = first[firstIndex];
+                long firstCount = 0;
+                while (firstIndex < first.length && first[firstIndex] == value) {
+                    firstIndex++;
+                    firstCount++;
+                }
+                long secondCount = 0;
+                while (secondIndex < second.length && second[secondIndex] == value) {
+                    secondIndex++;
+                    secondCount++;
+                }
+                pairs += firstCount * secondCount;
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,30 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Objects;
+
+/**
+ * A minimum similarity of interest. Pairs that provably stay below it are not compared exactly.
+ *
+ * @param metric the metric the minimum refers to
+ * @param minimum the minimum similarity as a fraction
+ *
+ * @author ugsrv
+ */
+public record SimilarityFloor(SimilarityMetric metric, double minimum) {
+
+    private static final String ERROR_NON_POSITIVE_MINIMUM = "minimum must be positive.";
+
+    /**
+     * Constructs a new similarity floor.
+     *
+     * @param metric the metric the minimum refers to
+     * @param minimum the minimum similarity as a fraction
+     * @throws IllegalArgumentException if {@code minimum} is not positive
+     */
+    public SimilarityFloor {
+        Objects.requireNonNull(metric);
+        if (!(minimum > 0)) {
+            throw new IllegalArgumentException(ERROR_NON_POSITIVE_MINIMUM);
+        }
+    }
+}
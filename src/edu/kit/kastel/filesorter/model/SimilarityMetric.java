@@ -0,0 +1,65 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the similarity measures of a text pair, computed from the total length {@code m} of
+ * the matches of the pair and the token counts {@code a} and {@code b} of both texts. All measures
+ * increase with {@code m}.
+ *
+ * @author ugsrv
+ */
+public enum SimilarityMetric {
+    /**
+     * Symmetric similarity: {@code 2m / (a + b)}.
+     */
+    AVG,
+
+    /**
+     * Maximum similarity: {@code max(m / a, m / b)}.
+     */
+    MAX,
+
+    /**
+     * Minimum similarity: {@code min(m / a, m / b)}.
+     */
+    MIN;
+
+    /**
+     * Finds the similarity metric matching the provided name. Parsing is case insensitive and ignores
+     * surrounding whitespace.
+     *
+     * @param value the string representation of the metric
+     * @return the matching metric or {@code null} if no metric matches the provided name
+     */
+    public static SimilarityMetric findByName(String value) {
+        Objects.requireNonNull(value);
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (SimilarityMetric metric : values()) {
+            if (metric.name().equals(normalized)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the similarity of a text pair.
+     *
+     * @param totalMatchLength the total length of the matches of the pair
+     * @param firstTokens the number of tokens of the first text
+     * @param secondTokens the number of tokens of the second text
+     * @return the similarity as a fraction, {@code 0} if there are no matches
+     */
+    public double of(long totalMatchLength, int firstTokens, int secondTokens) {
+        if (totalMatchLength == 0) {
+            return 0;
+        }
+        return switch (this) {
+            case AVG -> 2.0 * totalMatchLength / ((long) firstTokens + secondTokens);
+            case MAX -> (double) totalMatchLength / Math.min(firstTokens, secondTokens);
+            case MIN -> (double) totalMatchLength / Math.max(firstTokens, secondTokens);
+        };
+    }
+}
@@ -0,0 +1,254 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * A match store that keeps matches on the heap until a memory budget is exceeded and spills all
+ * further matches to run files on local disk.
+ *
+ * <p>Matches are written as fixed-size records (see {@link MappedMatchList}). A run is continued as
+ * long as the records arrive in ascending order of their pair of texts and a new run is started
+ * whenever that order breaks, so every run file is ordered by pair without buffering it in memory.
+ * When the store is finished, the runs are merged into a single file which is memory-mapped and
+ * served as the list of matches. The merge combines at most {@link #MERGE_FAN_IN} runs at a time and
+ * prefers the earlier run among matches of the same pair, so the matches of a pair keep the order in
+ * which they have been added.</p>
+ *
+ * @author ugsrv
+ */
+final class SpillingMatchStore implements MatchStore {
+
+    private static final long MATCH_HEAP_BYTES = MemoryFootprint.ofObject(Integer.BYTES * 3L
+            + MemoryFootprint.REFERENCE_BYTES * 2L) + MemoryFootprint.REFERENCE_BYTES;
+    private static final String DIRECTORY_PREFIX = "sequence-matcher-matches";
+    private static final String RUN_FILE_FORMAT = "run-%d.bin";
+    private static final String MERGED_FILE_FORMAT = "merged-%d.bin";
+    private static final int MERGE_FAN_IN = 64;
+    private static final int SECOND_TEXT = 2;
+    private static final int SECOND_INDEX = 3;
+    private static final int LENGTH = 4;
+
+    private final List<String> identifiers;
+    private final Map<String, Integer> textIndices = new HashMap<>();
+    private final long inMemoryLimit;
+    private final List<AnalysisMatch> inMemory = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private int[] current = new int[MappedMatchList.RECORD_INTS];
+    private int[] previous = new int[MappedMatchList.RECORD_INTS];
+    private Path directory;
+    private ChannelWriter run;
+    private long lastPair;
+    private boolean pairOrdered = true;
+
+    /**
+     * Creates a new store.
+     *
+     * @param identifiers the identifiers of the analyzed texts indexed by their text index
+     * @param memoryBudget the number of heap bytes the matches may occupy before they are spilled
+     */
+    SpillingMatchStore(List<String> identifiers, long memoryBudget) {
+        this.identifiers = identifiers;
+        for (int index = 0; index < identifiers.size(); index++) {
+            this.textIndices.put(identifiers.get(index), index);
+        }
+        this.inMemoryLimit = memoryBudget / MATCH_HEAP_BYTES;
+    }
+
+    @Override
+    public void add(int firstText, int firstIndex, int secondText, int secondIndex, int length) throws IOException {
+        if (this.directory == null) {
+            if (this.inMemory.size() < this.inMemoryLimit) {
+                long pair = InMemoryMatchStore.pairKey(firstText, secondText);
+                this.pairOrdered &= pair >= this.lastPair;
+                this.lastPair = pair;
+                this.inMemory.add(new AnalysisMatch(this.identifiers.get(firstText), firstIndex,
+                        this.identifiers.get(secondText), secondIndex, length));
+                return;
+            }
+            startSpilling();
+        }
+        write(firstText, firstIndex, secondText, secondIndex, length);
+    }
+
+    private void startSpilling() throws IOException {
+        this.directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        for (AnalysisMatch match : this.inMemory) {
+            write(this.textIndices.get(match.firstIdentifier()), match.firstIndex(),
+                    this.textIndices.get(match.secondIdentifier()), match.secondIndex(), match.length());
+        }
+        this.inMemory.clear();
+    }
+
+    private void write(int firstText, int firstIndex, int secondText, int secondIndex, int length) throws IOException {
+        this.current[0] = firstText;
+        this.current[1] = firstIndex;
+        this.current[SECOND_TEXT] = secondText;
+        this.current[SECOND_INDEX] = secondIndex;
+        this.current[LENGTH] = length;
+        if (this.run == null || comparePairs(this.current, this.previous) < 0) {
+            startRun();
+        }
+        for (int value : this.current) {
+            this.run.writeInt(value);
+        }
+        int[] swap = this.previous;
+        this.previous = this.current;
+        this.current = swap;
+    }
+
+    private void startRun() throws IOException {
+        if (this.run != null) {
+            this.run.close();
+        }
+        Path file = this.directory.resolve(RUN_FILE_FORMAT.formatted(this.runs.size()));
+        this.runs.add(file);
+        this.run = new ChannelWriter(file);
+    }
+
+    @Override
+    public List<AnalysisMatch> finish() throws IOException {
+        if (this.directory == null) {
+            if (!this.pairOrdered) {
+                InMemoryMatchStore.sortByPair(this.inMemory, this.identifiers);
+            }
+            return Collections.unmodifiableList(this.inMemory);
+        }
+        this.run.close();
+        Path merged = merge(this.runs);
+        try (FileChannel channel = FileChannel.open(merged)) {
+            MappedIntRegion region = MappedIntRegion.map(channel, 0, channel.size() / Integer.BYTES);
+            return new MappedMatchList(region, this.identifiers.toArray(String[]::new));
+        }
+    }
+
+    @Override
+    public long footprint() {
+        return this.directory == null ? MemoryFootprint.ofMatchList(this.inMemory.size()) : 0;
+    }
+
+    /**
+     * Merges the provided runs in passes of at most {@link #MERGE_FAN_IN} consecutive runs until a single
+     * file remains, so no more than that many files are mapped at once.
+     */
+    private Path merge(List<Path> runFiles) throws IOException {
+        List<Path> remaining = runFiles;
+        int mergedFiles = 0;
+        while (remaining.size() > 1) {
+            List<Path> next = new ArrayList<>();
+            for (int start = 0; start < remaining.size(); start += MERGE_FAN_IN) {
+                List<Path> group = remaining.subList(start, Math.min(start + MERGE_FAN_IN, remaining.size()));
+                if (group.size() == 1) {
+                    next.add(group.get(0));
+                    continue;
+                }
+                Path merged = this.directory.resolve(MERGED_FILE_FORMAT.formatted(mergedFiles++));
+                mergeGroup(group, merged);
+                for (Path file : group) {
+                    deleteOrDefer(file);
+                }
+                next.add(merged);
+            }
+            remaining = next;
+        }
+        return remaining.get(0);
+    }
+
+    private static void mergeGroup(List<Path> group, Path merged) throws IOException {
+        PriorityQueue<RunCursor> queue = new PriorityQueue<>(Comparator.comparing(RunCursor::values,
+                SpillingMatchStore::comparePairs).thenComparingInt(RunCursor::order));
+        for (int order = 0; order < group.size(); order++) {
+            try (FileChannel channel = FileChannel.open(group.get(order))) {
+                RunCursor cursor = new RunCursor(MappedIntRegion.map(channel, 0, channel.size() / Integer.BYTES), order);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+        try (ChannelWriter writer = new ChannelWriter(merged)) {
+            while (!queue.isEmpty()) {
+                RunCursor cursor = queue.poll();
+                for (int value : cursor.values()) {
+                    writer.writeInt(value);
+                }
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+    }
+
+    private static int comparePairs(int[] first, int[] second) {
+        int result = Integer.compare(first[0], second[0]);
+        return result != 0 ? result : Integer.compare(first[SECOND_TEXT], second[SECOND_TEXT]);
+    }
+
+    /**
+     * Deletes the spilled files. Mapped files remain readable until they are unmapped, so the list
+     * returned by {@link #finish()} stays valid on platforms allowing the deletion of mapped files;
+     * on other platforms the files are deleted when the virtual machine exits.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.directory == null) {
+            return;
+        }
+        if (this.run != null) {
+            this.run.close();
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.toList()) {
+                deleteOrDefer(file);
+            }
+        }
+        deleteOrDefer(this.directory);
+    }
+
+    private static void deleteOrDefer(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private static final class RunCursor {
+        private final MappedIntRegion region;
+        private final int order;
+        private final int[] values = new int[MappedMatchList.RECORD_INTS];
+        private long position;
+
+        RunCursor(MappedIntRegion region, int order) {
+            this.region = region;
+            this.order = order;
+        }
+
+        private int[] values() {
+            return this.values;
+        }
+
+        private int order() {
+            return this.order;
+        }
+
+        private boolean advance() {
+            if (this.position >= this.region.length()) {
+                return false;
+            }
+            for (int field = 0; field < this.values.length; field++) {
+                this.values[field] = this.region.get(this.position++);
+            }
+            return true;
+        }
+    }
+}
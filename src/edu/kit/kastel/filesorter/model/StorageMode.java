@@ -0,0 +1,47 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the in-memory representations of loaded texts and token sequences.
+ *
+ * @author ugsrv
+ */
+public enum StorageMode {
+    /**
+     * Texts are stored as strings and token sequences as lists of individual token strings.
+     */
+    RAW,
+
+    /**
+     * Texts are stored as independently deflated blocks and token sequences as variable-length
+     * encoded identifiers into a shared dictionary. Both are decoded only when they are accessed.
+     */
+    COMPRESSED;
+
+    /**
+     * Finds the storage mode matching the provided name. Parsing is case insensitive and ignores
+     * surrounding whitespace.
+     *
+     * @param value the string representation of the storage mode
+     * @return the matching storage mode or {@code null} if no storage mode matches the provided name
+     */
+    public static StorageMode findByName(String value) {
+        Objects.requireNonNull(value);
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (StorageMode mode : values()) {
+            if (mode.name().equals(normalized)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    TextStorage store(String content) {
+        return switch (this) {
+            case RAW -> new RawText(content);
+            case COMPRESSED -> CompressedText.compress(content);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the result of the most recent analysis with its token sequences in the current storage mode and
+ * keeps track of their estimated footprint.
+ *
+ * @author ugsrv
+ */
+final class StoredAnalysis {
+
+    private AnalysisResult result;
+    private TokenFootprint tokenFootprint;
+
+    /**
+     * Returns the stored result.
+     *
+     * @return the stored result or {@code null} if there is none
+     */
+    AnalysisResult result() {
+        return this.result;
+    }
+
+    /**
+     * Stores the result of an analysis, copying or compressing its token sequences.
+     *
+     * @param analyzed the result of the analysis
+     * @param mode the storage mode of the token sequences
+     */
+    void store(AnalysisResult analyzed, StorageMode mode) {
+        if (mode == StorageMode.RAW) {
+            this.tokenFootprint = null;
+            Map<String, List<String>> tokenCopy = new LinkedHashMap<>();
+            analyzed.tokenizedTexts().forEach((identifier, tokens) -> tokenCopy.put(identifier, List.copyOf(tokens)));
+            this.result = analyzed.withTokenizedTexts(tokenCopy);
+            return;
+        }
+        CompressedTokenList.Compressed compressed = CompressedTokenList.compressAll(analyzed.tokenizedTexts());
+        this.tokenFootprint = compressed.footprint();
+        this.result = analyzed.withTokenizedTexts(compressed.tokenizedTexts());
+    }
+
+    /**
+     * Converts the token sequences of the stored result to the provided storage mode.
+     *
+     * @param mode the storage mode to use
+     */
+    void convert(StorageMode mode) {
+        if (this.result != null) {
+            store(this.result, mode);
+        }
+    }
+
+    /**
+     * Replaces the stored result with a result whose token sequences are memory-mapped.
+     *
+     * @param mapped the result to store or {@code null} to remove the stored result
+     */
+    void replaceMapped(AnalysisResult mapped) {
+        this.result = mapped;
+        this.tokenFootprint = TokenFootprint.NONE;
+    }
+
+    /**
+     * Returns the estimated footprint of the token sequences of the stored result.
+     *
+     * @return the estimated footprint
+     */
+    TokenFootprint tokenFootprint() {
+        if (this.result == null) {
+            return TokenFootprint.NONE;
+        }
+        if (this.tokenFootprint == null) {
+            this.tokenFootprint = TokenFootprint.ofTokenLists(this.result.tokenizedTexts());
+        }
+        return this.tokenFootprint;
+    }
+}
@@ -0,0 +1,152 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams rows of a table to a file in one of the supported {@link ExportFormat export formats}. Rows are
+ * encoded directly into the buffer of a {@link ChannelWriter}, so the size of the output is not limited by
+ * the available memory.
+ *
+ * @author ugsrv
+ */
+public final class TableWriter implements AutoCloseable {
+
+    private static final String ERROR_COLUMN_COUNT = "Row has %d values but the table has %d columns.";
+    private static final int MAXIMUM_CACHED_STRINGS = 1 << 12;
+    private static final int MAXIMUM_DIGITS = 20;
+    private static final int DECIMAL_BASE = 10;
+
+    private final ChannelWriter writer;
+    private final ExportFormat format;
+    private final byte[][] fieldPrefixes;
+    private final byte[] rowEnd;
+    private final Map<String, byte[]> encodedStrings = new HashMap<>();
+    private final byte[] digits = new byte[MAXIMUM_DIGITS];
+    private int column;
+    private long rows;
+
+    private TableWriter(ChannelWriter writer, ExportFormat format, List<String> columns) {
+        this.writer = writer;
+        this.format = format;
+        this.fieldPrefixes = new byte[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            this.fieldPrefixes[i] = format.fieldPrefix(columns, i);
+        }
+        this.rowEnd = format.rowEnd();
+    }
+
+    /**
+     * Opens a table writer for the provided file, replacing its previous content, and writes the header
+     * required by the format.
+     *
+     * @param path the file to write to
+     * @param format the format of the output
+     * @param columns the names of the columns of the table
+     * @return the opened table writer
+     * @throws IOException if the file cannot be opened or the header cannot be written
+     */
+    public static TableWriter open(Path path, ExportFormat format, List<String> columns) throws IOException {
+        ChannelWriter writer = new ChannelWriter(path);
+        try {
+            writer.writeBytes(format.header(columns));
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return new TableWriter(writer, format, columns);
+    }
+
+    /**
+     * Writes the next value of the current row as a string.
+     *
+     * @param value the value to write
+     * @throws IOException if writing fails
+     */
+    public void writeString(String value) throws IOException {
+        byte[] encoded = this.encodedStrings.get(value);
+        if (encoded == null) {
+            encoded = this.format.escape(value).getBytes(StandardCharsets.UTF_8);
+            if (this.encodedStrings.size() < MAXIMUM_CACHED_STRINGS) {
+                this.encodedStrings.put(value, encoded);
+            }
+        }
+        startField();
+        this.writer.writeBytes(encoded);
+    }
+
+    /**
+     * Writes the next value of the current row as an integer number.
+     *
+     * @param value the value to write
+     * @throws IOException if writing fails
+     */
+    public void writeLong(long value) throws IOException {
+        startField();
+        if (value == Long.MIN_VALUE) {
+            this.writer.writeBytes(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        long remaining = Math.abs(value);
+        int start = this.digits.length;
+        do {
+            this.digits[--start] = (byte) ('0' + remaining % DECIMAL_BASE);
+            remaining /= DECIMAL_BASE;
+        } while (remaining > 0);
+        if (value < 0) {
+            this.digits[--start] = '-';
+        }
+        this.writer.writeBytes(this.digits, start, this.digits.length - start);
+    }
+
+    /**
+     * Writes the next value of the current row as a decimal number.
+     *
+     * @param value the value to write
+     * @throws IOException if writing fails
+     */
+    public void writeDouble(double value) throws IOException {
+        startField();
+        this.writer.writeBytes(Double.toString(value).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Terminates the current row.
+     *
+     * @throws IOException if writing fails
+     * @throws IllegalStateException if the row does not contain a value for every column
+     */
+    public void endRow() throws IOException {
+        if (this.column != this.fieldPrefixes.length) {
+            throw new IllegalStateException(ERROR_COLUMN_COUNT.formatted(this.column, this.fieldPrefixes.length));
+        }
+        this.writer.writeBytes(this.rowEnd);
+        this.column = 0;
+        this.rows++;
+    }
+
+    /**
+     * Returns the number of rows written so far, excluding the header.
+     *
+     * @return the number of completed rows
+     */
+    public long rows() {
+        return this.rows;
+    }
+
+    private void startField() throws IOException {
+        if (this.column == this.fieldPrefixes.length) {
+            throw new IllegalStateException(ERROR_COLUMN_COUNT.formatted(this.column + 1, this.fieldPrefixes.length));
+        }
+        this.writer.writeBytes(this.fieldPrefixes[this.column++]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
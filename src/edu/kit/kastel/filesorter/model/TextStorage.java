@@ -0,0 +1,30 @@
+package edu.kit.kastel.filesorter.model;
+
+/**
+ * Holds the content of a loaded text in some in-memory representation.
+ *
+ * @author ugsrv
+ */
+interface TextStorage {
+
+    /**
+     * Returns the content of the text, decoding it if necessary.
+     *
+     * @return the content of the text
+     */
+    String content();
+
+    /**
+     * Returns the estimated number of heap bytes retained by this representation.
+     *
+     * @return the estimated footprint in bytes
+     */
+    long footprint();
+
+    /**
+     * Returns the storage mode of this representation.
+     *
+     * @return the storage mode
+     */
+    StorageMode mode();
+}
@@ -0,0 +1,42 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.List;
+
+/**
+ * Finds the runs of a pair of sequences as the tiles of their {@link GreedyStringTiling}.
+ *
+ * @author ugsrv
+ */
+final class TilingRunFinder implements RunFinder {
+
+    private final List<List<String>> sequences;
+    private final int minMatchLength;
+    private long tokenComparisons;
+
+    /**
+     * Creates a finder for the provided sequences.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a tile measured in tokens
+     */
+    TilingRunFinder(List<List<String>> sequences, int minMatchLength) {
+        this.sequences = sequences;
+        this.minMatchLength = minMatchLength;
+    }
+
+    @Override
+    public List<TokenRun> find(int first, int second) {
+        GreedyStringTiling tiling = new GreedyStringTiling(this.sequences.get(first), this.sequences.get(second),
+                this.minMatchLength);
+        List<TokenRun> tiles = tiling.tiles();
+        this.tokenComparisons += tiling.tokenComparisons();
+        return tiles;
+    }
+
+    @Override
+    public long takeComparisons() {
+        long comparisons = this.tokenComparisons;
+        this.tokenComparisons = 0;
+        return comparisons;
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The estimated heap footprint of the token sequences of an analysis result.
+ *
+ * @param texts the estimated footprint of each token sequence keyed by the identifier of its text
+ * @param dictionary the estimated footprint of structures shared by all sequences
+ *
+ * @author ugsrv
+ */
+record TokenFootprint(Map<String, Long> texts, long dictionary) {
+
+    /**
+     * The footprint of absent or memory-mapped token sequences, which retain no heap beyond their views.
+     */
+    static final TokenFootprint NONE = new TokenFootprint(Map.of(), 0);
+
+    /**
+     * Estimates the footprint of token lists in which every token is a separate string instance, as
+     * produced by the tokenization strategies.
+     *
+     * @param tokenizedTexts the token lists to estimate
+     * @return the estimated footprint
+     */
+    static TokenFootprint ofTokenLists(Map<String, List<String>> tokenizedTexts) {
+        Map<String, Long> texts = new LinkedHashMap<>();
+        tokenizedTexts.forEach((identifier, tokens) -> texts.put(identifier, MemoryFootprint.ofTokenList(tokens)));
+        return new TokenFootprint(texts, 0);
+    }
+
+    /**
+     * Returns the estimated footprint of all sequences including the shared structures.
+     *
+     * @return the total footprint in bytes
+     */
+    long total() {
+        return this.dictionary + this.texts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
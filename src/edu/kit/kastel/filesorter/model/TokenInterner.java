@@ -0,0 +1,68 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer identifiers to tokens. Equal tokens always receive the same identifier, so
+ * two token sequences are equal exactly if their identifier sequences are equal.
+ *
+ * @author ugsrv
+ */
+final class TokenInterner {
+
+    private final Map<String, Integer> identifiers = new HashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    /**
+     * Returns the identifier of the provided token, assigning a new one if the token is unknown.
+     *
+     * @param token the token to intern
+     * @return the identifier of the token
+     */
+    int intern(String token) {
+        Integer identifier = this.identifiers.get(token);
+        if (identifier == null) {
+            identifier = this.tokens.size();
+            this.identifiers.put(token, identifier);
+            this.tokens.add(token);
+        }
+        return identifier;
+    }
+
+    /**
+     * Interns every token of the provided sequence.
+     *
+     * @param sequence the tokens to intern
+     * @return the identifiers of the tokens in sequence order
+     */
+    int[] intern(List<String> sequence) {
+        int[] result = new int[sequence.size()];
+        int index = 0;
+        for (String token : sequence) {
+            result[index++] = intern(token);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of distinct tokens interned so far.
+     *
+     * @return the number of distinct tokens
+     */
+    int size() {
+        return this.tokens.size();
+    }
+
+    /**
+     * Returns the token with the provided identifier.
+     *
+     * @param identifier the identifier of the token
+     * @return the token
+     */
+    String token(int identifier) {
+        return this.tokens.get(identifier);
+    }
+}
@@ -0,0 +1,21 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.Comparator;
+
+/**
+ * A run of equal tokens of two token sequences, found by a {@link RunFinder}.
+ *
+ * @param firstIndex the start index of the run in the first sequence
+ * @param secondIndex the start index of the run in the second sequence
+ * @param length the number of tokens of the run
+ *
+ * @author ugsrv
+ */
+public record TokenRun(int firstIndex, int secondIndex, int length) {
+
+    /**
+     * Orders runs by their start index in the first and then in the second sequence.
+     */
+    static final Comparator<TokenRun> ORDER = Comparator.comparingInt(TokenRun::firstIndex)
+            .thenComparingInt(TokenRun::secondIndex);
+}
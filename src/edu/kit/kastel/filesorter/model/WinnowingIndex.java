@@ -0,0 +1,188 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds runs of equal tokens through winnowed k-gram fingerprints, as used by MOSS.
+ *
+ * <p>The k-grams of every text are hashed with a length of the minimum match length. In every window of
+ * consecutive k-grams the rightmost k-gram with the smallest hash is selected as fingerprint, which only
+ * depends on the content of the window. All fingerprints are kept in an inverted index, so the texts
+ * sharing a fingerprint with a text are found without comparing any pair. Every shared fingerprint is a
+ * seed that is verified and extended token by token to the maximal run containing it.</p>
+ *
+ * <p>A run of at least the minimum match length plus the window size minus one tokens contains a complete
+ * window in both texts, whose fingerprints are the same, and is therefore always found. Shorter runs are
+ * found only if they happen to contain a shared fingerprint. Every run found is a maximal run that the
+ * exact comparison finds as well.</p>
+ *
+ * @author ugsrv
+ */
+final class WinnowingIndex implements RunFinder {
+
+    private static final int POSITION_BITS = 32;
+    private static final long POSITION_MASK = 0xFFFFFFFFL;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final List<List<String>> sequences;
+    private final int minMatchLength;
+    private final int[][] positions;
+    private final long[][] hashes;
+    private final Map<Long, LongBuffer> postings = new HashMap<>();
+    private int seededText = -1;
+    private Map<Integer, LongBuffer> seeds = Map.of();
+    private long tokenComparisons;
+
+    /**
+     * Selects the fingerprints of all texts and indexes them.
+     *
+     * @param sequences the token sequences of the texts
+     * @param minMatchLength the minimum length of a match measured in tokens, used as k-gram length
+     * @param window the number of consecutive k-grams a fingerprint is selected from
+     */
+    WinnowingIndex(List<List<String>> sequences, int minMatchLength, int window) {
+        this.sequences = sequences;
+        this.minMatchLength = minMatchLength;
+        this.positions = new int[sequences.size()][];
+        this.hashes = new long[sequences.size()][];
+        for (int text = 0; text < sequences.size(); text++) {
+            long[] kGramHashes = KGramHashes.of(sequences.get(text), minMatchLength);
+            this.positions[text] = winnow(kGramHashes, window);
+            this.hashes[text] = new long[this.positions[text].length];
+            for (int index = 0; index < this.positions[text].length; index++) {
+                long hash = kGramHashes[this.positions[text][index]];
+                this.hashes[text][index] = hash;
+                this.postings.computeIfAbsent(hash, key -> new LongBuffer())
+                        .add(((long) text << POSITION_BITS) | this.positions[text][index]);
+            }
+        }
+    }
+
+    /**
+     * Finds the runs of two texts containing a shared fingerprint. The seeds of the first text are computed
+     * once and kept until a run of another first text is requested, so the pairs are best requested in the
+     * order of their first text.
+     *
+     * @param first the index of the first text
+     * @param second the index of the second text, not smaller than the first
+     * @return the maximal runs of at least the minimum match length ordered by their start indices; if
+     *         both texts are the same, the full-length run and all runs off the main diagonal
+     */
+    @Override
+    public List<TokenRun> find(int first, int second) {
+        if (first != this.seededText) {
+            this.seeds = seedsOf(first);
+            this.seededText = first;
+        }
+        List<String> firstTokens = this.sequences.get(first);
+        List<String> secondTokens = this.sequences.get(second);
+        List<TokenRun> runs = new ArrayList<>();
+        if (first == second && !firstTokens.isEmpty() && firstTokens.size() >= this.minMatchLength) {
+            runs.add(new TokenRun(0, 0, firstTokens.size()));
+        }
+        LongBuffer pairSeeds = this.seeds.get(second);
+        long[] keys = pairSeeds == null ? new long[0] : Arrays.copyOf(pairSeeds.values, pairSeeds.size);
+        Arrays.sort(keys);
+        long coveredDiagonal = Long.MIN_VALUE;
+        int coveredUntil = 0;
+        for (long key : keys) {
+            long diagonal = key >> POSITION_BITS;
+            int position = (int) (key & POSITION_MASK);
+            if ((first == second && diagonal == 0) || (diagonal == coveredDiagonal && position < coveredUntil)) {
+                continue;
+            }
+            int offset = (int) diagonal;
+            int start = position;
+            while (start > 0 && start + offset > 0 && equal(firstTokens, secondTokens, start - 1, offset)) {
+                start--;
+            }
+            int end = position;
+            while (end < firstTokens.size() && end + offset < secondTokens.size()
+                    && equal(firstTokens, secondTokens, end, offset)) {
+                end++;
+            }
+            coveredDiagonal = diagonal;
+            coveredUntil = end + 1;
+            if (end - start >= this.minMatchLength) {
+                runs.add(new TokenRun(start, start + offset, end - start));
+            }
+        }
+        runs.sort(TokenRun.ORDER);
+        return runs;
+    }
+
+    @Override
+    public long takeComparisons() {
+        long comparisons = this.tokenComparisons;
+        this.tokenComparisons = 0;
+        return comparisons;
+    }
+
+    private boolean equal(List<String> firstTokens, List<String> secondTokens, int index, int offset) {
+        this.tokenComparisons++;
+        return firstTokens.get(index).equals(secondTokens.get(index + offset));
+    }
+
+    /**
+     * Collects the shared fingerprints of a text with every text not before it, keyed by the other text.
+     * A seed is encoded by its diagonal in the upper and its position in the first text in the lower half,
+     * so sorting the seeds orders them along every diagonal.
+     */
+    private Map<Integer, LongBuffer> seedsOf(int first) {
+        Map<Integer, LongBuffer> result = new HashMap<>();
+        for (int index = 0; index < this.positions[first].length; index++) {
+            int position = this.positions[first][index];
+            LongBuffer entries = this.postings.get(this.hashes[first][index]);
+            for (int entry = 0; entry < entries.size; entry++) {
+                int text = (int) (entries.values[entry] >>> POSITION_BITS);
+                if (text >= first) {
+                    long diagonal = (entries.values[entry] & POSITION_MASK) - position;
+                    result.computeIfAbsent(text, key -> new LongBuffer()).add((diagonal << POSITION_BITS) | position);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the rightmost smallest hash of every window of consecutive hashes, or of all hashes if there
+     * are fewer than a window.
+     */
+    private static int[] winnow(long[] kGramHashes, int window) {
+        int width = Math.min(window, kGramHashes.length);
+        int[] selected = new int[kGramHashes.length];
+        int count = 0;
+        int minimum = -1;
+        for (int end = width - 1; end < kGramHashes.length && width > 0; end++) {
+            int start = end - width + 1;
+            if (minimum < start) {
+                minimum = start;
+                for (int index = start + 1; index <= end; index++) {
+                    minimum = kGramHashes[index] <= kGramHashes[minimum] ? index : minimum;
+                }
+            } else if (kGramHashes[end] <= kGramHashes[minimum]) {
+                minimum = end;
+            }
+            if (count == 0 || selected[count - 1] != minimum) {
+                selected[count++] = minimum;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(long value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+    }
+}
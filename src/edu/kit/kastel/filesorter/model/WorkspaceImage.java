@@ -0,0 +1,264 @@
+package edu.kit.kastel.filesorter.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes workspace images, a versioned binary snapshot of the loaded texts and the last
+ * analysis result.
+ *
+ * <p>An image consists of a fixed header, a metadata section, a token section and a match section.
+ * The header stores the offsets of the latter two sections. The metadata section contains the raw
+ * texts with their groups, the coverage and pair scope of the analysis, the token dictionary and the
+ * position of every tokenized text within the token section. The token section stores the interned
+ * token identifiers of all analyzed texts and the match section stores the matches as fixed-size
+ * records (see {@link MappedMatchList}). Both sections are memory-mapped when an image is opened and
+ * decoded lazily. Opening checks the header and the metadata, so a truncated or corrupt image is rejected
+ * with an {@link IOException}; the tokens and matches are checked when they are accessed, so opening takes
+ * time independent of the size of the sections.</p>
+ *
+ * @author ugsrv
+ */
+final class WorkspaceImage {
+
+    private static final int MAGIC = 0x574D5153;
+    private static final int VERSION = 3;
+    private static final int HEADER_SECTION_FIELDS = 4;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + HEADER_SECTION_FIELDS * Long.BYTES;
+    private static final long TOKEN_OFFSET_POSITION = 2 * Integer.BYTES;
+    private static final long TOKEN_LENGTH_POSITION = TOKEN_OFFSET_POSITION + Long.BYTES;
+    private static final long MATCH_OFFSET_POSITION = TOKEN_LENGTH_POSITION + Long.BYTES;
+    private static final long MATCH_LENGTH_POSITION = MATCH_OFFSET_POSITION + Long.BYTES;
+    private static final int TEXT_STRINGS = 4;
+    private static final int TEXT_ENTRY_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String NO_PATH = "";
+    private static final String NO_GROUP = "";
+    private static final String ERROR_NOT_A_WORKSPACE = "not a workspace image";
+    private static final String ERROR_UNSUPPORTED_VERSION = "unsupported workspace version %d";
+
+    private WorkspaceImage() {
+        // utility class
+    }
+
+    /**
+     * Writes an image of the provided texts and analysis result. The image is written to a temporary
+     * file first and then moved into place, so an image that is currently mapped is never modified.
+     *
+     * @param target the file to write the image to
+     * @param texts the texts to store
+     * @param analysisResult the analysis result to store or {@code null} if there is none
+     * @throws IOException if the image cannot be written
+     */
+    static void write(Path target, Collection<LoadedText> texts, AnalysisResult analysisResult) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        try (ChannelWriter writer = new ChannelWriter(temporary)) {
+            writer.writeInt(MAGIC);
+            writer.writeInt(VERSION);
+            for (int field = 0; field < HEADER_SECTION_FIELDS; field++) {
+                writer.writeLong(0);
+            }
+            writer.writeInt(texts.size());
+            for (LoadedText text : texts) {
+                writer.writeString(text.identifier());
+                writer.writeString(text.path() == null ? NO_PATH : text.path().toString());
+                writer.writeString(text.content());
+                writer.writeString(text.group() == null ? NO_GROUP : text.group());
+            }
+            writer.writeByte(analysisResult == null ? 0 : 1);
+            if (analysisResult != null) {
+                writeAnalysis(writer, analysisResult);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeAnalysis(ChannelWriter writer, AnalysisResult analysisResult) throws IOException {
+        writer.writeString(analysisResult.strategy().name());
+        writer.writeInt(analysisResult.minMatchLength());
+        writer.writeLong(analysisResult.coverage().comparedPairs());
+        writer.writeLong(analysisResult.coverage().totalPairs());
+        writer.writeLong(Double.doubleToLongBits(analysisResult.coverage().workFraction()));
+        PairSelection selection = analysisResult.selection();
+        writer.writeString(selection.scope().mode().name());
+        writer.writeString(selection.scope().queryGroup() == null ? NO_GROUP : selection.scope().queryGroup());
+        writer.writeInt(selection.groups().size());
+        for (Map.Entry<String, String> entry : selection.groups().entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeString(entry.getValue());
+        }
+
+        TokenInterner interner = new TokenInterner();
+        Map<String, Integer> textIndices = new HashMap<>();
+        List<int[]> sequences = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : analysisResult.tokenizedTexts().entrySet()) {
+            textIndices.put(entry.getKey(), sequences.size());
+            sequences.add(interner.intern(entry.getValue()));
+        }
+
+        writer.writeInt(interner.size());
+        for (int identifier = 0; identifier < interner.size(); identifier++) {
+            writer.writeString(interner.token(identifier));
+        }
+        writer.writeInt(sequences.size());
+        long tokenOffset = 0;
+        for (Map.Entry<String, List<String>> entry : analysisResult.tokenizedTexts().entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeLong(tokenOffset);
+            writer.writeInt(entry.getValue().size());
+            tokenOffset += entry.getValue().size();
+        }
+
+        writer.align(Integer.BYTES);
+        writer.patchLong(TOKEN_OFFSET_POSITION, writer.position());
+        writer.patchLong(TOKEN_LENGTH_POSITION, tokenOffset);
+        for (int[] sequence : sequences) {
+            for (int token : sequence) {
+                writer.writeInt(token);
+            }
+        }
+
+        writer.patchLong(MATCH_OFFSET_POSITION, writer.position());
+        writer.patchLong(MATCH_LENGTH_POSITION, (long) analysisResult.matches().size() * MappedMatchList.RECORD_INTS);
+        for (AnalysisMatch match : analysisResult.matches()) {
+            writer.writeInt(textIndices.get(match.firstIdentifier()));
+            writer.writeInt(match.firstIndex());
+            writer.writeInt(textIndices.get(match.secondIdentifier()));
+            writer.writeInt(match.secondIndex());
+            writer.writeInt(match.length());
+        }
+    }
+
+    /**
+     * Opens the image stored in the provided file.
+     *
+     * @param source the file containing the image
+     * @return the texts and the analysis result stored in the image
+     * @throws IOException if the image cannot be read or is not a supported workspace image
+     */
+    static Contents read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int read;
+            do {
+                read = channel.read(header);
+            } while (read >= 0 && header.hasRemaining());
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(ERROR_NOT_A_WORKSPACE);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(ERROR_UNSUPPORTED_VERSION.formatted(version));
+            }
+            try {
+                return readContents(channel, header);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+                throw new IOException(ERROR_NOT_A_WORKSPACE, e);
+            }
+        }
+    }
+
+    private static Contents readContents(FileChannel channel, ByteBuffer header) throws IOException {
+        long tokenOffset = header.getLong();
+        long tokenLength = header.getLong();
+        long matchOffset = header.getLong();
+        long matchLength = header.getLong();
+
+        long metadataEnd = tokenOffset == 0 ? channel.size() : tokenOffset;
+        if (metadataEnd < HEADER_BYTES || metadataEnd > channel.size()) {
+            throw new IOException(ERROR_NOT_A_WORKSPACE);
+        }
+        MetadataReader metadata = new MetadataReader(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                metadataEnd - HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN), ERROR_NOT_A_WORKSPACE);
+        List<LoadedText> texts = readTexts(metadata);
+        if (metadata.readByte() == 0) {
+            return new Contents(texts, null);
+        }
+        metadata.check(tokenOffset >= HEADER_BYTES);
+        metadata.checkSection(channel, tokenOffset, tokenLength);
+        metadata.checkSection(channel, matchOffset, matchLength);
+        metadata.check(matchLength % MappedMatchList.RECORD_INTS == 0
+                && matchLength / MappedMatchList.RECORD_INTS <= Integer.MAX_VALUE);
+        MappedIntRegion tokens = MappedIntRegion.map(channel, tokenOffset, tokenLength);
+        MappedIntRegion matches = MappedIntRegion.map(channel, matchOffset, matchLength);
+        return new Contents(texts, readAnalysis(metadata, tokens, matches));
+    }
+
+    private static List<LoadedText> readTexts(MetadataReader metadata) throws IOException {
+        int textCount = metadata.readCount(TEXT_STRINGS * Integer.BYTES);
+        List<LoadedText> texts = new ArrayList<>(textCount);
+        for (int index = 0; index < textCount; index++) {
+            String identifier = metadata.readString();
+            String path = metadata.readString();
+            String content = metadata.readString();
+            String group = metadata.readString();
+            texts.add(new LoadedText(identifier, path.isEmpty() ? null : Path.of(path), new RawText(content),
+                    group.isEmpty() ? null : group));
+        }
+        return texts;
+    }
+
+    private static AnalysisResult readAnalysis(MetadataReader metadata, MappedIntRegion tokens,
+            MappedIntRegion matches) throws IOException {
+        TokenizationStrategy strategy = TokenizationStrategy.fromName(metadata.readString());
+        int minMatchLength = metadata.readInt();
+        AnalysisCoverage coverage = new AnalysisCoverage(metadata.readLong(), metadata.readLong(),
+                Double.longBitsToDouble(metadata.readLong()));
+        PairSelection selection = readSelection(metadata);
+        String[] dictionary = new String[metadata.readCount(Integer.BYTES)];
+        for (int identifier = 0; identifier < dictionary.length; identifier++) {
+            dictionary[identifier] = metadata.readString();
+        }
+
+        String[] identifiers = new String[metadata.readCount(TEXT_ENTRY_BYTES)];
+        int[] sizes = new int[identifiers.length];
+        Map<String, List<String>> tokenizedTexts = new LinkedHashMap<>();
+        for (int index = 0; index < identifiers.length; index++) {
+            identifiers[index] = metadata.readString();
+            long offset = metadata.readLong();
+            sizes[index] = metadata.readInt();
+            metadata.check(offset >= 0 && sizes[index] >= 0 && offset <= tokens.length() - sizes[index]);
+            tokenizedTexts.put(identifiers[index], new MappedTokenList(tokens, offset, sizes[index], dictionary));
+        }
+        return AnalysisResult.wrap(strategy, minMatchLength, tokenizedTexts,
+                new MappedMatchList(matches, identifiers, sizes), null, coverage, selection);
+    }
+
+    private static PairSelection readSelection(MetadataReader metadata) throws IOException {
+        PairMode mode = PairMode.valueOf(metadata.readString());
+        String queryGroup = metadata.readString();
+        Map<String, String> groups = new HashMap<>();
+        int groupCount = metadata.readCount(2 * Integer.BYTES);
+        for (int index = 0; index < groupCount; index++) {
+            groups.put(metadata.readString(), metadata.readString());
+        }
+        return new PairSelection(new PairScope(mode, mode == PairMode.QUERY ? queryGroup : null), groups);
+    }
+
+    /**
+     * The contents of a workspace image.
+     *
+     * @param texts the stored texts in insertion order
+     * @param analysisResult the stored analysis result or {@code null} if the image contains none
+     *
+     * @author ugsrv
+     */
+    record Contents(List<LoadedText> texts, AnalysisResult analysisResult) {
+    }
+}
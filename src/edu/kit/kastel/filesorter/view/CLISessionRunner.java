@@ -4,6 +4,7 @@ import edu.kit.kastel.filesorter.model.SequenceMatcher;
 import edu.kit.kastel.filesorter.model.SessionRunner;
 import edu.kit.kastel.filesorter.view.command.ModelKeyword;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.Scanner;
@@ -24,10 +25,14 @@ import java.util.Scanner;
  */
 public class CLISessionRunner implements SessionRunner, AutoCloseable {
     private static final String WELCOME_MESSAGE = "Use one of the following commands: "
-            + "load, input, tokenization, analyze, clear, list, top, matches, histogram, edit, inspect, quit.";
+            + "load, input, tokenization, analyze, clear, list, top, matches, histogram, edit, inspect, save, open, "
+            + "storage, export, group, index, query, similar, clusters, stats, metrics, memory, quit.";
+
+    private static final String ERROR_METRICS_FILE = "Error: Stopped writing the metrics file: %s";
 
     private final Scanner scanner;
     private final CommandExecuter<SequenceMatcher, ModelKeyword> executer;
+    private final PrintStream errorStream;
     private boolean wasQuit = false;
 
     /**
@@ -40,6 +45,7 @@ public class CLISessionRunner implements SessionRunner, AutoCloseable {
     public CLISessionRunner(InputStream inputSource, PrintStream defaultOutputStream, PrintStream errorStream) {
         this.scanner = new Scanner(inputSource);
         this.executer = new CommandExecuter<>(this.scanner, defaultOutputStream, errorStream, ModelKeyword.class);
+        this.errorStream = errorStream;
     }
 
     @Override
@@ -47,9 +53,19 @@ public class CLISessionRunner implements SessionRunner, AutoCloseable {
         this.executer.getDefaultStream().println(WELCOME_MESSAGE);
         SequenceMatcher handle = new SequenceMatcher();
         this.executer.setModel(handle);
+        this.executer.setCommandObserver((keyword, nanos, succeeded) -> recordCommand(handle, keyword, nanos, succeeded));
+        handle.setProgressListener(new ProgressPrinter(this.errorStream));
         return handle;
     }
 
+    private void recordCommand(SequenceMatcher handle, String keyword, long nanos, boolean succeeded) {
+        try {
+            handle.metrics().recordCommand(keyword, nanos, succeeded);
+        } catch (IOException e) {
+            this.errorStream.println(ERROR_METRICS_FILE.formatted(e.getMessage()));
+        }
+    }
+
     @Override
     public void executeAction(SequenceMatcher handle) {
         this.executer.setModel(handle);
@@ -0,0 +1,53 @@
+package edu.kit.kastel.filesorter.view;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the parsing and execution of a single command.
+ *
+ * @author ugsrv
+ */
+@Name("edu.kit.kastel.filesorter.Command")
+@Label("Command")
+@Category("Sequence Matcher")
+@Description("Parsing and execution of a command entered by the user")
+final class CommandEvent extends Event {
+
+    @Label("Keyword")
+    private String keyword;
+
+    @Label("Arguments")
+    private String arguments;
+
+    @Label("Succeeded")
+    @Description("Whether the command was parsed and executed without an error")
+    private boolean succeeded;
+
+    /**
+     * Creates a new event for the provided command. The caller is expected to {@link #begin()} it.
+     *
+     * @param keyword the keyword of the command
+     * @param arguments the arguments of the command separated by spaces
+     */
+    CommandEvent(String keyword, String arguments) {
+        this.keyword = keyword;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Ends and commits the event if it is enabled and exceeds its threshold.
+     *
+     * @param succeeded whether the command was parsed and executed without an error
+     */
+    void complete(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class CommandExecuter<M, K extends Enum<K> & Keyword<M>> {
     private final PrintStream defaultStream;
     private final PrintStream errorStream;
     private M model;
+    private CommandObserver observer;
     private boolean isRunning;
 
     /**
@@ -74,6 +75,15 @@ public class CommandExecuter<M, K extends Enum<K> & Keyword<M>> {
         this.model = model;
     }
 
+    /**
+     * Sets the observer that is notified after every command. Replaces any previously set observer.
+     *
+     * @param observer the observer or {@code null} to notify no one
+     */
+    public void setCommandObserver(CommandObserver observer) {
+        this.observer = observer;
+    }
+
     /**
      * Returns whether this executer has been terminated.
      *
@@ -125,21 +135,35 @@ public class CommandExecuter<M, K extends Enum<K> & Keyword<M>> {
             return;
         }
 
+        long startTime = System.nanoTime();
+        CommandEvent event = new CommandEvent(keyword.toString(), String.join(COMMAND_SEPARATOR, arguments));
+        event.begin();
         Arguments argumentsHolder = new Arguments(arguments);
         Command<S> providedCommand;
         try {
             providedCommand = keyword.provide(argumentsHolder);
         } catch (InvalidArgumentException e) {
             this.errorStream.println(ERROR_PREFIX + e.getMessage());
+            completeCommand(keyword, startTime, event, false);
             return;
         }
 
         if (!argumentsHolder.isExhausted()) {
             this.errorStream.println(ERROR_TOO_MANY_ARGUMENTS);
+            completeCommand(keyword, startTime, event, false);
             return;
         }
 
-        handleResult(providedCommand.execute(value));
+        Result result = providedCommand.execute(value);
+        completeCommand(keyword, startTime, event, result == null || result.getType() == ResultType.SUCCESS);
+        handleResult(result);
+    }
+
+    private void completeCommand(Keyword<?> keyword, long startTime, CommandEvent event, boolean succeeded) {
+        event.complete(succeeded);
+        if (this.observer != null) {
+            this.observer.commandExecuted(keyword.toString(), System.nanoTime() - startTime, succeeded);
+        }
     }
 
     private void handleResult(Result result) {
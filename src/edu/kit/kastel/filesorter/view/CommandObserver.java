@@ -0,0 +1,19 @@
+package edu.kit.kastel.filesorter.view;
+
+/**
+ * Observer notified by a {@link CommandExecuter} after every command it handled.
+ *
+ * @author ugsrv
+ */
+@FunctionalInterface
+public interface CommandObserver {
+
+    /**
+     * Called after a command was parsed and, if parsing succeeded, executed.
+     *
+     * @param keyword the keyword of the command
+     * @param nanos the time it took to parse and execute the command in nanoseconds
+     * @param succeeded whether the command was parsed and executed without an error
+     */
+    void commandExecuted(String keyword, long nanos, boolean succeeded);
+}
@@ -0,0 +1,41 @@
+package edu.kit.kastel.filesorter.view;
+
+import edu.kit.kastel.filesorter.model.AnalysisProgress;
+import edu.kit.kastel.filesorter.model.ProgressListener;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Progress listener printing a single line per notification to a stream, typically the error stream so
+ * that the regular output of the commands is not affected.
+ *
+ * @author ugsrv
+ */
+public class ProgressPrinter implements ProgressListener {
+
+    private static final String FORMAT_PROGRESS = "Progress: %.1f%% (%d/%d pairs), %ds elapsed, %s remaining";
+    private static final String FORMAT_REMAINING = "~%ds";
+    private static final String UNKNOWN_REMAINING = "unknown";
+    private static final double PERCENT = 100.0;
+
+    private final PrintStream stream;
+
+    /**
+     * Creates a new printer.
+     *
+     * @param stream the stream to print to
+     */
+    public ProgressPrinter(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void progressed(AnalysisProgress progress) {
+        Duration remaining = progress.estimatedRemaining();
+        String remainingText = remaining == null ? UNKNOWN_REMAINING : FORMAT_REMAINING.formatted(remaining.toSeconds());
+        this.stream.println(String.format(Locale.ROOT, FORMAT_PROGRESS, progress.fraction() * PERCENT,
+                progress.completedPairs(), progress.totalPairs(), progress.elapsed().toSeconds(), remainingText));
+    }
+}
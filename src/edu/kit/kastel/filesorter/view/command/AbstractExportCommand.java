@@ -0,0 +1,71 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.ExportFormat;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TableWriter;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Base class shared by commands that stream a table derived from the last analysis to a file.
+ *
+ * @author ugsrv
+ */
+abstract class AbstractExportCommand implements Command<SequenceMatcher> {
+
+    private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
+    private static final String ERROR_COULD_NOT_WRITE_EXPORT = "Could not write export file.";
+    private static final String MESSAGE_EXPORTED = "Exported %d %s to %s";
+
+    private final ExportFormat format;
+    private final Path path;
+
+    AbstractExportCommand(ExportFormat format, Path path) {
+        this.format = format;
+        this.path = path;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        AnalysisResult analysisResult = handle.getLastAnalysisResult();
+        if (analysisResult == null) {
+            return Result.error(ERROR_NO_ANALYSIS_RESULT);
+        }
+        long rows;
+        try (TableWriter writer = TableWriter.open(this.path, this.format, columns())) {
+            writeRows(analysisResult, writer);
+            rows = writer.rows();
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_WRITE_EXPORT);
+        }
+        return Result.success(MESSAGE_EXPORTED.formatted(rows, rowName(), this.path));
+    }
+
+    /**
+     * Returns the names of the exported columns.
+     *
+     * @return the column names
+     */
+    abstract List<String> columns();
+
+    /**
+     * Returns the plural name of the exported rows used in the success message.
+     *
+     * @return the name of the rows
+     */
+    abstract String rowName();
+
+    /**
+     * Writes all rows of the table.
+     *
+     * @param analysisResult the analysis result to export
+     * @param writer the writer to write the rows to
+     * @throws IOException if writing fails
+     */
+    abstract void writeRows(AnalysisResult analysisResult, TableWriter writer) throws IOException;
+}
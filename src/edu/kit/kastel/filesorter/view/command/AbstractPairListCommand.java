@@ -1,6 +1,5 @@
 package edu.kit.kastel.filesorter.view.command;
 
-import edu.kit.kastel.filesorter.model.AnalysisMatch;
 import edu.kit.kastel.filesorter.model.AnalysisResult;
 import edu.kit.kastel.filesorter.model.SequenceMatcher;
 import edu.kit.kastel.filesorter.view.Command;
@@ -8,9 +7,7 @@ import edu.kit.kastel.filesorter.view.Result;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.OptionalInt;
 
 /**
@@ -22,6 +19,7 @@ abstract class AbstractPairListCommand implements Command<SequenceMatcher> {
 
     private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
     private static final String MESSAGE_NO_PROGRAM_PAIRS = "No program pairs available.";
+    private static final String PRUNED_CONSEQUENCE = "they are listed without matches";
 
     private final ListMetric metric;
     private final SortOrder order;
@@ -40,7 +38,7 @@ abstract class AbstractPairListCommand implements Command<SequenceMatcher> {
             return Result.error(ERROR_NO_ANALYSIS_RESULT);
         }
 
-        List<PairSummary> summaries = collectSummaries(analysisResult);
+        List<PairSummary> summaries = PairSummaryCollector.collectSummaries(analysisResult);
         if (summaries.isEmpty()) {
             return Result.success(MESSAGE_NO_PROGRAM_PAIRS);
         }
@@ -48,7 +46,9 @@ abstract class AbstractPairListCommand implements Command<SequenceMatcher> {
         Comparator<PairSummary> comparator = getPairSummaryComparator();
 
         summaries.sort(comparator);
-        return Result.success(formatSummaries(summaries));
+        List<String> lines = new ArrayList<>(CoverageHeader.lines(analysisResult, PRUNED_CONSEQUENCE));
+        lines.add(formatSummaries(summaries));
+        return Result.success(String.join(System.lineSeparator(), lines));
     }
 
     private Comparator<PairSummary> getPairSummaryComparator() {
@@ -89,40 +89,6 @@ abstract class AbstractPairListCommand implements Command<SequenceMatcher> {
                 this.metric.format(metricValue));
     }
 
-    private static List<PairSummary> collectSummaries(AnalysisResult analysisResult) {
-        Map<String, List<String>> tokenizedTexts = analysisResult.tokenizedTexts();
-        List<String> identifiers = new ArrayList<>(tokenizedTexts.keySet());
-        if (identifiers.size() < 2) {
-            return List.of();
-        }
-
-        Map<PairKey, PairAccumulator> accumulators = new LinkedHashMap<>();
-        for (int firstIndex = 0; firstIndex < identifiers.size(); firstIndex++) {
-            for (int secondIndex = firstIndex + 1; secondIndex < identifiers.size(); secondIndex++) {
-                String firstIdentifier = identifiers.get(firstIndex);
-                String secondIdentifier = identifiers.get(secondIndex);
-                int firstTokenCount = tokenizedTexts.get(firstIdentifier).size();
-                int secondTokenCount = tokenizedTexts.get(secondIdentifier).size();
-                accumulators.put(new PairKey(firstIdentifier, secondIdentifier),
-                        new PairAccumulator(firstIdentifier, secondIdentifier, firstTokenCount, secondTokenCount));
-            }
-        }
-
-        for (AnalysisMatch match : analysisResult.matches()) {
-            PairKey key = new PairKey(match.firstIdentifier(), match.secondIdentifier());
-            PairAccumulator accumulator = accumulators.get(key);
-            if (accumulator != null) {
-                accumulator.addMatch(match);
-            }
-        }
-
-        List<PairSummary> summaries = new ArrayList<>(accumulators.size());
-        for (PairAccumulator accumulator : accumulators.values()) {
-            summaries.add(accumulator.toSummary());
-        }
-        return summaries;
-    }
-
     private PairIdentifiers determineDisplayOrder(PairSummary summary) {
         return switch (this.metric) {
             case MAX -> orientBySimilarity(summary, true);
@@ -140,35 +106,6 @@ abstract class AbstractPairListCommand implements Command<SequenceMatcher> {
         return new PairIdentifiers(summary.firstIdentifier(), summary.secondIdentifier());
     }
 
-    private record PairKey(String firstIdentifier, String secondIdentifier) {
-    }
-
-    private static final class PairAccumulator {
-        private final String firstIdentifier;
-        private final String secondIdentifier;
-        private final int firstTokenCount;
-        private final int secondTokenCount;
-        private int totalMatchLength;
-        private int longestMatchLength;
-
-        PairAccumulator(String firstIdentifier, String secondIdentifier, int firstTokenCount, int secondTokenCount) {
-            this.firstIdentifier = firstIdentifier;
-            this.secondIdentifier = secondIdentifier;
-            this.firstTokenCount = firstTokenCount;
-            this.secondTokenCount = secondTokenCount;
-        }
-
-        private void addMatch(AnalysisMatch match) {
-            this.totalMatchLength += match.length();
-            this.longestMatchLength = Math.max(this.longestMatchLength, match.length());
-        }
-
-        private PairSummary toSummary() {
-            return new PairSummary(this.firstIdentifier, this.secondIdentifier, this.firstTokenCount,
-                    this.secondTokenCount, this.totalMatchLength, this.longestMatchLength);
-        }
-    }
-
     private record PairIdentifiers(String firstIdentifier, String secondIdentifier) {
     }
 }
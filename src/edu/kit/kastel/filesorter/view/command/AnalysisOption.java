@@ -0,0 +1,208 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
+import edu.kit.kastel.filesorter.model.AutoEngine;
+import edu.kit.kastel.filesorter.model.EngineMode;
+import edu.kit.kastel.filesorter.model.EngineSelection;
+import edu.kit.kastel.filesorter.model.PairMode;
+import edu.kit.kastel.filesorter.model.PairScope;
+import edu.kit.kastel.filesorter.model.SimilarityFloor;
+import edu.kit.kastel.filesorter.model.SimilarityMetric;
+import edu.kit.kastel.filesorter.view.InvalidArgumentException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Enumeration of the optional {@code key=value} arguments accepted by the {@link Analyze} command.
+ *
+ * @author ugsrv
+ */
+enum AnalysisOption {
+
+    /**
+     * Limits the heap memory used for the matches of the analysis, in mebibytes. Further matches are
+     * spilled to disk.
+     */
+    MEMORY {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            long mebibytes = parsePositive(value);
+            if (mebibytes > MAXIMUM_MEBIBYTES) {
+                throw new InvalidArgumentException(ERROR_TOO_LARGE_FORMAT.formatted(mebibytes, MAXIMUM_MEBIBYTES));
+            }
+            return options.withMemoryBudget(mebibytes * BYTES_PER_MEBIBYTE);
+        }
+    },
+
+    /**
+     * Prints the progress of the pair comparisons to the error stream, every given number of seconds.
+     */
+    PROGRESS {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            return options.withProgressInterval(Duration.ofSeconds(parseSeconds(value)));
+        }
+    },
+
+    /**
+     * Stops comparing pairs after the given number of seconds, comparing the most similar pairs first.
+     */
+    TIME {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            return options.withTimeBudget(Duration.ofSeconds(parseSeconds(value)));
+        }
+    },
+
+    /**
+     * Skips pairs whose similarity in the given metric provably stays below the given percentage, in the
+     * form {@code <metric>:<percent>}.
+     */
+    FLOOR {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            String[] metricAndPercent = value.split(PART_SEPARATOR, 2);
+            SimilarityMetric metric = SimilarityMetric.findByName(metricAndPercent[0]);
+            if (metric == null || metricAndPercent.length < 2) {
+                throw new InvalidArgumentException(ERROR_INVALID_FLOOR_FORMAT.formatted(value));
+            }
+            long percent = parsePositive(metricAndPercent[1]);
+            if (percent > MAXIMUM_PERCENT) {
+                throw new InvalidArgumentException(ERROR_PERCENT_TOO_LARGE_FORMAT.formatted(percent));
+            }
+            return options.withSimilarityFloor(new SimilarityFloor(metric, (double) percent / MAXIMUM_PERCENT));
+        }
+    },
+
+    /**
+     * Restricts the compared pairs by the groups of the texts, in the form {@code cross} or
+     * {@code query:<group>}.
+     */
+    PAIRS {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            String[] modeAndGroup = value.split(PART_SEPARATOR, 2);
+            PairMode mode = PairMode.findByName(modeAndGroup[0]);
+            if (mode == PairMode.QUERY && modeAndGroup.length == 2 && !modeAndGroup[1].isEmpty()) {
+                return options.withPairScope(PairScope.query(modeAndGroup[1]));
+            }
+            if (mode == null || mode == PairMode.QUERY || modeAndGroup.length == 2) {
+                throw new InvalidArgumentException(ERROR_INVALID_PAIRS_FORMAT.formatted(value));
+            }
+            return options.withPairScope(new PairScope(mode, null));
+        }
+    },
+
+    /**
+     * Selects the algorithm finding the matches of a pair of texts, in the form {@code exact}, {@code nested},
+     * {@code vector}, {@code bitparallel}, {@code tiling}, {@code winnowing[:<window>]} or
+     * {@code auto[:<cell>:<token>:<seed>]}.
+     */
+    ENGINE {
+        @Override
+        AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException {
+            String[] modeAndWindow = value.split(PART_SEPARATOR, 2);
+            if (AUTO_ENGINE.equalsIgnoreCase(modeAndWindow[0].trim())) {
+                return options.withEngine(modeAndWindow.length == 2 ? parseAutoEngine(modeAndWindow[1])
+                        : AutoEngine.DEFAULT);
+            }
+            EngineMode mode = EngineMode.findByName(modeAndWindow[0]);
+            if (mode == EngineMode.WINNOWING) {
+                long window = modeAndWindow.length == 2 ? parsePositive(modeAndWindow[1])
+                        : EngineSelection.DEFAULT_WINDOW;
+                if (window > MAXIMUM_WINDOW) {
+                    throw new InvalidArgumentException(ERROR_TOO_LARGE_FORMAT.formatted(window, MAXIMUM_WINDOW));
+                }
+                return options.withEngine(EngineSelection.winnowing((int) window));
+            }
+            if (mode == null || modeAndWindow.length == 2) {
+                throw new InvalidArgumentException(ERROR_INVALID_ENGINE_FORMAT.formatted(value));
+            }
+            return options.withEngine(new EngineSelection(mode, 0));
+        }
+    };
+
+    private static final long BYTES_PER_MEBIBYTE = 1L << 20;
+    private static final long MAXIMUM_MEBIBYTES = Long.MAX_VALUE / BYTES_PER_MEBIBYTE;
+    private static final String ERROR_NOT_A_NUMBER_FORMAT = "'%s' must be an integer.";
+    private static final String ERROR_NOT_POSITIVE_FORMAT = "'%d' must be positive.";
+    private static final String ERROR_INVALID_FLOOR_FORMAT = "'%s' must be of the form <AVG|MAX|MIN>:<percent>.";
+    private static final String ERROR_PERCENT_TOO_LARGE_FORMAT = "'%d' must not exceed 100.";
+    private static final String ERROR_INVALID_PAIRS_FORMAT = "'%s' must be one of all, cross or query:<group>.";
+    private static final String ERROR_INVALID_ENGINE_FORMAT = "'%s' must be exact, nested, vector, bitparallel, tiling, "
+            + "winnowing[:<w>] or auto[:<c>:<t>:<s>].";
+    private static final String ERROR_TOO_LARGE_FORMAT = "'%d' must not exceed %d.";
+    private static final String ERROR_INVALID_COSTS_FORMAT = "'%s' must be three positive decimal numbers separated by ':'.";
+    private static final String PART_SEPARATOR = ":";
+    private static final String AUTO_ENGINE = "auto";
+    private static final int AUTO_ENGINE_COSTS = 3;
+    private static final int MAXIMUM_WINDOW = 1 << 16;
+    private static final long MAXIMUM_PERCENT = 100;
+    private static final long MAXIMUM_SECONDS = Integer.MAX_VALUE;
+
+    /**
+     * Returns a copy of the provided options with this option set to the provided value.
+     *
+     * @param options the options to modify
+     * @param value the textual value of this option
+     * @return the modified options
+     * @throws InvalidArgumentException if the value is not valid for this option
+     */
+    abstract AnalysisOptions apply(AnalysisOptions options, String value) throws InvalidArgumentException;
+
+    /**
+     * Finds the option matching the provided key. Parsing is case insensitive.
+     *
+     * @param key the key of the option
+     * @return the matching option or {@code null} if no option matches the key
+     */
+    static AnalysisOption fromKey(String key) {
+        Objects.requireNonNull(key);
+        String normalized = key.trim().toUpperCase(Locale.ROOT);
+        for (AnalysisOption option : values()) {
+            if (option.name().equals(normalized)) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    private static AutoEngine parseAutoEngine(String value) throws InvalidArgumentException {
+        String[] parts = value.split(PART_SEPARATOR);
+        double[] costs = new double[AUTO_ENGINE_COSTS];
+        for (int i = 0; i < costs.length && parts.length == costs.length; i++) {
+            try {
+                costs[i] = Double.parseDouble(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new InvalidArgumentException(ERROR_INVALID_COSTS_FORMAT.formatted(value));
+            }
+        }
+        if (!(costs[0] > 0 && costs[1] > 0 && costs[2] > 0)) {
+            throw new InvalidArgumentException(ERROR_INVALID_COSTS_FORMAT.formatted(value));
+        }
+        return new AutoEngine(costs[0], costs[1], costs[2]);
+    }
+
+    private static long parseSeconds(String value) throws InvalidArgumentException {
+        long seconds = parsePositive(value);
+        if (seconds > MAXIMUM_SECONDS) {
+            throw new InvalidArgumentException(ERROR_TOO_LARGE_FORMAT.formatted(seconds, MAXIMUM_SECONDS));
+        }
+        return seconds;
+    }
+
+    private static long parsePositive(String value) throws InvalidArgumentException {
+        long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException(ERROR_NOT_A_NUMBER_FORMAT.formatted(value));
+        }
+        if (parsed < 1) {
+            throw new InvalidArgumentException(ERROR_NOT_POSITIVE_FORMAT.formatted(parsed));
+        }
+        return parsed;
+    }
+}
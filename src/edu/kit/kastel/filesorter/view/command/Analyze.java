@@ -1,5 +1,6 @@
 package edu.kit.kastel.filesorter.view.command;
 
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
 import edu.kit.kastel.filesorter.model.SequenceMatcher;
 import edu.kit.kastel.filesorter.model.TokenizationStrategy;
 import edu.kit.kastel.filesorter.view.Command;
@@ -14,20 +15,23 @@ public class Analyze implements Command<SequenceMatcher> {
 
     private final TokenizationStrategy strategy;
     private final int minMatchLength;
+    private final AnalysisOptions options;
 
     /**
      * Creates a new command instance.
      *
      * @param strategy the strategy to use for tokenizing the texts prior to the analysis
      * @param minMatchLength the minimum length a match must have to be considered
+     * @param options the options controlling the execution of the analysis
      */
-    public Analyze(TokenizationStrategy strategy, int minMatchLength) {
+    public Analyze(TokenizationStrategy strategy, int minMatchLength, AnalysisOptions options) {
         this.strategy = strategy;
         this.minMatchLength = minMatchLength;
+        this.options = options;
     }
 
     @Override
     public Result execute(SequenceMatcher handle) {
-        return handle.analyze(this.strategy, this.minMatchLength);
+        return handle.analyze(this.strategy, this.minMatchLength, this.options);
     }
 }
@@ -0,0 +1,145 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.Neighbour;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command that groups the texts of the last analysis into single-linkage clusters: two texts belong to the
+ * same cluster if they are connected by a chain of pairs whose value in a {@link ListMetric} reaches a
+ * threshold. The clusters are the connected components of these pairs, found with a union-find structure
+ * over the {@link AnalysisResult#neighbours(String) neighbours} of the texts, so only pairs sharing matches
+ * are visited. The threshold is positive, so pairs without matches never reach it. Pairs the analysis did
+ * not compare have no matches and are not linked; the output then begins with the same hint on the coverage
+ * as the {@code list} command.
+ *
+ * @author ugsrv
+ */
+public class Clusters implements Command<SequenceMatcher> {
+
+    private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
+    private static final String ERROR_PERCENT_TOO_LARGE = "Threshold must not exceed 100 for a percentage metric.";
+    private static final String ERROR_NOT_POSITIVE = "Threshold must be positive.";
+    private static final String MESSAGE_NO_CLUSTERS = "No clusters above the threshold.";
+    private static final String FORMAT_CLUSTER = "%d: %s";
+    private static final String PRUNED_CONSEQUENCE = "they are not linked";
+    private static final String IDENTIFIER_SEPARATOR = ", ";
+    private static final double MAXIMUM_PERCENT = 100.0;
+
+    private final ListMetric metric;
+    private final int threshold;
+
+    /**
+     * Creates a new command.
+     *
+     * @param metric the metric to compare the pairs by
+     * @param threshold the positive minimum value of a pair in the metric, in percent for percentage metrics
+     *        and in tokens otherwise
+     */
+    public Clusters(ListMetric metric, int threshold) {
+        this.metric = metric;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        AnalysisResult analysisResult = handle.getLastAnalysisResult();
+        if (analysisResult == null) {
+            return Result.error(ERROR_NO_ANALYSIS_RESULT);
+        }
+        if (this.threshold < 1) {
+            return Result.error(ERROR_NOT_POSITIVE);
+        }
+        if (this.metric.isPercentage() && this.threshold > MAXIMUM_PERCENT) {
+            return Result.error(ERROR_PERCENT_TOO_LARGE);
+        }
+        double minimum = this.metric.isPercentage() ? this.threshold / MAXIMUM_PERCENT : this.threshold;
+        Map<String, List<String>> tokenizedTexts = analysisResult.tokenizedTexts();
+        List<String> identifiers = new ArrayList<>(tokenizedTexts.keySet());
+        Map<String, Integer> indices = new HashMap<>();
+        for (int index = 0; index < identifiers.size(); index++) {
+            indices.put(identifiers.get(index), index);
+        }
+        int[] parents = new int[identifiers.size()];
+        int[] sizes = new int[identifiers.size()];
+        for (int index = 0; index < parents.length; index++) {
+            parents[index] = index;
+            sizes[index] = 1;
+        }
+        for (int index = 0; index < identifiers.size(); index++) {
+            String identifier = identifiers.get(index);
+            for (Neighbour neighbour : analysisResult.neighbours(identifier)) {
+                int neighbourIndex = indices.get(neighbour.identifier());
+                PairSummary summary = new PairSummary(identifier, neighbour.identifier(),
+                        tokenizedTexts.get(identifier).size(), tokenizedTexts.get(neighbour.identifier()).size(),
+                        neighbour.totalMatchLength(), neighbour.longestMatchLength());
+                if (index < neighbourIndex && this.metric.extract(summary) >= minimum) {
+                    union(parents, sizes, index, neighbourIndex);
+                }
+            }
+        }
+        List<List<String>> clusters = collectClusters(identifiers, parents);
+        List<String> lines = new ArrayList<>(CoverageHeader.lines(analysisResult, PRUNED_CONSEQUENCE));
+        if (clusters.isEmpty()) {
+            lines.add(MESSAGE_NO_CLUSTERS);
+        }
+        for (List<String> cluster : clusters) {
+            lines.add(FORMAT_CLUSTER.formatted(cluster.size(), String.join(IDENTIFIER_SEPARATOR, cluster)));
+        }
+        return Result.success(String.join(System.lineSeparator(), lines));
+    }
+
+    private static List<List<String>> collectClusters(List<String> identifiers, int[] parents) {
+        Map<Integer, List<String>> byRoot = new HashMap<>();
+        for (int index = 0; index < identifiers.size(); index++) {
+            byRoot.computeIfAbsent(find(parents, index), key -> new ArrayList<>()).add(identifiers.get(index));
+        }
+        List<List<String>> clusters = new ArrayList<>();
+        for (List<String> cluster : byRoot.values()) {
+            if (cluster.size() > 1) {
+                cluster.sort(Comparator.naturalOrder());
+                clusters.add(cluster);
+            }
+        }
+        Comparator<List<String>> bySize = Comparator.comparingInt(List::size);
+        clusters.sort(bySize.reversed().thenComparing(cluster -> cluster.get(0)));
+        return clusters;
+    }
+
+    private static void union(int[] parents, int[] sizes, int first, int second) {
+        int firstRoot = find(parents, first);
+        int secondRoot = find(parents, second);
+        if (firstRoot == secondRoot) {
+            return;
+        }
+        if (sizes[firstRoot] < sizes[secondRoot]) {
+            parents[firstRoot] = secondRoot;
+            sizes[secondRoot] += sizes[firstRoot];
+        } else {
+            parents[secondRoot] = firstRoot;
+            sizes[firstRoot] += sizes[secondRoot];
+        }
+    }
+
+    private static int find(int[] parents, int index) {
+        int root = index;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        int current = index;
+        while (parents[current] != root) {
+            int next = parents[current];
+            parents[current] = root;
+            current = next;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,47 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisCoverage;
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.AnalysisStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility class for the lines preceding the output of commands that evaluate the pairs of an analysis and
+ * hint that the analysis did not compare all of them.
+ *
+ * @author ugsrv
+ */
+final class CoverageHeader {
+
+    private static final String FORMAT_PARTIAL_RESULT = "Partial result: compared %d of %d pairs (%.1f%% of the work)";
+    private static final String FORMAT_PRUNED = "Pruned %d pairs below the similarity floor; %s";
+    private static final double PERCENT = 100.0;
+
+    private CoverageHeader() {
+        // utility class
+    }
+
+    /**
+     * Returns the lines reporting the pairs the provided analysis stopped before and the pairs it pruned.
+     *
+     * @param analysisResult the analysis result
+     * @param prunedConsequence how the command treats the pruned pairs
+     * @return the lines, empty if every pair was compared
+     */
+    static List<String> lines(AnalysisResult analysisResult, String prunedConsequence) {
+        List<String> lines = new ArrayList<>();
+        AnalysisCoverage coverage = analysisResult.coverage();
+        if (!coverage.isComplete()) {
+            lines.add(String.format(Locale.ROOT, FORMAT_PARTIAL_RESULT, coverage.comparedPairs(),
+                    coverage.totalPairs(), coverage.workFraction() * PERCENT));
+        }
+        AnalysisStatistics statistics = analysisResult.statistics();
+        if (statistics != null && statistics.prunedPairs() > 0) {
+            lines.add(FORMAT_PRUNED.formatted(statistics.prunedPairs(), prunedConsequence));
+        }
+        return lines;
+    }
+}
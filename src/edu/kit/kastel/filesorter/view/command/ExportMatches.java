@@ -0,0 +1,54 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisMatch;
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.ExportFormat;
+import edu.kit.kastel.filesorter.model.TableWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command that streams every match of the last analysis, one row per match, to a file.
+ *
+ * @author ugsrv
+ */
+public class ExportMatches extends AbstractExportCommand {
+
+    private static final List<String> COLUMNS = List.of("first", "firstIndex", "second",
+            "secondIndex", "length");
+    private static final String ROW_NAME = "matches";
+
+    /**
+     * Creates a new command.
+     *
+     * @param format the format of the exported file
+     * @param path the file to write to
+     */
+    public ExportMatches(ExportFormat format, Path path) {
+        super(format, path);
+    }
+
+    @Override
+    List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    String rowName() {
+        return ROW_NAME;
+    }
+
+    @Override
+    void writeRows(AnalysisResult analysisResult, TableWriter writer) throws IOException {
+        for (AnalysisMatch match : analysisResult.matches()) {
+            writer.writeString(match.firstIdentifier());
+            writer.writeLong(match.firstIndex());
+            writer.writeString(match.secondIdentifier());
+            writer.writeLong(match.secondIndex());
+            writer.writeLong(match.length());
+            writer.endRow();
+        }
+    }
+}
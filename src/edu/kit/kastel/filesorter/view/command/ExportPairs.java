@@ -0,0 +1,73 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.ExportFormat;
+import edu.kit.kastel.filesorter.model.TableWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command that streams the summary of every program pair of the last analysis, including the value of
+ * each {@link ListMetric}, to a file. Similarities are written as ratios between zero and one. Every row
+ * is written as soon as the matches of its pair have been summed up, so no pair is kept in memory.
+ *
+ * @author ugsrv
+ */
+public class ExportPairs extends AbstractExportCommand {
+
+    private static final List<String> COLUMNS = createColumns();
+    private static final String ROW_NAME = "pairs";
+
+    /**
+     * Creates a new command.
+     *
+     * @param format the format of the exported file
+     * @param path the file to write to
+     */
+    public ExportPairs(ExportFormat format, Path path) {
+        super(format, path);
+    }
+
+    @Override
+    List<String> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    String rowName() {
+        return ROW_NAME;
+    }
+
+    @Override
+    void writeRows(AnalysisResult analysisResult, TableWriter writer) throws IOException {
+        PairSummaryCollector.forEachSummary(analysisResult, summary -> writeRow(summary, writer));
+    }
+
+    private static void writeRow(PairSummary summary, TableWriter writer) throws IOException {
+        writer.writeString(summary.firstIdentifier());
+        writer.writeString(summary.secondIdentifier());
+        writer.writeLong(summary.firstTokenCount());
+        writer.writeLong(summary.secondTokenCount());
+        for (ListMetric metric : ListMetric.values()) {
+            if (metric.isPercentage()) {
+                writer.writeDouble(metric.extract(summary));
+            } else {
+                writer.writeLong(Math.round(metric.extract(summary)));
+            }
+        }
+        writer.endRow();
+    }
+
+    private static List<String> createColumns() {
+        List<String> columns = new ArrayList<>(List.of("first", "second", "firstTokens",
+                "secondTokens"));
+        for (ListMetric metric : ListMetric.values()) {
+            columns.add(metric.name().toLowerCase(Locale.ROOT));
+        }
+        return List.copyOf(columns);
+    }
+}
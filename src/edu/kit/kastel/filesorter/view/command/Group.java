@@ -0,0 +1,34 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.util.List;
+
+/**
+ * Command that tags loaded texts with a group, which analyses can use to restrict the compared pairs.
+ *
+ * @author ugsrv
+ */
+public class Group implements Command<SequenceMatcher> {
+
+    private final String group;
+    private final List<String> identifiers;
+
+    /**
+     * Creates a new command.
+     *
+     * @param group the group to tag the texts with
+     * @param identifiers the identifiers of the texts to tag
+     */
+    public Group(String group, List<String> identifiers) {
+        this.group = group;
+        this.identifiers = List.copyOf(identifiers);
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.group(this.group, this.identifiers);
+    }
+}
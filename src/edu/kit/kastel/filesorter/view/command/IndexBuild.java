@@ -0,0 +1,38 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.nio.file.Path;
+
+/**
+ * Command that writes a reference index of all loaded texts and opens it for {@link Query}.
+ *
+ * @author ugsrv
+ */
+public class IndexBuild implements Command<SequenceMatcher> {
+
+    private final Path path;
+    private final TokenizationStrategy strategy;
+    private final int minMatchLength;
+
+    /**
+     * Creates a new command.
+     *
+     * @param path the path to write the index to
+     * @param strategy the strategy to tokenize the texts with
+     * @param minMatchLength the minimum length a match must have to be found
+     */
+    public IndexBuild(Path path, TokenizationStrategy strategy, int minMatchLength) {
+        this.path = path;
+        this.strategy = strategy;
+        this.minMatchLength = minMatchLength;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.references().build(this.path, this.strategy, this.minMatchLength);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.nio.file.Path;
+
+/**
+ * Command that opens a reference index written by {@link IndexBuild} for {@link Query}.
+ *
+ * @author ugsrv
+ */
+public class IndexOpen implements Command<SequenceMatcher> {
+
+    private final Path path;
+
+    /**
+     * Creates a new command.
+     *
+     * @param path the path of the index
+     */
+    public IndexOpen(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.references().open(this.path);
+    }
+}
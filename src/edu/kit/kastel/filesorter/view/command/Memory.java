@@ -0,0 +1,60 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.MemoryCategory;
+import edu.kit.kastel.filesorter.model.MemoryReport;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command that displays the estimated heap footprint of the loaded texts and the last analysis result,
+ * summed up per category and for the largest single consumers.
+ *
+ * @author ugsrv
+ */
+public class Memory implements Command<SequenceMatcher> {
+
+    /**
+     * The number of consumers listed if no limit is provided.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final String FORMAT_TOTAL = "total: %d bytes";
+    private static final String FORMAT_CATEGORY = "%s: %d bytes";
+    private static final String MESSAGE_TOP = "top consumers:";
+    private static final String FORMAT_ENTRY = "%s %s: %d bytes";
+
+    private final int limit;
+
+    /**
+     * Creates a new command.
+     *
+     * @param limit the maximum number of single consumers to list
+     */
+    public Memory(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        MemoryReport report = handle.memoryReport();
+        List<String> lines = new ArrayList<>();
+        lines.add(FORMAT_TOTAL.formatted(report.total()));
+        for (MemoryCategory category : MemoryCategory.values()) {
+            lines.add(FORMAT_CATEGORY.formatted(name(category), report.total(category)));
+        }
+        lines.add(MESSAGE_TOP);
+        for (MemoryReport.Entry entry : report.entries().subList(0, Math.min(this.limit, report.entries().size()))) {
+            lines.add(FORMAT_ENTRY.formatted(name(entry.category()), entry.name(), entry.bytes()));
+        }
+        return Result.success(String.join(System.lineSeparator(), lines));
+    }
+
+    private static String name(MemoryCategory category) {
+        return category.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command that prints the session metrics in the Prometheus text format or keeps them written to a file.
+ *
+ * @author ugsrv
+ */
+public class Metrics implements Command<SequenceMatcher> {
+
+    private static final String ERROR_COULD_NOT_WRITE_METRICS = "Could not write metrics file.";
+    private static final String MESSAGE_EXPORTING = "Writing metrics to %s after every command";
+
+    private final Path path;
+
+    /**
+     * Creates a new command.
+     *
+     * @param path the file to keep the metrics written to or {@code null} to print them once
+     */
+    public Metrics(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        if (this.path == null) {
+            return Result.success(handle.metrics().exposition().stripTrailing());
+        }
+        try {
+            handle.metrics().exportTo(this.path);
+        } catch (IOException e) {
+            return Result.error(ERROR_COULD_NOT_WRITE_METRICS);
+        }
+        return Result.success(MESSAGE_EXPORTING.formatted(this.path));
+    }
+}
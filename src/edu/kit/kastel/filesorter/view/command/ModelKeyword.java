@@ -1,6 +1,9 @@
 package edu.kit.kastel.filesorter.view.command;
 
+import edu.kit.kastel.filesorter.model.AnalysisOptions;
+import edu.kit.kastel.filesorter.model.ExportFormat;
 import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.StorageMode;
 import edu.kit.kastel.filesorter.model.TokenizationStrategy;
 import edu.kit.kastel.filesorter.view.Arguments;
 import edu.kit.kastel.filesorter.view.Command;
@@ -10,6 +13,7 @@ import edu.kit.kastel.filesorter.view.Keyword;
 
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 
 /**
  * This enum represents all keywords for commands handling a {@link SequenceMatcher}.
@@ -28,6 +32,11 @@ public enum ModelKeyword implements Keyword<SequenceMatcher> {
      */
     LOAD(arguments -> new Load(parsePath(arguments))),
 
+    /**
+     * Keyword for the {@link Group} command.
+     */
+    GROUP(arguments -> new Group(arguments.parseString(), parseIdentifiers(arguments))),
+
     /**
      * Keyword for the {@link Clear} command.
      */
@@ -41,7 +50,8 @@ public enum ModelKeyword implements Keyword<SequenceMatcher> {
     /**
      * Keyword for the {@link Analyze} command.
      */
-    ANALYZE(arguments -> new Analyze(parseTokenizationStrategy(arguments), arguments.parsePositive())),
+    ANALYZE(arguments -> new Analyze(parseTokenizationStrategy(arguments), arguments.parsePositive(),
+            parseAnalysisOptions(arguments))),
 
     /**
      * Keyword for the {@link Matches} command.
@@ -62,12 +72,82 @@ public enum ModelKeyword implements Keyword<SequenceMatcher> {
     /**
      * Keyword for the {@link Histogram} command.
      */
-    HISTOGRAM(arguments -> new Histogram(parseListMetric(arguments)));
+    HISTOGRAM(arguments -> new Histogram(parseListMetric(arguments))),
+
+    /**
+     * Keyword for the {@link Similar} command.
+     */
+    SIMILAR(ModelKeyword::parseSimilar),
+
+    /**
+     * Keyword for the {@link Clusters} command.
+     */
+    CLUSTERS(arguments -> new Clusters(parseListMetric(arguments), arguments.parsePositive())),
+
+    /**
+     * Keyword for the {@link Save} command.
+     */
+    SAVE(arguments -> new Save(parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link Open} command.
+     */
+    OPEN(arguments -> new Open(parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link Storage} command.
+     */
+    STORAGE(arguments -> new Storage(parseStorageMode(arguments))),
+
+    /**
+     * Keyword for the {@link ExportMatches} command.
+     */
+    EXPORT_MATCHES(arguments -> new ExportMatches(parseExportFormat(arguments), parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link ExportPairs} command.
+     */
+    EXPORT_PAIRS(arguments -> new ExportPairs(parseExportFormat(arguments), parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link IndexBuild} command.
+     */
+    INDEX_BUILD(arguments -> new IndexBuild(parsePath(arguments), parseTokenizationStrategy(arguments),
+            arguments.parsePositive())),
+
+    /**
+     * Keyword for the {@link IndexOpen} command.
+     */
+    INDEX_OPEN(arguments -> new IndexOpen(parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link Query} command.
+     */
+    QUERY(arguments -> new Query(arguments.parseString())),
+
+    /**
+     * Keyword for the {@link Stats} command.
+     */
+    STATS(arguments -> new Stats()),
+
+    /**
+     * Keyword for the {@link Metrics} command.
+     */
+    METRICS(arguments -> new Metrics(arguments.isExhausted() ? null : parsePath(arguments))),
+
+    /**
+     * Keyword for the {@link Memory} command.
+     */
+    MEMORY(arguments -> new Memory(arguments.isExhausted() ? Memory.DEFAULT_LIMIT : arguments.parsePositive()));
 
     private static final String ERROR_INVALID_PATH = "invalid path";
     private static final String ERROR_INVALID_STRATEGY = "invalid strategy";
     private static final String ERROR_INVALID_METRIC = "invalid metric";
     private static final String ERROR_INVALID_ORDER = "invalid order";
+    private static final String ERROR_INVALID_STORAGE_MODE = "invalid storage mode";
+    private static final String ERROR_INVALID_EXPORT_FORMAT = "invalid export format";
+    private static final String ERROR_INVALID_OPTION = "invalid option '%s'";
+    private static final String OPTION_SEPARATOR = "=";
     private static final String VALUE_NAME_DELIMITER = "_";
     private final CommandProvider<SequenceMatcher> provider;
 
@@ -109,6 +189,14 @@ public enum ModelKeyword implements Keyword<SequenceMatcher> {
         }
     }
 
+    private static java.util.List<String> parseIdentifiers(Arguments arguments) throws InvalidArgumentException {
+        java.util.List<String> identifiers = new ArrayList<>();
+        do {
+            identifiers.add(arguments.parseString());
+        } while (!arguments.isExhausted());
+        return identifiers;
+    }
+
     private static String parseText(Arguments arguments) throws InvalidArgumentException {
         return arguments.parseRemaining();
     }
@@ -144,4 +232,44 @@ public enum ModelKeyword implements Keyword<SequenceMatcher> {
         }
         return order;
     }
+
+    private static Similar parseSimilar(Arguments arguments) throws InvalidArgumentException {
+        String identifier = arguments.parseString();
+        int limit = arguments.parsePositive();
+        ListMetric metric = parseListMetric(arguments);
+        if (arguments.isExhausted()) {
+            return new Similar(identifier, limit, metric, null, 0);
+        }
+        return new Similar(identifier, limit, metric, parseTokenizationStrategy(arguments), arguments.parsePositive());
+    }
+
+    private static StorageMode parseStorageMode(Arguments arguments) throws InvalidArgumentException {
+        StorageMode mode = StorageMode.findByName(arguments.parseString());
+        if (mode == null) {
+            throw new InvalidArgumentException(ERROR_INVALID_STORAGE_MODE);
+        }
+        return mode;
+    }
+
+    private static ExportFormat parseExportFormat(Arguments arguments) throws InvalidArgumentException {
+        ExportFormat format = ExportFormat.findByName(arguments.parseString());
+        if (format == null) {
+            throw new InvalidArgumentException(ERROR_INVALID_EXPORT_FORMAT);
+        }
+        return format;
+    }
+
+    private static AnalysisOptions parseAnalysisOptions(Arguments arguments) throws InvalidArgumentException {
+        AnalysisOptions options = AnalysisOptions.DEFAULT;
+        while (!arguments.isExhausted()) {
+            String argument = arguments.parseString();
+            String[] keyValue = argument.split(OPTION_SEPARATOR, 2);
+            AnalysisOption option = AnalysisOption.fromKey(keyValue[0]);
+            if (option == null || keyValue.length < 2) {
+                throw new InvalidArgumentException(ERROR_INVALID_OPTION.formatted(argument));
+            }
+            options = option.apply(options, keyValue[1]);
+        }
+        return options;
+    }
 }
@@ -0,0 +1,31 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.nio.file.Path;
+
+/**
+ * Command that restores the texts and the last analysis of the {@link SequenceMatcher} from a workspace image.
+ *
+ * @author ugsrv
+ */
+public class Open implements Command<SequenceMatcher> {
+
+    private final Path path;
+
+    /**
+     * Creates a new command.
+     *
+     * @param path the path of the workspace image to open
+     */
+    public Open(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.open(this.path);
+    }
+}
@@ -3,14 +3,20 @@ package edu.kit.kastel.filesorter.view.command;
 import edu.kit.kastel.filesorter.model.AnalysisMatch;
 import edu.kit.kastel.filesorter.model.AnalysisResult;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Utility responsible for collecting {@link PairSummary} instances for an analysis result.
  *
+ * <p>The matches of an analysis are ordered by pair in the order of the analyzed texts, so the summaries
+ * are built in a single pass over the matches: the summary of a pair is complete as soon as the matches
+ * of the next pair begin.</p>
+ *
  * @author ugsrv
  */
 final class PairSummaryCollector {
@@ -20,66 +26,74 @@ final class PairSummaryCollector {
     }
 
     static List<PairSummary> collectSummaries(AnalysisResult analysisResult) {
+        List<PairSummary> summaries = new ArrayList<>();
+        try {
+            forEachSummary(analysisResult, summaries::add);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return summaries;
+    }
+
+    /**
+     * Passes the summary of every analyzed pair to the provided consumer as soon as it is complete, in the
+     * order of the analyzed texts, without keeping the summaries of other pairs.
+     *
+     * @param analysisResult the analysis result to summarize
+     * @param consumer the consumer receiving the summaries
+     * @throws IOException if the consumer fails
+     */
+    static void forEachSummary(AnalysisResult analysisResult, SummaryConsumer consumer) throws IOException {
         Map<String, List<String>> tokenizedTexts = analysisResult.tokenizedTexts();
         List<String> identifiers = new ArrayList<>(tokenizedTexts.keySet());
-        if (identifiers.size() < 2) {
-            return List.of();
+        Map<String, Integer> textIndices = new HashMap<>();
+        for (int index = 0; index < identifiers.size(); index++) {
+            textIndices.put(identifiers.get(index), index);
         }
 
-        Map<PairKey, PairAccumulator> accumulators = new LinkedHashMap<>();
+        Iterator<AnalysisMatch> matches = analysisResult.matches().iterator();
+        AnalysisMatch pending = matches.hasNext() ? matches.next() : null;
         for (int firstIndex = 0; firstIndex < identifiers.size(); firstIndex++) {
-            for (int secondIndex = firstIndex + 1; secondIndex < identifiers.size(); secondIndex++) {
+            for (int secondIndex = analysisResult.nextAnalyzedPartner(firstIndex, firstIndex);
+                    secondIndex < identifiers.size();
+                    secondIndex = analysisResult.nextAnalyzedPartner(firstIndex, secondIndex)) {
                 String firstIdentifier = identifiers.get(firstIndex);
                 String secondIdentifier = identifiers.get(secondIndex);
-                int firstTokenCount = tokenizedTexts.get(firstIdentifier).size();
-                int secondTokenCount = tokenizedTexts.get(secondIdentifier).size();
-                accumulators.put(new PairKey(firstIdentifier, secondIdentifier),
-                        new PairAccumulator(firstIdentifier, secondIdentifier, firstTokenCount, secondTokenCount));
+                long pair = pairKey(firstIndex, secondIndex);
+                int totalMatchLength = 0;
+                int longestMatchLength = 0;
+                while (pending != null && pairKey(textIndices.get(pending.firstIdentifier()),
+                        textIndices.get(pending.secondIdentifier())) <= pair) {
+                    if (pending.firstIdentifier().equals(firstIdentifier)
+                            && pending.secondIdentifier().equals(secondIdentifier)) {
+                        totalMatchLength += pending.length();
+                        longestMatchLength = Math.max(longestMatchLength, pending.length());
+                    }
+                    pending = matches.hasNext() ? matches.next() : null;
+                }
+                consumer.accept(new PairSummary(firstIdentifier, secondIdentifier,
+                        tokenizedTexts.get(firstIdentifier).size(), tokenizedTexts.get(secondIdentifier).size(),
+                        totalMatchLength, longestMatchLength));
             }
         }
-
-        for (AnalysisMatch match : analysisResult.matches()) {
-            PairKey key = new PairKey(match.firstIdentifier(), match.secondIdentifier());
-            PairAccumulator accumulator = accumulators.get(key);
-            if (accumulator != null) {
-                accumulator.addMatch(match);
-            }
-        }
-
-        List<PairSummary> summaries = new ArrayList<>(accumulators.size());
-        for (PairAccumulator accumulator : accumulators.values()) {
-            summaries.add(accumulator.toSummary());
-        }
-        return summaries;
     }
 
-    private record PairKey(String firstIdentifier, String secondIdentifier) {
+    private static long pairKey(int firstIndex, int secondIndex) {
+        return ((long) firstIndex << Integer.SIZE) | secondIndex;
     }
 
-    private static final class PairAccumulator {
-        private final String firstIdentifier;
-        private final String secondIdentifier;
-        private final int firstTokenCount;
-        private final int secondTokenCount;
-        private int totalMatchLength;
-        private int longestMatchLength;
-
-        PairAccumulator(String firstIdentifier, String secondIdentifier, int firstTokenCount, int secondTokenCount) {
-            this.firstIdentifier = firstIdentifier;
-            this.secondIdentifier = secondIdentifier;
-            this.firstTokenCount = firstTokenCount;
-            this.secondTokenCount = secondTokenCount;
-        }
-
-        private void addMatch(AnalysisMatch match) {
-            this.totalMatchLength += match.length();
-            this.longestMatchLength = Math.max(this.longestMatchLength, match.length());
-        }
+    /**
+     * Receives the summaries of {@link #forEachSummary(AnalysisResult, SummaryConsumer)}.
+     */
+    @FunctionalInterface
+    interface SummaryConsumer {
 
-        private PairSummary toSummary() {
-            return new PairSummary(this.firstIdentifier, this.secondIdentifier, this.firstTokenCount,
-                    this.secondTokenCount, this.totalMatchLength, this.longestMatchLength);
-        }
+        /**
+         * Receives the summary of a pair.
+         *
+         * @param summary the summary of the pair
+         * @throws IOException if the summary cannot be processed
+         */
+        void accept(PairSummary summary) throws IOException;
     }
 }
-
@@ -0,0 +1,29 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+/**
+ * Command that lists the matches of a loaded text against the texts of the open reference index.
+ *
+ * @author ugsrv
+ */
+public class Query implements Command<SequenceMatcher> {
+
+    private final String identifier;
+
+    /**
+     * Creates a new command.
+     *
+     * @param identifier the identifier of the loaded text to search for
+     */
+    public Query(String identifier) {
+        this.identifier = identifier;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.references().query(this.identifier);
+    }
+}
@@ -0,0 +1,101 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.Neighbour;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.TokenizationStrategy;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command that lists the texts most similar to a given text under a {@link ListMetric}. Without a
+ * tokenization strategy the neighbours are taken from the last analysis result; with one, the text is
+ * compared only with the loaded texts sharing a locality-sensitive hash bucket with it, so no full
+ * analysis is needed. Only texts sharing at least one match with the given text are listed.
+ *
+ * @author ugsrv
+ */
+public class Similar implements Command<SequenceMatcher> {
+
+    private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
+    private static final String ERROR_NOT_ANALYZED = "Text '%s' is not part of the last analysis.";
+    private static final String ERROR_UNKNOWN_IDENTIFIER = "No text stored for identifier '%s'.";
+    private static final String ERROR_COULD_NOT_COMPARE = "Could not compare candidates: %s.";
+    private static final String FORMAT_NEIGHBOUR = "%s: %s";
+
+    private final String identifier;
+    private final int limit;
+    private final ListMetric metric;
+    private final TokenizationStrategy strategy;
+    private final int minMatchLength;
+
+    /**
+     * Creates a new command.
+     *
+     * @param identifier the identifier of the text to find similar texts for
+     * @param limit the maximum number of texts to list
+     * @param metric the metric to order the texts by
+     * @param strategy the strategy to tokenize the loaded texts with, or {@code null} to use the last
+     *        analysis result
+     * @param minMatchLength the minimum length of a match measured in tokens if a strategy is provided
+     */
+    public Similar(String identifier, int limit, ListMetric metric, TokenizationStrategy strategy, int minMatchLength) {
+        this.identifier = identifier;
+        this.limit = limit;
+        this.metric = metric;
+        this.strategy = strategy;
+        this.minMatchLength = minMatchLength;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        AnalysisResult analysisResult;
+        if (this.strategy == null) {
+            analysisResult = handle.getLastAnalysisResult();
+            if (analysisResult == null) {
+                return Result.error(ERROR_NO_ANALYSIS_RESULT);
+            }
+            if (!analysisResult.tokenizedTexts().containsKey(this.identifier)) {
+                return Result.error(ERROR_NOT_ANALYZED.formatted(this.identifier));
+            }
+        } else {
+            try {
+                analysisResult = handle.references().analyzeCandidates(this.identifier, this.strategy,
+                        this.minMatchLength);
+            } catch (IOException e) {
+                return Result.error(ERROR_COULD_NOT_COMPARE.formatted(e.getMessage()));
+            }
+            if (analysisResult == null) {
+                return Result.error(ERROR_UNKNOWN_IDENTIFIER.formatted(this.identifier));
+            }
+        }
+        List<PairSummary> summaries = summarize(analysisResult);
+        Comparator<PairSummary> bySimilarity = Comparator.comparingDouble(this.metric::extract);
+        summaries.sort(bySimilarity.reversed().thenComparing(PairSummary::secondIdentifier));
+        List<String> lines = new ArrayList<>();
+        for (PairSummary summary : summaries.subList(0, Math.min(this.limit, summaries.size()))) {
+            lines.add(FORMAT_NEIGHBOUR.formatted(summary.secondIdentifier(), this.metric.format(this.metric.extract(summary))));
+        }
+        return lines.isEmpty() ? Result.success() : Result.success(String.join(System.lineSeparator(), lines));
+    }
+
+    private List<PairSummary> summarize(AnalysisResult analysisResult) {
+        Map<String, List<String>> tokenizedTexts = analysisResult.tokenizedTexts();
+        int tokenCount = tokenizedTexts.get(this.identifier).size();
+        List<PairSummary> summaries = new ArrayList<>();
+        for (Neighbour neighbour : analysisResult.neighbours(this.identifier)) {
+            if (analysisResult.isAnalyzedPair(this.identifier, neighbour.identifier())) {
+                summaries.add(new PairSummary(this.identifier, neighbour.identifier(), tokenCount,
+                        tokenizedTexts.get(neighbour.identifier()).size(), neighbour.totalMatchLength(),
+                        neighbour.longestMatchLength()));
+            }
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.AnalysisCoverage;
+import edu.kit.kastel.filesorter.model.AnalysisPhase;
+import edu.kit.kastel.filesorter.model.AnalysisResult;
+import edu.kit.kastel.filesorter.model.AnalysisStatistics;
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command that displays the per-phase timings and the counters recorded during the last analysis.
+ *
+ * @author ugsrv
+ */
+public class Stats implements Command<SequenceMatcher> {
+
+    private static final String ERROR_NO_ANALYSIS_RESULT = "No analysis result available.";
+    private static final String ERROR_NO_STATISTICS = "No statistics recorded for the last analysis.";
+    private static final String FORMAT_TEXTS = "texts: %d";
+    private static final String FORMAT_TOKENS = "tokens: %d (min %d, max %d per text)";
+    private static final String FORMAT_PAIRS = "pairs: %d (compared %d, pruned %d)";
+    private static final String FORMAT_COVERAGE = "coverage: %d of %d pairs, %.1f%% of the work%s";
+    private static final String INCOMPLETE = " (stopped by time budget)";
+    private static final double PERCENT = 100.0;
+    private static final String FORMAT_TOKEN_COMPARISONS = "token comparisons: %d";
+    private static final String FORMAT_MATCHES = "matches: %d";
+    private static final String FORMAT_CACHE = "run cache: %d hits, %d misses";
+    private static final String FORMAT_PHASE = "%s: %.3fms, %s allocated";
+    private static final String FORMAT_BYTES = "%d bytes";
+    private static final String UNKNOWN_ALLOCATION = "unknown bytes";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        AnalysisResult analysisResult = handle.getLastAnalysisResult();
+        if (analysisResult == null) {
+            return Result.error(ERROR_NO_ANALYSIS_RESULT);
+        }
+        AnalysisStatistics statistics = analysisResult.statistics();
+        if (statistics == null) {
+            return Result.error(ERROR_NO_STATISTICS);
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(FORMAT_TEXTS.formatted(statistics.texts()));
+        lines.add(FORMAT_TOKENS.formatted(statistics.tokens(), statistics.minimumTokens(),
+                statistics.maximumTokens()));
+        AnalysisCoverage coverage = analysisResult.coverage();
+        lines.add(FORMAT_PAIRS.formatted(coverage.totalPairs(), statistics.comparedPairs(),
+                statistics.prunedPairs()));
+        lines.add(String.format(Locale.ROOT, FORMAT_COVERAGE, coverage.comparedPairs(), coverage.totalPairs(),
+                coverage.workFraction() * PERCENT, coverage.isComplete() ? "" : INCOMPLETE));
+        lines.add(FORMAT_TOKEN_COMPARISONS.formatted(statistics.tokenComparisons()));
+        lines.add(FORMAT_MATCHES.formatted(statistics.matches()));
+        lines.add(FORMAT_CACHE.formatted(statistics.cacheHits(), statistics.cacheMisses()));
+        for (AnalysisPhase phase : AnalysisPhase.values()) {
+            long allocatedBytes = statistics.allocatedBytes(phase);
+            String allocation = allocatedBytes < 0 ? UNKNOWN_ALLOCATION : FORMAT_BYTES.formatted(allocatedBytes);
+            lines.add(String.format(Locale.ROOT, FORMAT_PHASE, phase.name().toLowerCase(Locale.ROOT),
+                    statistics.nanos(phase) / NANOS_PER_MILLI, allocation));
+        }
+        return Result.success(String.join(System.lineSeparator(), lines));
+    }
+}
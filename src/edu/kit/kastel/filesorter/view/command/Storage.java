@@ -0,0 +1,30 @@
+package edu.kit.kastel.filesorter.view.command;
+
+import edu.kit.kastel.filesorter.model.SequenceMatcher;
+import edu.kit.kastel.filesorter.model.StorageMode;
+import edu.kit.kastel.filesorter.view.Command;
+import edu.kit.kastel.filesorter.view.Result;
+
+/**
+ * Command that switches the in-memory representation of texts and token sequences of the {@link SequenceMatcher}.
+ *
+ * @author ugsrv
+ */
+public class Storage implements Command<SequenceMatcher> {
+
+    private final StorageMode mode;
+
+    /**
+     * Creates a new command.
+     *
+     * @param mode the storage mode to switch to
+     */
+    public Storage(StorageMode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public Result execute(SequenceMatcher handle) {
+        return handle.storage(this.mode);
+    }
+}
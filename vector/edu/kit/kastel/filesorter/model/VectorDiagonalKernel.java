@@ -0,0 +1,57 @@
+package edu.kit.kastel.filesorter.model;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link DiagonalKernel} comparing as many tokens per instruction as the preferred vector shape of the
+ * platform holds, e.g. 8 with AVX2 and 16 with AVX-512, using the incubating Vector API. The remainder of
+ * a segment shorter than a vector is compared by the {@link ScalarDiagonalKernel}.
+ *
+ * <p>The Vector API is part of the module {@code jdk.incubator.vector}, which is only resolved if the JVM
+ * is started with {@code --add-modules jdk.incubator.vector}. This class is therefore only compiled with
+ * the profile {@code vector} and only loaded by {@link DiagonalRunFinder#vectorized(java.util.List, int)}
+ * after it checked that the module is present.</p>
+ *
+ * @author ugsrv
+ */
+final class VectorDiagonalKernel implements DiagonalKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final String FORMAT_DESCRIPTION = "vector kernel with %d lanes";
+
+    @Override
+    public int nextEqual(int[] first, int firstStart, int[] second, int secondStart, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int offset = 0; offset < bound; offset += SPECIES.length()) {
+            VectorMask<Integer> equal = IntVector.fromArray(SPECIES, first, firstStart + offset)
+                    .eq(IntVector.fromArray(SPECIES, second, secondStart + offset));
+            if (equal.anyTrue()) {
+                return offset + equal.firstTrue();
+            }
+        }
+        return bound + ScalarDiagonalKernel.INSTANCE.nextEqual(first, firstStart + bound, second,
+                secondStart + bound, length - bound);
+    }
+
+    @Override
+    public int nextDifferent(int[] first, int firstStart, int[] second, int secondStart, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int offset = 0; offset < bound; offset += SPECIES.length()) {
+            VectorMask<Integer> different = IntVector.fromArray(SPECIES, first, firstStart + offset)
+                    .compare(VectorOperators.NE, IntVector.fromArray(SPECIES, second, secondStart + offset));
+            if (different.anyTrue()) {
+                return offset + different.firstTrue();
+            }
+        }
+        return bound + ScalarDiagonalKernel.INSTANCE.nextDifferent(first, firstStart + bound, second,
+                secondStart + bound, length - bound);
+    }
+
+    @Override
+    public String describe() {
+        return FORMAT_DESCRIPTION.formatted(SPECIES.length());
+    }
+}